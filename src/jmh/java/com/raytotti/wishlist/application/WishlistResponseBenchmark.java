@@ -0,0 +1,64 @@
+package com.raytotti.wishlist.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.domain.Wishlist;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WishlistResponseBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Wishlist wishlist;
+
+    private WishlistResponse response;
+
+    @Setup
+    public void setUp() {
+        wishlist = Wishlist.of(ObjectId.get().toHexString(), product());
+        while (wishlist.getProducts().size() < Wishlist.MAX_PRODUCTS) {
+            wishlist.addProduct(product());
+        }
+        response = WishlistResponse.from(wishlist);
+    }
+
+    private static SimpleProduct product() {
+        return SimpleProduct.of(ObjectId.get().toHexString(), "PRODUCT-CODE", "Product Description", "Image URL", new BigDecimal("199.90"));
+    }
+
+    @Benchmark
+    public WishlistResponse from() {
+        return WishlistResponse.from(wishlist);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] fromAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(WishlistResponse.from(wishlist));
+    }
+}
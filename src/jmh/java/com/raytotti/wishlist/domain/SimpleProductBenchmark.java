@@ -0,0 +1,65 @@
+package com.raytotti.wishlist.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SimpleProductBenchmark {
+
+    private SimpleProduct product;
+
+    private SimpleProduct same;
+
+    private SimpleProduct other;
+
+    private Set<SimpleProduct> products;
+
+    @Setup
+    public void setUp() {
+        product = WishlistBenchmark.product();
+        same = SimpleProduct.of(product.getId(), "OTHER-CODE", "Other Description", "Other URL", product.getPrice());
+        other = WishlistBenchmark.product();
+        products = new LinkedHashSet<>();
+        for (int i = 1; i < Wishlist.MAX_PRODUCTS; i++) {
+            products.add(WishlistBenchmark.product());
+        }
+        products.add(product);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return product.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsSameId() {
+        return product.equals(same);
+    }
+
+    @Benchmark
+    public boolean equalsOtherId() {
+        return product.equals(other);
+    }
+
+    @Benchmark
+    public boolean setContains() {
+        return products.contains(same);
+    }
+}
@@ -0,0 +1,63 @@
+package com.raytotti.wishlist.domain;
+
+import com.raytotti.wishlist.exception.ProductExistsException;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WishlistBenchmark {
+
+    private Wishlist wishlist;
+
+    private SimpleProduct last;
+
+    private SimpleProduct first;
+
+    @Setup
+    public void setUp() {
+        first = product();
+        wishlist = Wishlist.of(ObjectId.get().toHexString(), first);
+        for (int i = 2; i < Wishlist.MAX_PRODUCTS; i++) {
+            wishlist.addProduct(product());
+        }
+        last = product();
+    }
+
+    static SimpleProduct product() {
+        return SimpleProduct.of(ObjectId.get().toHexString(), "PRODUCT-CODE", "Product Description", "Image URL", new BigDecimal("199.90"));
+    }
+
+    @Benchmark
+    public Wishlist addAndRemoveProduct() {
+        wishlist.addProduct(last);
+        wishlist.removeProduct(last.getId());
+        return wishlist;
+    }
+
+    @Benchmark
+    public Object addExistingProduct() {
+        try {
+            wishlist.addProduct(first);
+            return wishlist;
+        } catch (ProductExistsException e) {
+            return e;
+        }
+    }
+}
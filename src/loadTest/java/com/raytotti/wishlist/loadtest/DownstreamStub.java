@@ -0,0 +1,111 @@
+package com.raytotti.wishlist.loadtest;
+
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class DownstreamStub implements AutoCloseable {
+
+    static final String CLIENT_EXISTS = "/api/v1/clients/{id}/exists";
+
+    static final String PRODUCTS = "/api/v1/products";
+
+    private final HttpServer server;
+
+    private final Duration latency;
+
+    private final Duration jitter;
+
+    private final double errorRate;
+
+    public DownstreamStub(Duration latency, Duration jitter, double errorRate) throws IOException {
+        this.latency = latency;
+        this.jitter = jitter;
+        this.errorRate = errorRate;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/api/v1/clients/", this::client);
+        this.server.createContext(PRODUCTS, this::products);
+        this.server.start();
+        log.info("DownstreamStub -> start: Stub em {} com latência {} (+{}) e taxa de erro {}.", url(), latency, jitter, errorRate);
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void client(HttpExchange exchange) throws IOException {
+        if (delay(exchange)) {
+            respond(exchange, 200, "true");
+        }
+    }
+
+    private void products(HttpExchange exchange) throws IOException {
+        if (!delay(exchange)) {
+            return;
+        }
+        String path = exchange.getRequestURI().getPath();
+        if (path.length() > PRODUCTS.length() + 1) {
+            respond(exchange, 200, product(path.substring(PRODUCTS.length() + 1)));
+            return;
+        }
+        String query = exchange.getRequestURI().getQuery();
+        String ids = query == null || !query.startsWith("ids=") ? "" : query.substring("ids=".length());
+        respond(exchange, 200, Arrays.stream(ids.split(","))
+                .filter(id -> !id.isBlank())
+                .map(DownstreamStub::product)
+                .collect(Collectors.joining(",", "[", "]")));
+    }
+
+    static SimpleProduct simpleProduct(String id) {
+        return SimpleProduct.of(id, "CODE-" + id, "Product " + id, "https://images.example.com/" + id + ".png", new BigDecimal("199.90"));
+    }
+
+    private static String product(String id) {
+        return """
+                {"id":"%s","code":"CODE-%s","description":"Product %s","thumbnail":"https://images.example.com/%s.png","price":199.90}"""
+                .formatted(id, id, id, id);
+    }
+
+    private boolean delay(HttpExchange exchange) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long nanos = latency.toNanos() + (jitter.isZero() ? 0 : random.nextLong(jitter.toNanos()));
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (random.nextDouble() < errorRate) {
+            respond(exchange, 503, "");
+            return false;
+        }
+        return true;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,78 @@
+package com.raytotti.wishlist.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class EndpointStats {
+
+    private final String name;
+
+    private final Latencies success = new Latencies();
+
+    private final Latencies clientErrors = new Latencies();
+
+    private final Latencies serverErrors = new Latencies();
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    public synchronized void record(long nanos, int status) {
+        if (status >= 500 || status < 0) {
+            serverErrors.add(nanos);
+        } else if (status >= 400) {
+            clientErrors.add(nanos);
+        } else {
+            success.add(nanos);
+        }
+    }
+
+    public synchronized List<String> report(double seconds) {
+        List<String> lines = new ArrayList<>();
+        lines.add(success.report(name, "2xx", seconds));
+        if (clientErrors.count > 0) {
+            lines.add(clientErrors.report(name, "4xx", seconds));
+        }
+        if (serverErrors.count > 0) {
+            lines.add(serverErrors.report(name, "5xx", seconds));
+        }
+        return lines;
+    }
+
+    public static String header() {
+        return String.format("%-8s %6s %10s %10s %8s %8s %8s %8s %8s",
+                "endpoint", "status", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+    }
+
+    static double millis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static final class Latencies {
+
+        private long[] values = new long[1024];
+
+        private int count;
+
+        void add(long nanos) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = nanos;
+        }
+
+        String report(String name, String status, double seconds) {
+            long[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            return String.format("%-8s %6s %10d %10.1f %8.2f %8.2f %8.2f %8.2f %8.2f",
+                    name, status, count, count / seconds,
+                    millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99), millis(sorted, 0.999),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.raytotti.wishlist.loadtest;
+
+import com.raytotti.wishlist.WishlistApplication;
+import com.raytotti.wishlist.domain.Wishlist;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class LoadTest {
+
+    enum Operation {
+        READ, EXISTS, ADD, REMOVE
+    }
+
+    private static final int SEED_BATCH = 1_000;
+
+    private static final int PICK_ATTEMPTS = 10;
+
+    private final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+
+    private final Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+
+    private final List<String> clientIds = ids(Integer.getInteger("loadtest.clients", 10_000));
+
+    private final List<String> productIds = ids(Integer.getInteger("loadtest.products", 1_000));
+
+    private final Map<Operation, Integer> mix = mix(System.getProperty("loadtest.mix", "READ:70,EXISTS:10,ADD:10,REMOVE:10"));
+
+    private final double seedClients = Double.parseDouble(System.getProperty("loadtest.seed.clients", "0.8"));
+
+    private final Map<Integer, Integer> seedSizes = sizes(System.getProperty("loadtest.seed.sizes", "1:25,3:30,8:25,20:20"));
+
+    private final Map<String, Set<String>> wishlists = new ConcurrentHashMap<>();
+
+    private final boolean compareVirtualThreads = Boolean.getBoolean("loadtest.compare-virtual-threads");
+
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private String baseUrl;
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest().run(args);
+    }
+
+    void run(String[] args) throws Exception {
+        String mongoUri = System.getProperty("loadtest.mongo-uri");
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = null;
+        if (mongoUri == null || mongoUri.isBlank()) {
+            mongod = Mongod.instance().start(Version.Main.V7_0);
+            ServerAddress address = mongod.current().getServerAddress();
+            mongoUri = "mongodb://" + address.getHost() + ":" + address.getPort();
+        }
+
+        try (DownstreamStub stub = new DownstreamStub(
+                Duration.parse(System.getProperty("loadtest.stub.latency", "PT0.02S")),
+                Duration.parse(System.getProperty("loadtest.stub.jitter", "PT0.01S")),
+                Double.parseDouble(System.getProperty("loadtest.stub.error-rate", "0")))) {
+            if (!compareVirtualThreads) {
+                print(null, measure(stub, mongoUri, args));
+                return;
+            }
+            Map<Boolean, List<String>> reports = new LinkedHashMap<>();
+            for (boolean virtualThreads : List.of(true, false)) {
+                String[] runArgs = Arrays.copyOf(args, args.length + 1);
+                runArgs[args.length] = "--spring.threads.virtual.enabled=" + virtualThreads;
+                log.info("LoadTest -> run: Medição com spring.threads.virtual.enabled={}.", virtualThreads);
+                reports.put(virtualThreads, measure(stub, mongoUri, runArgs));
+            }
+            reports.forEach((virtualThreads, report) -> print("spring.threads.virtual.enabled=" + virtualThreads, report));
+        } finally {
+            if (mongod != null) {
+                mongod.close();
+            }
+        }
+    }
+
+    private List<String> measure(DownstreamStub stub, String mongoUri, String[] args) throws InterruptedException {
+        try (ConfigurableApplicationContext context = start(stub, mongoUri, args)) {
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/v1/wishlists";
+            seed(context.getBean(MongoTemplate.class));
+            return drive();
+        }
+    }
+
+    private static void print(String title, List<String> report) {
+        System.out.println();
+        if (title != null) {
+            System.out.println(title);
+        }
+        report.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext start(DownstreamStub stub, String mongoUri, String[] args) {
+        Map<String, String> properties = Map.of(
+                "server.port", "0",
+                "spring.data.mongodb.uri", mongoUri,
+                "spring.data.mongodb.database", System.getProperty("loadtest.mongo-database", "wishlist-loadtest"),
+                "external-api.url-client", stub.url(),
+                "external-api.get-exists", DownstreamStub.CLIENT_EXISTS,
+                "external-api.url-product", stub.url(),
+                "external-api.get-product", DownstreamStub.PRODUCTS,
+                "external-api.get-products", Boolean.getBoolean("loadtest.stub.bulk") ? DownstreamStub.PRODUCTS : "");
+        properties.forEach(System::setProperty);
+        return new SpringApplicationBuilder(WishlistApplication.class).run(args);
+    }
+
+    private void seed(MongoTemplate mongoTemplate) {
+        long start = System.nanoTime();
+        mongoTemplate.remove(new Query(), Wishlist.class);
+        wishlists.clear();
+        int clients = (int) Math.round(clientIds.size() * Math.min(1, Math.max(0, seedClients)));
+        int maxSize = Math.min(Wishlist.MAX_PRODUCTS, productIds.size());
+        long products = 0;
+        List<Wishlist> batch = new ArrayList<>(SEED_BATCH);
+        for (String clientId : clientIds.subList(0, clients)) {
+            Set<String> held = ConcurrentHashMap.newKeySet();
+            int size = Math.min(maxSize, pick(seedSizes));
+            while (held.size() < size) {
+                held.add(random(productIds));
+            }
+            Wishlist wishlist = Wishlist.empty(clientId);
+            held.forEach(productId -> wishlist.addProduct(DownstreamStub.simpleProduct(productId)));
+            wishlists.put(clientId, held);
+            batch.add(wishlist);
+            products += size;
+            if (batch.size() == SEED_BATCH) {
+                mongoTemplate.insert(batch, Wishlist.class);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, Wishlist.class);
+        }
+        log.info("LoadTest -> seed: {} wishlists com {} produtos inseridas em {} ms, distribuição de tamanhos {}.",
+                clients, products, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), seedSizes);
+    }
+
+    private List<String> drive() throws InterruptedException {
+        mix.keySet().forEach(operation -> stats.put(operation, new EndpointStats(operation.name())));
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        log.info("LoadTest -> drive: {} usuários, aquecimento de {}, medição de {}, mix {}.", concurrency, warmup, duration, mix);
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < concurrency; user++) {
+                users.execute(() -> {
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        Operation operation = next();
+                        int status = call(operation);
+                        long finished = System.nanoTime();
+                        if (now >= measureFrom) {
+                            stats.get(operation).record(finished - now, status);
+                        }
+                    }
+                });
+            }
+            users.shutdown();
+            users.awaitTermination(duration.plus(warmup).toSeconds() + 60, TimeUnit.SECONDS);
+        }
+
+        double seconds = duration.toNanos() / 1e9;
+        List<String> report = new ArrayList<>();
+        report.add(EndpointStats.header());
+        stats.values().forEach(endpoint -> report.addAll(endpoint.report(seconds)));
+        return report;
+    }
+
+    private Operation next() {
+        return pick(mix);
+    }
+
+    private static <T> T pick(Map<T, Integer> weights) {
+        int pick = ThreadLocalRandom.current().nextInt(weights.values().stream().mapToInt(Integer::intValue).sum());
+        for (Map.Entry<T, Integer> entry : weights.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private int call(Operation operation) {
+        String clientId = random(clientIds);
+        if (operation == Operation.ADD) {
+            for (int attempt = 1; attempt < PICK_ATTEMPTS && held(clientId).size() >= Wishlist.MAX_PRODUCTS; attempt++) {
+                clientId = random(clientIds);
+            }
+        }
+        Set<String> held = held(clientId);
+        String productId = switch (operation) {
+            case EXISTS, REMOVE -> {
+                List<String> heldIds = List.copyOf(held);
+                yield heldIds.isEmpty() ? random(productIds) : random(heldIds);
+            }
+            default -> notHeld(held);
+        };
+        int status = send(operation, clientId, productId);
+        if (operation == Operation.ADD && status == 201) {
+            held.add(productId);
+        } else if (operation == Operation.REMOVE && status == 204) {
+            held.remove(productId);
+        }
+        return status;
+    }
+
+    private Set<String> held(String clientId) {
+        return wishlists.computeIfAbsent(clientId, id -> ConcurrentHashMap.newKeySet());
+    }
+
+    private String notHeld(Set<String> held) {
+        String productId = random(productIds);
+        for (int attempt = 1; attempt < PICK_ATTEMPTS && held.contains(productId); attempt++) {
+            productId = random(productIds);
+        }
+        return productId;
+    }
+
+    private int send(Operation operation, String clientId, String productId) {
+        HttpRequest request = switch (operation) {
+            case READ -> HttpRequest.newBuilder(URI.create(baseUrl + "/clients/" + clientId)).GET().build();
+            case EXISTS -> HttpRequest.newBuilder(URI.create(baseUrl + "/clients/" + clientId + "/products/" + productId + "/exists")).GET().build();
+            case ADD -> HttpRequest.newBuilder(URI.create(baseUrl + "/clients/" + clientId + "/products"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"productId\":\"" + productId + "\"}"))
+                    .build();
+            case REMOVE -> HttpRequest.newBuilder(URI.create(baseUrl + "/clients/" + clientId + "/products/" + productId)).DELETE().build();
+        };
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static String random(List<String> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static List<String> ids(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(ObjectId.get().toHexString());
+        }
+        return ids;
+    }
+
+    static Map<Integer, Integer> sizes(String sizes) {
+        Map<Integer, Integer> weights = new LinkedHashMap<>();
+        for (String entry : sizes.split(",")) {
+            String[] weight = entry.split(":");
+            weights.put(Integer.parseInt(weight[0].trim()), Integer.parseInt(weight[1].trim()));
+        }
+        weights.values().removeIf(weight -> weight <= 0);
+        return weights;
+    }
+
+    static Map<Operation, Integer> mix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] weight = entry.split(":");
+            weights.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        weights.values().removeIf(weight -> weight <= 0);
+        return weights;
+    }
+}
@@ -0,0 +1,121 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.configuration.BoundedExecutor;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.domain.WishlistRepository;
+import com.raytotti.wishlist.service.ClientService;
+import com.raytotti.wishlist.service.ProductService;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+@Component
+@Profile("!reactive")
+public class AddProductLookups {
+
+    private final WishlistRepository repository;
+    private final ClientService clientService;
+    private final ProductService productService;
+    private final BoundedExecutor executor;
+
+    public AddProductLookups(WishlistRepository repository,
+                             ClientService clientService,
+                             ProductService productService,
+                             @Qualifier("addLookupExecutor") BoundedExecutor executor) {
+        this.repository = repository;
+        this.clientService = clientService;
+        this.productService = productService;
+        this.executor = executor;
+    }
+
+    public Pending start(String clientId, String productId, boolean readWishlist) {
+        Pending pending = new Pending(clientId, productId);
+        if (readWishlist) {
+            pending.prefetchWishlist();
+        } else {
+            pending.prefetchClient();
+        }
+        return pending;
+    }
+
+    public final class Pending {
+
+        private final String clientId;
+        private final String productId;
+        private SimpleProduct product;
+        private CompletableFuture<Optional<Wishlist>> wishlist;
+        private CompletableFuture<Boolean> clientExists;
+
+        private Pending(String clientId, String productId) {
+            this.clientId = clientId;
+            this.productId = productId;
+        }
+
+        private void prefetchWishlist() {
+            ObjectId clientObjectId = new ObjectId(clientId);
+            try {
+                wishlist = supplyAsync(() -> repository.findByClientId(clientObjectId), executor::execute);
+            } catch (RejectedExecutionException e) {
+                wishlist = null;
+            }
+        }
+
+        private void prefetchClient() {
+            try {
+                clientExists = supplyAsync(() -> clientService.existsClientId(clientId), executor::execute);
+            } catch (RejectedExecutionException e) {
+                clientExists = null;
+            }
+        }
+
+        public SimpleProduct product() {
+            if (product == null) {
+                product = productService.getProductById(productId);
+            }
+            return product;
+        }
+
+        public Optional<Wishlist> wishlist() {
+            if (wishlist == null) {
+                wishlist = CompletableFuture.completedFuture(repository.findByClientId(new ObjectId(clientId)));
+            }
+            return join(wishlist);
+        }
+
+        public boolean clientExists() {
+            if (clientExists == null) {
+                clientExists = CompletableFuture.completedFuture(wishlist().isPresent() || clientService.existsClientId(clientId));
+            }
+            return join(clientExists);
+        }
+
+        public void cancel() {
+            if (wishlist != null) {
+                wishlist.cancel(false);
+            }
+            if (clientExists != null) {
+                clientExists.cancel(false);
+            }
+        }
+
+        private static <T> T join(CompletableFuture<T> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.raytotti.wishlist.application;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.bson.types.ObjectId;
+
+import java.util.List;
+
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductFavoriteClientsResponse {
+
+    private String productId;
+    private long count;
+    private List<String> clientIds;
+    private String nextCursor;
+
+    public static ProductFavoriteClientsResponse of(String productId, long count, List<ObjectId> clientIds, int limit) {
+        List<ObjectId> page = clientIds.size() > limit ? clientIds.subList(0, limit) : clientIds;
+        return new ProductFavoriteClientsResponse(
+                productId,
+                count,
+                page.stream().map(ObjectId::toHexString).toList(),
+                clientIds.size() > limit ? page.get(limit - 1).toHexString() : null);
+    }
+}
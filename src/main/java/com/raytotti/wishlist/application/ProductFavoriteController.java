@@ -0,0 +1,80 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.exception.InvalidCursorException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(name = "wishlist.favorites.enabled", havingValue = "true")
+@AllArgsConstructor
+@RequestMapping(path = "/api/v1/wishlists/products")
+@Tag(name = "Wishlist", description = "Wishlist API Operations")
+public class ProductFavoriteController {
+
+    static final int MAX_TOP = 100;
+
+    static final int MAX_CLIENTS = 100;
+
+    private final ProductFavoriteIndex index;
+
+    @GetMapping(path = "/top")
+    @Operation(summary = "Retrieve the products present in the most wishlists, with the number of wishlists of each one.",
+            description = "The index is fed by the outbox relay, so the counts are eventually consistent: a change shows up after the relay has moved its event, and the ranking of each instance is reloaded every wishlist.favorites.rebuild-interval.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation completed successfully."),
+            @ApiResponse(responseCode = "400", description = "Failed to validate! Request Invalid.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Unexpected system failure.", content = @Content)
+    })
+    public ResponseEntity<List<ProductFavoriteResponse>> top(@RequestParam(defaultValue = "10") int limit) {
+        log.debug("ProductFavoriteController -> top: Solicitado os {} produtos presentes em mais wishlists.", limit);
+
+        if (limit < 1 || limit > Math.min(MAX_TOP, index.capacity())) {
+            log.debug("ProductFavoriteController -> top: Limite de {} produtos inválido.", limit);
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(index.top(limit).stream().map(ProductFavoriteResponse::from).toList());
+    }
+
+    @GetMapping(path = "/{productId}/clients")
+    @Operation(summary = "Retrieve a page of the clients that have the informed product in their wishlist.",
+            description = "The index is fed by the outbox relay, so the clients and the count are eventually consistent with the wishlists.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation completed successfully."),
+            @ApiResponse(responseCode = "400", description = "Failed to validate! Request Invalid.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Unexpected system failure.", content = @Content)
+    })
+    public ResponseEntity<ProductFavoriteClientsResponse> clients(@PathVariable String productId,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "" + MAX_CLIENTS) int limit) {
+        log.debug("ProductFavoriteController -> clients: Solicitado {} clientes com o produto com id {} após {}.", limit, productId, cursor);
+
+        if (limit < 1 || limit > MAX_CLIENTS) {
+            log.debug("ProductFavoriteController -> clients: Limite de {} clientes inválido.", limit);
+            return ResponseEntity.badRequest().build();
+        }
+        if (cursor != null && !ObjectId.isValid(cursor)) {
+            throw new InvalidCursorException();
+        }
+
+        List<ObjectId> clientIds = index.clientIds(productId, cursor == null ? null : new ObjectId(cursor), limit + 1);
+        return ResponseEntity.ok(ProductFavoriteClientsResponse.of(productId, index.count(productId), clientIds, limit));
+    }
+}
@@ -0,0 +1,189 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.domain.JobLeaseRepository;
+import com.raytotti.wishlist.domain.ProductFavoriteCount;
+import com.raytotti.wishlist.domain.ProductFavoriteRepository;
+import com.raytotti.wishlist.domain.WishlistPendingChanges;
+import com.raytotti.wishlist.service.WishlistOutboxListener;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+public class ProductFavoriteIndex implements WishlistOutboxListener {
+
+    static final String RECONCILE_LEASE = "product-favorite-reconcile";
+
+    private static final Comparator<ProductFavoriteCount> RANKING = Comparator
+            .comparingLong(ProductFavoriteCount::getCount).reversed()
+            .thenComparing(ProductFavoriteCount::getProductId);
+
+    private final ProductFavoriteRepository repository;
+
+    private final JobLeaseRepository leases;
+
+    private final boolean enabled;
+
+    private final boolean backfill;
+
+    private final int capacity;
+
+    private final Duration reconcileInterval;
+
+    private final String owner = UUID.randomUUID().toString();
+
+    private final Map<String, ProductFavoriteCount> ranked = new HashMap<>();
+
+    private final TreeSet<ProductFavoriteCount> ranking = new TreeSet<>(RANKING);
+
+    public ProductFavoriteIndex(ProductFavoriteRepository repository,
+                                JobLeaseRepository leases,
+                                @Value("${wishlist.favorites.enabled:false}") boolean enabled,
+                                @Value("${wishlist.favorites.backfill:false}") boolean backfill,
+                                @Value("${wishlist.favorites.top-capacity:1000}") int capacity,
+                                @Value("${wishlist.favorites.reconcile-interval:PT1H}") Duration reconcileInterval) {
+        this.repository = repository;
+        this.leases = leases;
+        this.enabled = enabled;
+        this.backfill = backfill;
+        this.capacity = capacity;
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void wishlistsChanged(List<WishlistPendingChanges> changes) {
+        if (!enabled) {
+            return;
+        }
+        Map<ObjectId, List<String>> added = new LinkedHashMap<>();
+        Map<ObjectId, List<String>> removed = new LinkedHashMap<>();
+        changes.forEach(pending -> {
+            Map<String, Boolean> held = new LinkedHashMap<>();
+            pending.changes().forEach(change -> {
+                change.removed().forEach(productId -> held.put(productId, false));
+                change.added().forEach(productId -> held.put(productId, true));
+            });
+            held.forEach((productId, holds) -> (holds ? added : removed)
+                    .computeIfAbsent(pending.clientId(), clientId -> new ArrayList<>())
+                    .add(productId));
+        });
+        recordRemoved(removed);
+        recordAdded(added);
+    }
+
+    void recordAdded(Map<ObjectId, List<String>> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, Long> inserted = repository.addClients(productIds);
+            if (!inserted.isEmpty()) {
+                repository.findAllById(inserted.keySet()).forEach(this::rank);
+            }
+        } catch (DataAccessException e) {
+            log.error("ProductFavoriteIndex -> recordAdded: Falha ao atualizar o índice de produtos de {} wishlists.", productIds.size(), e);
+        }
+    }
+
+    void recordRemoved(Map<ObjectId, List<String>> productIds) {
+        productIds.forEach((clientId, ids) -> {
+            try {
+                ids.forEach(productId -> repository.removeClient(productId, clientId).ifPresent(this::rank));
+            } catch (DataAccessException e) {
+                log.error("ProductFavoriteIndex -> recordRemoved: Falha ao atualizar o índice de produtos da wishlist do cliente com id {}.", clientId, e);
+            }
+        });
+    }
+
+    public synchronized List<ProductFavoriteCount> top(int limit) {
+        return ranking.stream().limit(limit).toList();
+    }
+
+    public long count(String productId) {
+        return repository.findById(productId).map(ProductFavoriteCount::getCount).orElse(0L);
+    }
+
+    public List<ObjectId> clientIds(String productId, ObjectId afterClientId, int limit) {
+        return repository.findClientIds(productId, afterClientId, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (backfill) {
+            reconcile();
+        }
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${wishlist.favorites.reconcile-interval:PT1H}", initialDelayString = "${wishlist.favorites.reconcile-interval:PT1H}")
+    public void reconcile() {
+        if (!enabled || !leases.acquire(RECONCILE_LEASE, owner, reconcileInterval)) {
+            return;
+        }
+        Instant startedAt = Instant.now();
+        log.info("ProductFavoriteIndex -> reconcile: Reconciliando o índice de produtos com as wishlists.");
+        repository.reconcile(startedAt);
+        log.info("ProductFavoriteIndex -> reconcile: Índice de produtos reconciliado em {} ms.", Duration.between(startedAt, Instant.now()).toMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${wishlist.favorites.rebuild-interval:PT10M}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        List<ProductFavoriteCount> top = repository.findByCountGreaterThanOrderByCountDesc(0, PageRequest.of(0, capacity));
+        synchronized (this) {
+            ranked.clear();
+            ranking.clear();
+            top.forEach(count -> {
+                ranked.put(count.getProductId(), count);
+                ranking.add(count);
+            });
+        }
+        log.info("ProductFavoriteIndex -> rebuild: Ranking reconstruído com {} produtos.", top.size());
+    }
+
+    synchronized void rank(ProductFavoriteCount count) {
+        Optional.ofNullable(ranked.remove(count.getProductId())).ifPresent(ranking::remove);
+        if (count.getCount() <= 0 || (ranking.size() >= capacity && RANKING.compare(count, ranking.last()) > 0)) {
+            return;
+        }
+        ranked.put(count.getProductId(), count);
+        ranking.add(count);
+        if (ranking.size() > capacity) {
+            ranked.remove(ranking.pollLast().getProductId());
+        }
+    }
+}
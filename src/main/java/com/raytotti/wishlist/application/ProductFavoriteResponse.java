@@ -0,0 +1,22 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.domain.ProductFavoriteCount;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductFavoriteResponse {
+
+    private String productId;
+    private long count;
+
+    public static ProductFavoriteResponse from(ProductFavoriteCount count) {
+        return new ProductFavoriteResponse(count.getProductId(), count.getCount());
+    }
+}
@@ -0,0 +1,149 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.domain.ProductStorage;
+import com.raytotti.wishlist.domain.ReactiveWishlistRepository;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.exception.ClientNotFoundException;
+import com.raytotti.wishlist.exception.ProductExistsException;
+import com.raytotti.wishlist.exception.ProductNotFoundException;
+import com.raytotti.wishlist.exception.WishlistNotFoundException;
+import com.raytotti.wishlist.service.ReactiveClientService;
+import com.raytotti.wishlist.service.ReactiveProductService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@RestController
+@Profile("reactive")
+@AllArgsConstructor
+@RequestMapping(path = "/api/v1/wishlists")
+@Tag(name = "Wishlist", description = "Wishlist API Operations")
+public class ReactiveWishlistController {
+
+    private final ReactiveWishlistRepository repository;
+    private final ReactiveClientService clientService;
+    private final ReactiveProductService productService;
+    private final ProductStorage storage;
+
+    @PostMapping(path = "/clients/{clientId}/products")
+    @Operation(summary = "Add a new item to the list of product items for the informed clientId.")
+    public Mono<ResponseEntity<WishlistResponse>> addProduct(@PathVariable String clientId,
+                                                             @RequestBody @Valid WishlistAddProductRequest request,
+                                                             UriComponentsBuilder uriBuilder) {
+        log.debug("ReactiveWishlistController -> addProduct: Solicitado a adição do produto com id {} a wishlist do cliente com id {}.", request.getProductId(), clientId);
+
+        ObjectId clientObjectId = new ObjectId(clientId);
+        URI uri = uriBuilder.path("/api/v1/wishlists/clients/{clientId}").buildAndExpand(clientId).toUri();
+
+        Mono<Optional<Wishlist>> current = repository.findByClientId(clientObjectId)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .cache();
+        Mono<Boolean> clientExists = current
+                .flatMap(wishlist -> wishlist.isPresent() ? Mono.just(true) : clientService.existsClientId(clientId))
+                .cache();
+
+        return productService.getProductById(request.getProductId())
+                .doOnSubscribe(subscription -> clientExists.subscribe(exists -> { }, error -> { }))
+                .flatMap(product -> current
+                        .flatMap(wishlist -> wishlist.isEmpty()
+                                ? createWishlist(clientId, product, wishlist, clientExists)
+                                : repository.pushProduct(clientObjectId, product)
+                                .switchIfEmpty(Mono.defer(() -> createWishlist(clientId, product, wishlist, clientExists)))))
+                .doOnNext(wishlist -> log.debug("ReactiveWishlistController -> addProduct: Wishlist com id {} foi salva.", wishlist.getId()))
+                .flatMap(this::hydrate)
+                .map(wishlist -> ResponseEntity.created(uri).body(WishlistResponse.from(wishlist)));
+    }
+
+    private Mono<Wishlist> createWishlist(String clientId, SimpleProduct product, Optional<Wishlist> current, Mono<Boolean> clientExists) {
+        ObjectId clientObjectId = new ObjectId(clientId);
+
+        return Mono.justOrEmpty(current)
+                .flatMap(wishlist -> {
+                    wishlist.addProduct(product);
+                    return repository.pushProduct(clientObjectId, product)
+                            .switchIfEmpty(Mono.error(ProductExistsException::new));
+                })
+                .switchIfEmpty(Mono.defer(() -> clientExists
+                        .flatMap(exists -> {
+                            if (!exists) {
+                                log.debug("ReactiveWishlistController -> addProduct: Client com id {} não foi encontrada.", clientId);
+                                return Mono.error(new ClientNotFoundException());
+                            }
+                            return repository.upsertProduct(clientObjectId, product);
+                        })
+                        .onErrorMap(DuplicateKeyException.class, e -> new ProductExistsException())));
+    }
+
+    @DeleteMapping(path = "/clients/{clientId}/products/{productId}")
+    @Operation(summary = "Remove an item from the list of product items for the informed clientId.")
+    public Mono<ResponseEntity<Void>> removeProduct(@PathVariable String clientId, @PathVariable String productId) {
+        log.debug("ReactiveWishlistController -> removeProduct: Solicitado a remoção do produto com id {} na wishlist do cliente com id {}.", productId, clientId);
+
+        ObjectId clientObjectId = new ObjectId(clientId);
+        return repository.pullProduct(clientObjectId, productId)
+                .switchIfEmpty(Mono.defer(() -> repository.existsByClientId(clientObjectId)
+                        .flatMap(exists -> Mono.error(exists ? new ProductNotFoundException() : new WishlistNotFoundException()))))
+                .flatMap(wishlist -> wishlist.getProducts().isEmpty()
+                        ? repository.deleteIfEmpty(wishlist.getId()).thenReturn(wishlist)
+                        : Mono.just(wishlist))
+                .thenReturn(ResponseEntity.noContent().build());
+    }
+
+    @GetMapping(path = "/clients/{clientId}/products/{productId}/exists")
+    @Operation(summary = "Checks if the informed product belongs to the list of product items for the informed clientId.")
+    public Mono<ResponseEntity<Boolean>> existsProduct(@PathVariable String clientId, @PathVariable String productId) {
+        log.debug("ReactiveWishlistController -> existProduct: Solicitado a verificação de existencia do produto com id {} na wishlist do cliente com id {}.", productId, clientId);
+
+        return repository.holdsProduct(new ObjectId(clientId), productId)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(path = "/clients/{clientId}")
+    @Operation(summary = "Retrieve the list of favorite items for the informed clientId.")
+    public Mono<ResponseEntity<WishlistResponse>> findByClientId(@PathVariable String clientId) {
+        log.debug("ReactiveWishlistController -> findByClientId: Solicitado a busca da Wishlist do cliente com id {}.", clientId);
+
+        return repository.findByClientId(new ObjectId(clientId))
+                .filter(wishlist -> !wishlist.getProducts().isEmpty())
+                .flatMap(this::hydrate)
+                .map(wishlist -> ResponseEntity.ok(WishlistResponse.from(wishlist)))
+                .switchIfEmpty(Mono.error(WishlistNotFoundException::new));
+    }
+
+    private Mono<Wishlist> hydrate(Wishlist wishlist) {
+        List<String> missing = wishlist.getProducts().stream()
+                .filter(product -> !storage.isComplete(product))
+                .map(SimpleProduct::getId)
+                .toList();
+        if (missing.isEmpty()) {
+            return Mono.just(wishlist);
+        }
+        return productService.getProductsByIds(missing)
+                .map(current -> {
+                    wishlist.hydrateProducts(current);
+                    return wishlist;
+                });
+    }
+}
@@ -0,0 +1,34 @@
+package com.raytotti.wishlist.application;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class WishlistBatchItemResponse {
+
+    public enum Operation {
+        ADD, REMOVE
+    }
+
+    public enum Status {
+        ADDED, REMOVED, ALREADY_EXISTS, NOT_IN_WISHLIST, PRODUCT_NOT_FOUND, MAX_LIMIT
+    }
+
+    private String productId;
+    private Operation operation;
+    private Status status;
+
+    public static WishlistBatchItemResponse of(String productId, Operation operation, Status status) {
+        return new WishlistBatchItemResponse(productId, operation, status);
+    }
+
+    public boolean changesWishlist() {
+        return status == Status.ADDED || status == Status.REMOVED;
+    }
+}
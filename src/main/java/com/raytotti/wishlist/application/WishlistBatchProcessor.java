@@ -0,0 +1,149 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.application.WishlistBatchItemResponse.Operation;
+import com.raytotti.wishlist.application.WishlistBatchItemResponse.Status;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.domain.WishlistChange;
+import com.raytotti.wishlist.domain.WishlistRepository;
+import com.raytotti.wishlist.domain.WishlistVersion;
+import com.raytotti.wishlist.exception.ClientNotFoundException;
+import com.raytotti.wishlist.exception.MaxLimitProductException;
+import com.raytotti.wishlist.exception.PreconditionFailedException;
+import com.raytotti.wishlist.exception.ProductExistsException;
+import com.raytotti.wishlist.exception.ProductNotFoundException;
+import com.raytotti.wishlist.exception.WishlistConflictException;
+import com.raytotti.wishlist.service.ClientService;
+import com.raytotti.wishlist.service.ProductService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+@AllArgsConstructor
+public class WishlistBatchProcessor {
+
+    static final int MAX_ATTEMPTS = 3;
+
+    private final WishlistRepository repository;
+    private final ClientService clientService;
+    private final ProductService productService;
+    private final WishlistHydrator hydrator;
+
+    public WishlistBatchResponse apply(String clientId, WishlistBatchRequest request) {
+        return apply(clientId, request, false, null);
+    }
+
+    public WishlistBatchResponse applyIfMatch(String clientId, WishlistBatchRequest request, WishlistVersion expected) {
+        return apply(clientId, request, true, expected);
+    }
+
+    private WishlistBatchResponse apply(String clientId, WishlistBatchRequest request, boolean conditional, WishlistVersion expected) {
+        ObjectId clientObjectId = new ObjectId(clientId);
+
+        Map<String, SimpleProduct> products = request.getAdd().isEmpty()
+                ? Map.of()
+                : productService.getProductsByIds(request.getAdd());
+        log.debug("WishlistBatchProcessor -> apply: {} de {} produtos encontrados no outro serviço.", products.size(), request.getAdd().size());
+
+        boolean clientChecked = false;
+        int attempts = conditional ? 1 : MAX_ATTEMPTS;
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            Optional<Wishlist> current = repository.findByClientId(clientObjectId);
+            if (conditional && (current.isEmpty() || (expected != null && !WishlistETag.matches(expected, WishlistETag.versionOf(current.get()))))) {
+                log.debug("WishlistBatchProcessor -> apply: Wishlist do cliente com id {} alterada desde o If-Match informado.", clientId);
+                throw new PreconditionFailedException();
+            }
+            Wishlist wishlist = current.orElseGet(() -> Wishlist.empty(clientId));
+            WishlistVersion version = current.map(WishlistETag::versionOf).orElse(null);
+
+            List<WishlistBatchItemResponse> results = applyChanges(wishlist, request, products);
+            if (results.stream().noneMatch(WishlistBatchItemResponse::changesWishlist)) {
+                return WishlistBatchResponse.from(current.filter(found -> !found.getProducts().isEmpty()).map(hydrator::hydrate).orElse(null), results);
+            }
+
+            if (current.isEmpty() && !clientChecked) {
+                if (!clientService.existsClientId(clientId)) {
+                    log.debug("WishlistBatchProcessor -> apply: Client com id {} não foi encontrada.", clientId);
+                    throw new ClientNotFoundException();
+                }
+                clientChecked = true;
+            }
+
+            WishlistChange change = changeOf(results);
+            Optional<Wishlist> saved = current.isPresent()
+                    ? replace(wishlist, version, change)
+                    : create(wishlist);
+            if (saved.isPresent()) {
+                log.debug("WishlistBatchProcessor -> apply: Wishlist do cliente com id {} atualizada na tentativa {}.", clientId, attempt);
+                return WishlistBatchResponse.from(saved.get().getProducts().isEmpty() ? null : hydrator.hydrate(saved.get()), results);
+            }
+            log.debug("WishlistBatchProcessor -> apply: Wishlist do cliente com id {} alterada concorrentemente, nova tentativa.", clientId);
+        }
+        if (conditional) {
+            throw new PreconditionFailedException();
+        }
+        throw new WishlistConflictException();
+    }
+
+    private List<WishlistBatchItemResponse> applyChanges(Wishlist wishlist, WishlistBatchRequest request, Map<String, SimpleProduct> products) {
+        List<WishlistBatchItemResponse> results = new ArrayList<>(request.getRemove().size() + request.getAdd().size());
+
+        for (String productId : request.getRemove()) {
+            try {
+                wishlist.removeProduct(productId);
+                results.add(WishlistBatchItemResponse.of(productId, Operation.REMOVE, Status.REMOVED));
+            } catch (ProductNotFoundException e) {
+                results.add(WishlistBatchItemResponse.of(productId, Operation.REMOVE, Status.NOT_IN_WISHLIST));
+            }
+        }
+
+        for (String productId : request.getAdd()) {
+            SimpleProduct product = products.get(productId);
+            if (product == null) {
+                results.add(WishlistBatchItemResponse.of(productId, Operation.ADD, Status.PRODUCT_NOT_FOUND));
+                continue;
+            }
+            try {
+                wishlist.addProduct(product);
+                results.add(WishlistBatchItemResponse.of(productId, Operation.ADD, Status.ADDED));
+            } catch (ProductExistsException e) {
+                results.add(WishlistBatchItemResponse.of(productId, Operation.ADD, Status.ALREADY_EXISTS));
+            } catch (MaxLimitProductException e) {
+                results.add(WishlistBatchItemResponse.of(productId, Operation.ADD, Status.MAX_LIMIT));
+            }
+        }
+        return results;
+    }
+
+    private WishlistChange changeOf(List<WishlistBatchItemResponse> results) {
+        return WishlistChange.productsChanged(
+                results.stream().filter(result -> result.getStatus() == Status.ADDED).map(WishlistBatchItemResponse::getProductId).toList(),
+                results.stream().filter(result -> result.getStatus() == Status.REMOVED).map(WishlistBatchItemResponse::getProductId).toList());
+    }
+
+    private Optional<Wishlist> replace(Wishlist wishlist, WishlistVersion version, WishlistChange change) {
+        Optional<Wishlist> saved = repository.replaceProducts(version, wishlist.getProducts(), change);
+        saved.filter(updated -> updated.getProducts().isEmpty())
+                .ifPresent(updated -> repository.deleteIfEmpty(updated.getId()));
+        return saved;
+    }
+
+    private Optional<Wishlist> create(Wishlist wishlist) {
+        try {
+            return Optional.of(repository.insert(wishlist));
+        } catch (DuplicateKeyException e) {
+            return Optional.empty();
+        }
+    }
+}
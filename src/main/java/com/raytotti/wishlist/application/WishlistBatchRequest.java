@@ -0,0 +1,30 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.domain.Wishlist;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class WishlistBatchRequest {
+
+    @NotNull(message = "{Wishlist.batch.add.NotNull}")
+    @Size(max = Wishlist.MAX_PRODUCTS, message = "{Wishlist.batch.add.Size}")
+    private List<@NotBlank(message = "{Product.productId.NotNull}") String> add = new ArrayList<>();
+
+    @NotNull(message = "{Wishlist.batch.remove.NotNull}")
+    @Size(max = Wishlist.MAX_PRODUCTS, message = "{Wishlist.batch.remove.Size}")
+    private List<@NotBlank(message = "{Product.productId.NotNull}") String> remove = new ArrayList<>();
+
+}
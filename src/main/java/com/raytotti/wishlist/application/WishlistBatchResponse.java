@@ -0,0 +1,24 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.domain.Wishlist;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class WishlistBatchResponse {
+
+    private WishlistResponse wishlist;
+    private List<WishlistBatchItemResponse> results;
+
+    public static WishlistBatchResponse from(Wishlist wishlist, List<WishlistBatchItemResponse> results) {
+        return new WishlistBatchResponse(wishlist == null ? null : WishlistResponse.from(wishlist), results);
+    }
+}
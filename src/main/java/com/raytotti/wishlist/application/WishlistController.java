@@ -2,13 +2,19 @@ package com.raytotti.wishlist.application;
 
 import com.raytotti.wishlist.domain.SimpleProduct;
 import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.domain.WishlistPage;
 import com.raytotti.wishlist.domain.WishlistRepository;
+import com.raytotti.wishlist.domain.WishlistSnapshot;
+import com.raytotti.wishlist.domain.WishlistVersion;
+import com.raytotti.wishlist.domain.WishlistView;
 import com.raytotti.wishlist.exception.ClientNotFoundException;
+import com.raytotti.wishlist.exception.PreconditionFailedException;
+import com.raytotti.wishlist.exception.ProductExistsException;
+import com.raytotti.wishlist.exception.ProductNotFoundException;
 import com.raytotti.wishlist.exception.WishlistNotFoundException;
-import com.raytotti.wishlist.service.ClientService;
-import com.raytotti.wishlist.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,30 +22,48 @@ import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.springframework.web.servlet.support.ServletUriComponentsBuilder.fromCurrentContextPath;
 
 @Slf4j
 @RestController
+@Profile("!reactive")
 @AllArgsConstructor
 @RequestMapping(path = "/api/v1/wishlists")
 @Tag(name = "Wishlist", description = "Wishlist API Operations")
 public class WishlistController {
 
+    static final int MAX_EXISTS_PRODUCTS = 100;
+
     private final WishlistRepository repository;
-    private final ClientService clientService;
-    private final ProductService productService;
+    private final AddProductLookups addProductLookups;
+    private final WishlistBatchProcessor batchProcessor;
+    private final WishlistResponseCache responseCache;
+    private final WishlistResponseSnapshots snapshots;
+    private final WishlistHydrator hydrator;
+    private final WishlistPhaseTimer phaseTimer;
 
     @PostMapping(path = "/clients/{clientId}/products")
     @Operation(summary = "Add a new item to the list of product items for the informed clientId.")
@@ -48,44 +72,114 @@ public class WishlistController {
             @ApiResponse(responseCode = "400", description = "Failed to validate! Request Invalid.", content = @Content),
             @ApiResponse(responseCode = "404", description = "Failed to validate! Product or Client not found.", content = @Content),
             @ApiResponse(responseCode = "409", description = "Failed to validate! Product already exists.", content = @Content),
+            @ApiResponse(responseCode = "412", description = "Failed to validate! Wishlist changed since the informed If-Match.", content = @Content),
             @ApiResponse(responseCode = "413", description = "Failed to validate! Maximum 20 products allowed per customer.", content = @Content),
             @ApiResponse(responseCode = "415", description = "Unsupported Content Type.", content = @Content),
             @ApiResponse(responseCode = "500", description = "Unexpected system failure.", content = @Content)
     })
-    public ResponseEntity<WishlistResponse> addProduct(@PathVariable String clientId, @RequestBody @Valid WishlistAddProductRequest request) {
-        log.info("WishlistController -> addProduct: Solicitado a adição do produto com id {} a wishlist do cliente com id {}.", request.getProductId(), clientId);
+    public ResponseEntity<WishlistResponse> addProduct(@PathVariable String clientId,
+                                                       @RequestBody @Valid WishlistAddProductRequest request,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("WishlistController -> addProduct: Solicitado a adição do produto com id {} a wishlist do cliente com id {}.", request.getProductId(), clientId);
 
-        SimpleProduct productById = productService.getProductById(request.getProductId());
-        log.info("WishlistController -> addProduct: Produto encontrado no outro serviço: {}", productById);
+        WishlistPhaseTimer.Phases phases = phaseTimer.start("addProduct");
+        WishlistVersion expected = WishlistETag.parseIfMatch(ifMatch);
+        AddProductLookups.Pending lookups = addProductLookups.start(clientId, request.getProductId(), ifMatch != null);
 
+        SimpleProduct productById;
         Wishlist wishlist;
-        Optional<Wishlist> optionalWishlist = this.repository.findByClientId(new ObjectId(clientId));
-        if (optionalWishlist.isPresent()) {
-            wishlist = optionalWishlist.get();
-            wishlist.addProduct(productById);
-            log.info("WishlistController -> addProduct: Produto adicionado a Wishlist com id {}.", wishlist.getId());
-        } else {
-            boolean existsClientId = clientService.existsClientId(clientId);
-            if (!existsClientId) {
-                log.info("WishlistController -> addProduct: Client com id {} não foi encontrada.", clientId);
-                throw new ClientNotFoundException();
-            }
+        try {
+            productById = phases.time("product", lookups::product);
+            log.debug("WishlistController -> addProduct: Produto encontrado no outro serviço: {}", productById);
 
-            wishlist = Wishlist.of(clientId, productById);
-            log.info("WishlistController -> addProduct: Nova Wishlist criada para o cliente com id {}.", clientId);
+            if (ifMatch != null) {
+                wishlist = addProductIfMatch(clientId, productById, expected, lookups, phases);
+            } else {
+                wishlist = phases.time("write", () -> this.repository.pushProduct(new ObjectId(clientId), productById))
+                        .orElseGet(() -> createWishlist(clientId, productById, lookups, phases));
+            }
+        } finally {
+            lookups.cancel();
         }
+        log.debug("WishlistController -> addProduct: Wishlist com id {} foi salva.", wishlist.getId());
 
-        wishlist = this.repository.save(wishlist);
-        log.info("WishlistController -> addProduct: Wishlist com id {} foi salva.", wishlist.getId());
-
-        WishlistResponse response = WishlistResponse.from(wishlist);
-        log.info("WishlistController -> addProduct: Transação respondida {}", response);
+        WishlistResponse response = WishlistResponse.from(phases.time("hydrate", () -> hydrator.hydrate(wishlist)));
+        remember(response);
+        log.debug("WishlistController -> addProduct: Transação respondida {}", response);
 
         URI uri = fromCurrentContextPath()
                 .path("/api/v1/wishlists/clients/")
                 .path(clientId)
                 .build().toUri();
-        return ResponseEntity.created(uri).body(response);
+        return ResponseEntity.created(uri).eTag(response.getETag()).headers(phases.finish()).body(response);
+    }
+
+    private Wishlist addProductIfMatch(String clientId, SimpleProduct product, WishlistVersion expected, AddProductLookups.Pending lookups, WishlistPhaseTimer.Phases phases) {
+        Wishlist current = phases.time("wishlist", lookups::wishlist).orElseThrow(() -> {
+            log.debug("WishlistController -> addProduct: Wishlist do cliente com id {} não existe para o If-Match informado.", clientId);
+            return new PreconditionFailedException();
+        });
+        WishlistVersion currentVersion = WishlistETag.versionOf(current);
+        if (expected != null && !WishlistETag.matches(expected, currentVersion)) {
+            log.debug("WishlistController -> addProduct: Wishlist do cliente com id {} alterada desde o If-Match informado.", clientId);
+            throw new PreconditionFailedException();
+        }
+
+        current.addProduct(product);
+        return phases.time("write", () -> this.repository.pushProduct(new ObjectId(clientId), product, expected != null ? expected : currentVersion))
+                .orElseThrow(PreconditionFailedException::new);
+    }
+
+    private Wishlist createWishlist(String clientId, SimpleProduct product, AddProductLookups.Pending lookups, WishlistPhaseTimer.Phases phases) {
+        ObjectId clientObjectId = new ObjectId(clientId);
+
+        boolean existsClientId = phases.time("client", lookups::clientExists);
+        if (!existsClientId) {
+            log.debug("WishlistController -> addProduct: Client com id {} não foi encontrada.", clientId);
+            throw new ClientNotFoundException();
+        }
+
+        try {
+            Wishlist wishlist = phases.time("write", () -> this.repository.upsertProduct(clientObjectId, product));
+            log.debug("WishlistController -> addProduct: Nova Wishlist criada para o cliente com id {}.", clientId);
+            return wishlist;
+        } catch (DuplicateKeyException e) {
+            log.debug("WishlistController -> addProduct: Wishlist do cliente com id {} já existe.", clientId);
+        }
+
+        Wishlist current = phases.time("wishlist", lookups::wishlist).orElseThrow(ProductExistsException::new);
+        current.addProduct(product);
+        log.debug("WishlistController -> addProduct: Wishlist com id {} alterada concorrentemente, nova tentativa.", current.getId());
+        return phases.time("write", () -> this.repository.pushProduct(clientObjectId, product)).orElseThrow(ProductExistsException::new);
+    }
+
+    @PostMapping(path = "/clients/{clientId}/products/batch")
+    @Operation(summary = "Add and remove several items of the list of product items for the informed clientId in a single operation.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation completed, the result of each item is informed."),
+            @ApiResponse(responseCode = "400", description = "Failed to validate! Request Invalid.", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Failed to validate! Client not found.", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Wishlist changed concurrently, try again.", content = @Content),
+            @ApiResponse(responseCode = "412", description = "Failed to validate! Wishlist changed since the informed If-Match.", content = @Content),
+            @ApiResponse(responseCode = "415", description = "Unsupported Content Type.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Unexpected system failure.", content = @Content)
+    })
+    public ResponseEntity<WishlistBatchResponse> batch(@PathVariable String clientId,
+                                                       @RequestBody @Valid WishlistBatchRequest request,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("WishlistController -> batch: Solicitado a alteração em lote da wishlist do cliente com id {}: {}", clientId, request);
+
+        WishlistBatchResponse response = ifMatch != null
+                ? batchProcessor.applyIfMatch(clientId, request, WishlistETag.parseIfMatch(ifMatch))
+                : batchProcessor.apply(clientId, request);
+        log.debug("WishlistController -> batch: Transação respondida {}", response);
+
+        if (response.getWishlist() == null) {
+            responseCache.evict(clientId);
+            return ResponseEntity.ok(response);
+        }
+        remember(response.getWishlist());
+        return ResponseEntity.ok().eTag(response.getWishlist().getETag()).body(response);
     }
 
     @DeleteMapping(path = "/clients/{clientId}/products/{productId}")
@@ -94,73 +188,194 @@ public class WishlistController {
             @ApiResponse(responseCode = "204", description = "Operation completed successfully."),
             @ApiResponse(responseCode = "400", description = "Failed to validate! Request Invalid.", content = @Content),
             @ApiResponse(responseCode = "404", description = "Failed to validate! Wishlist or Product not found.", content = @Content),
+            @ApiResponse(responseCode = "412", description = "Failed to validate! Wishlist changed since the informed If-Match.", content = @Content),
             @ApiResponse(responseCode = "500", description = "Unexpected system failure.", content = @Content)
     })
-    public ResponseEntity<Void> removeProduct(@PathVariable String clientId, @PathVariable String productId) {
-        log.info("WishlistController -> removeProduct: Solicitado a remoção do produto com id {} na wishlist do cliente com id {}.", productId, clientId);
-
-        Optional<Wishlist> optionalWishlist = this.repository.findByClientId(new ObjectId(clientId));
+    public ResponseEntity<Void> removeProduct(@PathVariable String clientId,
+                                              @PathVariable String productId,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("WishlistController -> removeProduct: Solicitado a remoção do produto com id {} na wishlist do cliente com id {}.", productId, clientId);
 
-        Wishlist wishlist = optionalWishlist.orElseThrow(() -> {
-            log.info("WishlistController -> removeProduct: Wishlist do client com id {} não foi encontrada.", clientId);
-            return new WishlistNotFoundException();
+        ObjectId clientObjectId = new ObjectId(clientId);
+        Wishlist wishlist = ifMatch != null
+                ? removeProductIfMatch(clientObjectId, productId, WishlistETag.parseIfMatch(ifMatch))
+                : this.repository.pullProduct(clientObjectId, productId).orElseThrow(() -> {
+            if (!this.repository.existsByClientId(clientObjectId)) {
+                log.debug("WishlistController -> removeProduct: Wishlist do client com id {} não foi encontrada.", clientId);
+                return new WishlistNotFoundException();
+            }
+            log.debug("WishlistController -> removeProduct: Produto com id {} não pertence a Wishlist.", productId);
+            return new ProductNotFoundException();
         });
-
-        wishlist.removeProduct(productId);
-        log.info("WishlistController -> removeProduct: Produto com id {} removido.", productId);
+        log.debug("WishlistController -> removeProduct: Produto com id {} removido.", productId);
 
         if (wishlist.getProducts().isEmpty()) {
-            this.repository.deleteById(wishlist.getId());
-            log.info("WishlistController -> removeProduct: A Wishlist do cliente com id {} ficou sem produtos e foi deletada.", wishlist.getClientId());
-        } else {
-            this.repository.save(wishlist);
-            log.info("WishlistController -> removeProduct: A Wishlist com id {} foi salva.", wishlist.getId());
+            if (this.repository.deleteIfEmpty(wishlist.getId())) {
+                log.debug("WishlistController -> removeProduct: A Wishlist do cliente com id {} ficou sem produtos e foi deletada.", wishlist.getClientId());
+            } else {
+                log.debug("WishlistController -> removeProduct: A Wishlist do cliente com id {} ficou sem produtos e será deletada após o envio dos eventos.", wishlist.getClientId());
+            }
+            responseCache.evict(clientId);
+            return ResponseEntity.noContent().build();
         }
 
-        return ResponseEntity.noContent().build();
+        WishlistResponse response = WishlistResponse.from(hydrator.hydrate(wishlist));
+        remember(response);
+        return ResponseEntity.noContent().eTag(response.getETag()).build();
+    }
+
+    private Wishlist removeProductIfMatch(ObjectId clientId, String productId, WishlistVersion expected) {
+        WishlistVersion version = expected != null
+                ? expected
+                : this.repository.findVersionByClientId(clientId).orElseThrow(PreconditionFailedException::new);
+
+        return this.repository.pullProduct(clientId, productId, version).orElseThrow(() -> {
+            Optional<WishlistVersion> current = this.repository.findVersionByClientId(clientId);
+            if (current.isEmpty() || !WishlistETag.matches(version, current.get())) {
+                log.debug("WishlistController -> removeProduct: Wishlist do cliente com id {} alterada desde o If-Match informado.", clientId);
+                return new PreconditionFailedException();
+            }
+            log.debug("WishlistController -> removeProduct: Produto com id {} não pertence a Wishlist.", productId);
+            return new ProductNotFoundException();
+        });
     }
 
     @GetMapping(path = "/clients/{clientId}/products/{productId}/exists")
     @Operation(summary = "Checks if the informed product belongs to the list of product items for the informed clientId.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Operation completed successfully."),
+            @ApiResponse(responseCode = "200", description = "Operation completed successfully, true when the product belongs to the Wishlist."),
             @ApiResponse(responseCode = "400", description = "Failed to validate! Request Invalid.", content = @Content),
-            @ApiResponse(responseCode = "404", description = "Failed to validate! Wishlist or Product not found.", content = @Content),
             @ApiResponse(responseCode = "500", description = "Unexpected system failure.", content = @Content)
     })
     public ResponseEntity<Boolean> existsProduct(@PathVariable String clientId, @PathVariable String productId) {
-        log.info("WishlistController -> existProduct: Solicitado a verificação de existencia do produto com id {} na wishlist do cliente com id {}.", productId, clientId);
+        log.debug("WishlistController -> existProduct: Solicitado a verificação de existencia do produto com id {} na wishlist do cliente com id {}.", productId, clientId);
+
+        boolean exists = repository.holdsProduct(new ObjectId(clientId), productId);
+        log.debug("WishlistController -> existProduct: O produto com id {} pertence a wishlist: {}.", productId, exists);
+
+        return ResponseEntity.ok(exists);
+    }
+
+    @GetMapping(path = "/clients/{clientId}/products/exists")
+    @Operation(summary = "Checks which of the informed products belong to the list of product items for the informed clientId.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation completed successfully, informs for each product if it belongs to the Wishlist."),
+            @ApiResponse(responseCode = "400", description = "Failed to validate! Request Invalid.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Unexpected system failure.", content = @Content)
+    })
+    public ResponseEntity<Map<String, Boolean>> existsProducts(@PathVariable String clientId, @RequestParam List<String> productIds) {
+        log.debug("WishlistController -> existsProducts: Solicitado a verificação de existencia de {} produtos na wishlist do cliente com id {}.", productIds.size(), clientId);
+
+        if (productIds.size() > MAX_EXISTS_PRODUCTS) {
+            log.debug("WishlistController -> existsProducts: Limite de {} produtos excedido.", MAX_EXISTS_PRODUCTS);
+            return ResponseEntity.badRequest().build();
+        }
 
-        boolean exists = repository.existsByClientIdAndProductsId(new ObjectId(clientId), new ObjectId(productId));
+        Set<String> held = repository.heldProducts(new ObjectId(clientId), productIds);
+        Map<String, Boolean> response = new LinkedHashMap<>();
+        productIds.forEach(productId -> response.put(productId, held.contains(productId)));
+        log.debug("WishlistController -> existsProducts: {} produtos pertencem a wishlist.", held.size());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(path = "/clients/{clientId}/products")
+    @Operation(summary = "Retrieve a page of the favorite items for the informed clientId, with only the requested fields.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation completed successfully."),
+            @ApiResponse(responseCode = "400", description = "Failed to validate! Request Invalid.", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Failed to validate! Wishlist not found.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Unexpected system failure.", content = @Content)
+    })
+    public ResponseEntity<WishlistPageResponse> findProducts(@PathVariable String clientId,
+                                                             @RequestParam(defaultValue = "FULL") WishlistView view,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "" + Wishlist.MAX_PRODUCTS) int limit) {
+        log.debug("WishlistController -> findProducts: Solicitado a busca de {} produtos ({}) da Wishlist do cliente com id {} após {}.", limit, view, clientId, cursor);
 
-        if (exists) {
-            log.info("WishlistController -> existProduct: O produto com id {} foi encontrado.", productId);
-            return ResponseEntity.ok(true);
-        } else {
-            log.info("WishlistController -> existProduct: O produto com id {} não foi encontrado.", productId);
-            return ResponseEntity.notFound().build();
+        if (limit < 1 || limit > Wishlist.MAX_PRODUCTS) {
+            log.debug("WishlistController -> findProducts: Limite de {} produtos por página inválido.", limit);
+            return ResponseEntity.badRequest().build();
         }
+
+        WishlistPage page = repository.findPageByClientId(new ObjectId(clientId), view, cursor, limit)
+                .filter(found -> found.total() > 0)
+                .orElseThrow(() -> {
+                    log.debug("WishlistController -> findProducts: Wishlist do client com o id {} não encontrada.", clientId);
+                    return new WishlistNotFoundException();
+                });
+
+        WishlistPageResponse response = WishlistPageResponse.from(hydrator.hydrate(page, view));
+        log.debug("WishlistController -> findProducts: {} de {} produtos encontrados.", response.getProducts().size(), response.getTotal());
+        return ResponseEntity.ok().eTag(response.getETag()).body(response);
     }
 
     @GetMapping(path = "/clients/{clientId}")
     @Operation(summary = "Retrieve the list of favorite items for the informed clientId.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Operation completed successfully."),
+            @ApiResponse(responseCode = "200", description = "Operation completed successfully.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = WishlistResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Wishlist not modified since the informed If-None-Match.", content = @Content),
             @ApiResponse(responseCode = "400", description = "Failed to validate! Request Invalid.", content = @Content),
             @ApiResponse(responseCode = "404", description = "Failed to validate! Wishlist not found.", content = @Content),
             @ApiResponse(responseCode = "500", description = "Unexpected system failure.", content = @Content)
     })
-    public ResponseEntity<WishlistResponse> findByClientId(@PathVariable String clientId) {
-        log.info("WishlistController -> findByClientId: Solicitado a busca da Wishlist do cliente com id {}.", clientId);
+    public ResponseEntity<byte[]> findByClientId(@PathVariable String clientId,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("WishlistController -> findByClientId: Solicitado a busca da Wishlist do cliente com id {}.", clientId);
+
+        Optional<WishlistResponseCache.CachedResponse> cached = responseCache.get(clientId);
+        if (cached.isPresent()) {
+            log.debug("WishlistController -> findByClientId: Wishlist do cliente com id {} encontrada em cache.", clientId);
+            return respond(cached.get(), ifNoneMatch);
+        }
+
+        if (snapshots.isEnabled()) {
+            WishlistSnapshot snapshot = snapshots.find(clientId).orElseThrow(() -> {
+                log.debug("WishlistController -> findByClientId: Wishlist do client com o id {} não encontrada.", clientId);
+                return new WishlistNotFoundException();
+            });
+            if (snapshot.isCurrent()) {
+                log.debug("WishlistController -> findByClientId: Wishlist do cliente com id {} encontrada já serializada.", clientId);
+                return respond(responseCache.put(clientId, WishlistResponseSnapshots.toCachedResponse(snapshot)), ifNoneMatch);
+            }
+            if (!WishlistETag.noneMatch(ifNoneMatch, WishlistETag.of(snapshot.id(), snapshot.version()))) {
+                log.debug("WishlistController -> findByClientId: Wishlist do cliente com id {} não foi modificada.", clientId);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(WishlistETag.of(snapshot.id(), snapshot.version())).build();
+            }
+        } else if (ifNoneMatch != null) {
+            Optional<WishlistVersion> version = repository.findVersionByClientId(new ObjectId(clientId));
+            if (version.isPresent() && !WishlistETag.noneMatch(ifNoneMatch, WishlistETag.of(version.get()))) {
+                log.debug("WishlistController -> findByClientId: Wishlist do cliente com id {} não foi modificada.", clientId);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(WishlistETag.of(version.get())).build();
+            }
+        }
 
-        Optional<Wishlist> transaction = repository.findByClientId(new ObjectId(clientId));
+        Optional<Wishlist> transaction = repository.findByClientId(new ObjectId(clientId))
+                .filter(wishlist -> !wishlist.getProducts().isEmpty());
 
-        WishlistResponse wishlistResponse = WishlistResponse.from(transaction.orElseThrow(() -> {
-            log.error("WishlistController -> findByClientId: Wishlist do client com o id {} não encontrada.", clientId);
+        WishlistResponse wishlistResponse = WishlistResponse.from(hydrator.hydrate(transaction.orElseThrow(() -> {
+            log.debug("WishlistController -> findByClientId: Wishlist do client com o id {} não encontrada.", clientId);
             return new WishlistNotFoundException();
-        }));
+        })));
 
-        log.info("WishlistController -> findByClientId: Wishlist encontrada. {}", wishlistResponse);
-        return ResponseEntity.ok(wishlistResponse);
+        log.debug("WishlistController -> findByClientId: Wishlist encontrada. {}", wishlistResponse);
+        return respond(remember(wishlistResponse), ifNoneMatch);
+    }
+
+    private WishlistResponseCache.CachedResponse remember(WishlistResponse response) {
+        WishlistResponseCache.CachedResponse cached = responseCache.put(response);
+        snapshots.store(cached);
+        return cached;
+    }
+
+    private ResponseEntity<byte[]> respond(WishlistResponseCache.CachedResponse response, String ifNoneMatch) {
+        if (!WishlistETag.noneMatch(ifNoneMatch, response.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(response.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(response.etag())
+                .body(response.json());
     }
 }
@@ -0,0 +1,63 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.domain.WishlistVersion;
+import com.raytotti.wishlist.exception.PreconditionFailedException;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+final class WishlistETag {
+
+    private static final String ANY = "*";
+
+    private WishlistETag() {
+    }
+
+    static String of(WishlistVersion version) {
+        return of(version.id(), version.version());
+    }
+
+    static String of(String id, Long version) {
+        return "\"" + id + "-" + (version == null ? 0 : version) + "\"";
+    }
+
+    static boolean noneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return true;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+                .noneMatch(candidate -> candidate.equals(ANY) || candidate.equals(etag));
+    }
+
+    static WishlistVersion parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        int separator = etag.lastIndexOf('-');
+        if (etag.contains(",") || etag.length() < 2 || !etag.startsWith("\"") || !etag.endsWith("\"") || separator < 2) {
+            throw new PreconditionFailedException();
+        }
+        try {
+            return new WishlistVersion(etag.substring(1, separator), Long.parseLong(etag.substring(separator + 1, etag.length() - 1)));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException();
+        }
+    }
+
+    static WishlistVersion versionOf(Wishlist wishlist) {
+        return new WishlistVersion(wishlist.getId(), wishlist.getVersion());
+    }
+
+    static boolean matches(WishlistVersion expected, WishlistVersion current) {
+        return expected.id().equals(current.id())
+                && Objects.equals(normalized(expected.version()), normalized(current.version()));
+    }
+
+    private static long normalized(Long version) {
+        return version == null ? 0 : version;
+    }
+}
@@ -0,0 +1,60 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.domain.WishlistEventRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@Profile("!reactive")
+@AllArgsConstructor
+@RequestMapping(path = "/api/v1/wishlists")
+@Tag(name = "Wishlist", description = "Wishlist API Operations")
+public class WishlistEventController {
+
+    static final int MAX_EVENTS = 100;
+
+    private final WishlistEventRepository repository;
+
+    @GetMapping(path = "/clients/{clientId}/events")
+    @Operation(summary = "Replay the change events of the Wishlist of the informed clientId after the informed sequence.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation completed successfully."),
+            @ApiResponse(responseCode = "400", description = "Failed to validate! Request Invalid.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Unexpected system failure.", content = @Content)
+    })
+    public ResponseEntity<List<WishlistEventResponse>> findEvents(@PathVariable String clientId,
+                                                                  @RequestParam(defaultValue = "0") long after,
+                                                                  @RequestParam(defaultValue = "" + MAX_EVENTS) int limit) {
+        log.debug("WishlistEventController -> findEvents: Solicitado {} eventos da Wishlist do cliente com id {} após a sequência {}.", limit, clientId, after);
+
+        if (limit < 1 || limit > MAX_EVENTS) {
+            log.debug("WishlistEventController -> findEvents: Limite de {} eventos inválido.", limit);
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<WishlistEventResponse> events = repository
+                .findByClientIdAndSequenceGreaterThanOrderBySequenceAsc(new ObjectId(clientId), after, PageRequest.of(0, limit))
+                .stream()
+                .map(WishlistEventResponse::from)
+                .toList();
+        log.debug("WishlistEventController -> findEvents: {} eventos encontrados.", events.size());
+        return ResponseEntity.ok(events);
+    }
+}
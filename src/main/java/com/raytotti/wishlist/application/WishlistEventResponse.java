@@ -0,0 +1,40 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.domain.WishlistChange;
+import com.raytotti.wishlist.domain.WishlistEvent;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class WishlistEventResponse {
+
+    private String id;
+    private String clientId;
+    private String wishlistId;
+    private long sequence;
+    private WishlistChange.Type type;
+    private List<String> added;
+    private List<String> removed;
+    private Instant occurredAt;
+
+    public static WishlistEventResponse from(WishlistEvent event) {
+        return new WishlistEventResponse(
+                event.getChangeId().toHexString(),
+                event.getClientId().toHexString(),
+                event.getWishlistId(),
+                event.getSequence(),
+                event.getType(),
+                event.getAdded(),
+                event.getRemoved(),
+                event.getOccurredAt());
+    }
+}
@@ -0,0 +1,88 @@
+package com.raytotti.wishlist.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "wishlist.export.file")
+public class WishlistExportCommand implements ApplicationRunner {
+
+    private final WishlistExporter exporter;
+
+    private final ConfigurableApplicationContext context;
+
+    private final Path file;
+
+    private final Path checkpointFile;
+
+    private final WishlistFileFormat format;
+
+    public WishlistExportCommand(WishlistExporter exporter,
+                                 ConfigurableApplicationContext context,
+                                 @Value("${wishlist.export.file}") Path file,
+                                 @Value("${wishlist.export.format:NDJSON}") WishlistFileFormat format) {
+        this.exporter = exporter;
+        this.context = context;
+        this.file = file;
+        this.checkpointFile = file.resolveSibling(file.getFileName() + ".checkpoint");
+        this.format = format;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        export();
+        log.info("WishlistExportCommand -> run: Exportação concluída, encerrando a aplicação.");
+        SpringApplication.exit(context);
+    }
+
+    long export() throws IOException {
+        String afterWishlistId = resume();
+        long exported;
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            exported = exporter.export(format, afterWishlistId, out, (lastWishlistId, count) -> {
+                out.flush();
+                saveCheckpoint(lastWishlistId, Files.size(file));
+                log.info("WishlistExportCommand -> export: {} wishlists gravadas em {}, última {}.", count, file, lastWishlistId);
+            });
+        }
+        Files.deleteIfExists(checkpointFile);
+        return exported;
+    }
+
+    private String resume() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            Files.deleteIfExists(file);
+            return null;
+        }
+        String[] checkpoint = Files.readString(checkpointFile, StandardCharsets.UTF_8).trim().split(" ");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Long.parseLong(checkpoint[1]));
+        }
+        log.info("WishlistExportCommand -> resume: Retomando a exportação para {} após a wishlist {}.", file, checkpoint[0]);
+        return checkpoint[0];
+    }
+
+    private void saveCheckpoint(String lastWishlistId, long size) throws IOException {
+        Path temporary = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        Files.writeString(temporary, lastWishlistId + " " + size, StandardCharsets.UTF_8);
+        Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
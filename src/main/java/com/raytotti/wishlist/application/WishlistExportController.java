@@ -0,0 +1,54 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.exception.InvalidCursorException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@Slf4j
+@RestController
+@Profile("!reactive")
+@AllArgsConstructor
+@RequestMapping(path = "/api/v1/wishlists")
+@Tag(name = "Wishlist", description = "Wishlist API Operations")
+public class WishlistExportController {
+
+    private final WishlistExporter exporter;
+
+    @GetMapping(path = "/export")
+    @Operation(summary = "Stream every Wishlist in id order, as NDJSON or CSV, optionally resuming after the informed wishlist id.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation completed successfully."),
+            @ApiResponse(responseCode = "400", description = "Failed to validate! Request Invalid.", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Unexpected system failure.", content = @Content)
+    })
+    public void export(@RequestParam(defaultValue = "NDJSON") WishlistFileFormat format,
+                       @RequestParam(required = false) String after,
+                       HttpServletResponse response) throws IOException {
+        log.info("WishlistExportController -> export: Solicitado a exportação das wishlists em {} após {}.", format, after);
+
+        if (after != null && !ObjectId.isValid(after)) {
+            throw new InvalidCursorException();
+        }
+
+        response.setContentType(format.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"wishlists." + format.extension() + "\"");
+        exporter.export(format, after, response.getOutputStream(), (lastWishlistId, exported) ->
+                log.info("WishlistExportController -> export: {} wishlists enviadas, última {}.", exported, lastWishlistId));
+    }
+}
@@ -0,0 +1,112 @@
+package com.raytotti.wishlist.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.domain.WishlistRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+public class WishlistExporter {
+
+    static final String CSV_HEADER = "wishlistId,clientId,version,productId,code,description,thumbnail,price";
+
+    private final WishlistRepository repository;
+
+    private final ObjectMapper objectMapper;
+
+    private final int batchSize;
+
+    public WishlistExporter(WishlistRepository repository,
+                            ObjectMapper objectMapper,
+                            @Value("${wishlist.export.batch-size:1000}") int batchSize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    public interface Checkpoint {
+        void reached(String lastWishlistId, long exported) throws IOException;
+    }
+
+    public long export(WishlistFileFormat format, String afterWishlistId, OutputStream out, Checkpoint checkpoint) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == WishlistFileFormat.CSV && afterWishlistId == null) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long exported = 0;
+        String lastWishlistId = afterWishlistId;
+        try (Stream<Wishlist> wishlists = repository.streamAfter(afterWishlistId, batchSize)) {
+            Iterator<Wishlist> cursor = wishlists.iterator();
+            while (cursor.hasNext()) {
+                Wishlist wishlist = cursor.next();
+                write(format, wishlist, writer);
+                lastWishlistId = wishlist.getId();
+                if (++exported % batchSize == 0) {
+                    writer.flush();
+                    checkpoint.reached(lastWishlistId, exported);
+                }
+            }
+        }
+        writer.flush();
+        if (exported % batchSize != 0) {
+            checkpoint.reached(lastWishlistId, exported);
+        }
+        log.info("WishlistExporter -> export: {} wishlists exportadas em {} após {}.", exported, format, afterWishlistId);
+        return exported;
+    }
+
+    private void write(WishlistFileFormat format, Wishlist wishlist, Writer writer) throws IOException {
+        if (format == WishlistFileFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(WishlistResponse.from(wishlist)));
+            writer.write('\n');
+            return;
+        }
+        if (wishlist.getProducts().isEmpty()) {
+            writeRow(writer, wishlist, null);
+        }
+        for (SimpleProduct product : wishlist.getProducts()) {
+            writeRow(writer, wishlist, product);
+        }
+    }
+
+    private static void writeRow(Writer writer, Wishlist wishlist, SimpleProduct product) throws IOException {
+        writer.write(String.join(",",
+                csv(wishlist.getId()),
+                csv(wishlist.getClientId().toHexString()),
+                csv(wishlist.getVersion()),
+                csv(product == null ? null : product.getId()),
+                csv(product == null ? null : product.getCode()),
+                csv(product == null ? null : product.getDescription()),
+                csv(product == null ? null : product.getThumbnail()),
+                csv(product == null || product.getPrice() == null ? null : product.getPrice().toPlainString())));
+        writer.write('\n');
+    }
+
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,58 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.domain.ProductStorage;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.domain.WishlistPage;
+import com.raytotti.wishlist.domain.WishlistView;
+import com.raytotti.wishlist.service.ProductService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+@AllArgsConstructor
+public class WishlistHydrator {
+
+    private final ProductStorage storage;
+    private final ProductService productService;
+
+    public Wishlist hydrate(Wishlist wishlist) {
+        Map<String, SimpleProduct> current = lookup(wishlist.getProducts());
+        if (!current.isEmpty()) {
+            wishlist.hydrateProducts(current);
+        }
+        return wishlist;
+    }
+
+    public WishlistPage hydrate(WishlistPage page, WishlistView view) {
+        if (view.fields().stream().allMatch(storage::stores)) {
+            return page;
+        }
+        Map<String, SimpleProduct> current = lookup(page.products());
+        List<SimpleProduct> products = page.products().stream()
+                .map(product -> view.project(current.getOrDefault(product.getId(), product)))
+                .toList();
+        return new WishlistPage(page.id(), page.clientId(), page.version(), products, page.total(), page.nextCursor());
+    }
+
+    private Map<String, SimpleProduct> lookup(Collection<SimpleProduct> products) {
+        List<String> missing = products.stream()
+                .filter(product -> !storage.isComplete(product))
+                .map(SimpleProduct::getId)
+                .toList();
+        if (missing.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, SimpleProduct> current = productService.getProductsByIds(missing);
+        log.debug("WishlistHydrator -> lookup: {} de {} produtos completados pelo outro serviço.", current.size(), missing.size());
+        return current;
+    }
+}
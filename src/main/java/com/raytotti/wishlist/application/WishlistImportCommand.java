@@ -0,0 +1,142 @@
+package com.raytotti.wishlist.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "wishlist.import.file")
+public class WishlistImportCommand implements ApplicationRunner {
+
+    static final String CSV_HEADER = "clientId,productId";
+
+    private final WishlistImporter importer;
+
+    private final ObjectMapper objectMapper;
+
+    private final ConfigurableApplicationContext context;
+
+    private final Path file;
+
+    private final Path rejectedFile;
+
+    private final WishlistFileFormat format;
+
+    public WishlistImportCommand(WishlistImporter importer,
+                                 ObjectMapper objectMapper,
+                                 ConfigurableApplicationContext context,
+                                 @Value("${wishlist.import.file}") Path file,
+                                 @Value("${wishlist.import.format:NDJSON}") WishlistFileFormat format) {
+        this.importer = importer;
+        this.objectMapper = objectMapper;
+        this.context = context;
+        this.file = file;
+        this.rejectedFile = file.resolveSibling(file.getFileName() + ".rejected");
+        this.format = format;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException, InterruptedException {
+        importFile();
+        log.info("WishlistImportCommand -> run: Importação concluída, encerrando a aplicação.");
+        SpringApplication.exit(context);
+    }
+
+    WishlistImportReport importFile() throws IOException, InterruptedException {
+        log.info("WishlistImportCommand -> importFile: Importando {} em {}, linhas rejeitadas em {}.", file, format, rejectedFile);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             BufferedWriter rejected = Files.newBufferedWriter(rejectedFile, StandardCharsets.UTF_8)) {
+            rejected.write("line,clientId,productId,reason\n");
+            return importer.importRows(new Rows(reader), (row, reason) -> {
+                synchronized (rejected) {
+                    try {
+                        rejected.write(String.join(",",
+                                String.valueOf(row.line()),
+                                WishlistExporter.csv(row.clientId()),
+                                WishlistExporter.csv(row.productId()),
+                                reason.name()));
+                        rejected.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        }
+    }
+
+    WishlistImportRow parse(long line, String text) {
+        if (format == WishlistFileFormat.CSV) {
+            String[] columns = text.split(",", -1);
+            return new WishlistImportRow(line, columns[0].trim(), columns.length > 1 ? columns[1].trim() : null);
+        }
+        try {
+            JsonNode row = objectMapper.readTree(text);
+            return new WishlistImportRow(line, row.path("clientId").asText(null), row.path("productId").asText(null));
+        } catch (JsonProcessingException e) {
+            return new WishlistImportRow(line, null, null);
+        }
+    }
+
+    private final class Rows implements Iterator<WishlistImportRow> {
+
+        private final BufferedReader reader;
+
+        private long line;
+
+        private String next;
+
+        Rows(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null) {
+                    String text = reader.readLine();
+                    if (text == null) {
+                        return false;
+                    }
+                    line++;
+                    if (!text.isBlank() && !(line == 1 && format == WishlistFileFormat.CSV && text.trim().equals(CSV_HEADER))) {
+                        next = text;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public WishlistImportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            WishlistImportRow row = parse(line, next);
+            next = null;
+            return row;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.raytotti.wishlist.application;
+
+public record WishlistImportReport(long read, long imported, long rejected) {
+}
@@ -0,0 +1,8 @@
+package com.raytotti.wishlist.application;
+
+public record WishlistImportRow(long line, String clientId, String productId) {
+
+    public enum Rejection {
+        INVALID, PRODUCT_NOT_FOUND, ALREADY_EXISTS, MAX_LIMIT, CONFLICT, FAILED
+    }
+}
@@ -0,0 +1,175 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.application.WishlistImportRow.Rejection;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.domain.WishlistRepository;
+import com.raytotti.wishlist.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+public class WishlistImporter {
+
+    private final WishlistRepository repository;
+
+    private final ProductService productService;
+
+    private final int chunkSize;
+
+    private final int parallelism;
+
+    public WishlistImporter(WishlistRepository repository,
+                            ProductService productService,
+                            @Value("${wishlist.import.chunk-size:1000}") int chunkSize,
+                            @Value("${wishlist.import.parallelism:4}") int parallelism) {
+        this.repository = repository;
+        this.productService = productService;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    public interface Rejections {
+        void rejected(WishlistImportRow row, Rejection reason);
+    }
+
+    public WishlistImportReport importRows(Iterator<WishlistImportRow> rows, Rejections rejections) throws InterruptedException {
+        Progress progress = new Progress(rejections);
+        List<ExecutorService> lanes = new ArrayList<>(parallelism);
+        List<List<WishlistImportRow>> pending = new ArrayList<>(parallelism);
+        for (int lane = 0; lane < parallelism; lane++) {
+            lanes.add(Executors.newSingleThreadExecutor());
+            pending.add(new ArrayList<>(chunkSize));
+        }
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+
+        try {
+            while (rows.hasNext()) {
+                WishlistImportRow row = rows.next();
+                progress.read.incrementAndGet();
+                if (!ObjectId.isValid(row.clientId()) || row.productId() == null || row.productId().isBlank()) {
+                    progress.reject(row, Rejection.INVALID);
+                    continue;
+                }
+                int lane = Math.floorMod(row.clientId().hashCode(), parallelism);
+                pending.get(lane).add(row);
+                if (pending.get(lane).size() == chunkSize) {
+                    submit(lanes.get(lane), pending.set(lane, new ArrayList<>(chunkSize)), inFlight, progress);
+                }
+            }
+            for (int lane = 0; lane < parallelism; lane++) {
+                if (!pending.get(lane).isEmpty()) {
+                    submit(lanes.get(lane), pending.get(lane), inFlight, progress);
+                }
+            }
+        } finally {
+            lanes.forEach(ExecutorService::shutdown);
+            for (ExecutorService lane : lanes) {
+                lane.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+        }
+        WishlistImportReport report = progress.report();
+        log.info("WishlistImporter -> importRows: Importação concluída, {} linhas lidas, {} importadas, {} rejeitadas.", report.read(), report.imported(), report.rejected());
+        return report;
+    }
+
+    private void submit(ExecutorService lane, List<WishlistImportRow> chunk, Semaphore inFlight, Progress progress) throws InterruptedException {
+        inFlight.acquire();
+        lane.execute(() -> {
+            try {
+                importChunk(chunk, progress);
+            } catch (RuntimeException e) {
+                log.error("WishlistImporter -> importChunk: Falha ao importar {} linhas a partir da linha {}.", chunk.size(), chunk.get(0).line(), e);
+                chunk.forEach(row -> progress.reject(row, Rejection.FAILED));
+            } finally {
+                inFlight.release();
+            }
+            WishlistImportReport report = progress.report();
+            log.info("WishlistImporter -> importChunk: {} linhas lidas, {} importadas, {} rejeitadas.", report.read(), report.imported(), report.rejected());
+        });
+    }
+
+    void importChunk(List<WishlistImportRow> chunk, Progress progress) {
+        Map<ObjectId, List<WishlistImportRow>> byClient = new LinkedHashMap<>();
+        Set<String> productIds = new LinkedHashSet<>();
+        chunk.forEach(row -> {
+            byClient.computeIfAbsent(new ObjectId(row.clientId()), clientId -> new ArrayList<>()).add(row);
+            productIds.add(row.productId());
+        });
+
+        Map<ObjectId, Set<String>> held = repository.findProductIdsByClientIds(byClient.keySet());
+        Map<String, SimpleProduct> products = productService.getProductsByIds(productIds);
+
+        Map<ObjectId, List<SimpleProduct>> accepted = new LinkedHashMap<>();
+        Map<ObjectId, List<WishlistImportRow>> acceptedRows = new LinkedHashMap<>();
+        byClient.forEach((clientId, rows) -> {
+            Set<String> wishlist = new HashSet<>(held.getOrDefault(clientId, Set.of()));
+            for (WishlistImportRow row : rows) {
+                SimpleProduct product = products.get(row.productId());
+                if (product == null) {
+                    progress.reject(row, Rejection.PRODUCT_NOT_FOUND);
+                } else if (wishlist.contains(row.productId())) {
+                    progress.reject(row, Rejection.ALREADY_EXISTS);
+                } else if (wishlist.size() >= Wishlist.MAX_PRODUCTS) {
+                    progress.reject(row, Rejection.MAX_LIMIT);
+                } else {
+                    wishlist.add(row.productId());
+                    accepted.computeIfAbsent(clientId, id -> new ArrayList<>()).add(product);
+                    acceptedRows.computeIfAbsent(clientId, id -> new ArrayList<>()).add(row);
+                }
+            }
+        });
+
+        Set<ObjectId> failed = repository.appendProducts(accepted);
+        acceptedRows.forEach((clientId, rows) -> {
+            if (failed.contains(clientId)) {
+                rows.forEach(row -> progress.reject(row, Rejection.CONFLICT));
+            } else {
+                progress.imported.addAndGet(rows.size());
+            }
+        });
+    }
+
+    static final class Progress {
+
+        private final Rejections rejections;
+
+        private final AtomicLong read = new AtomicLong();
+
+        private final AtomicLong imported = new AtomicLong();
+
+        private final AtomicLong rejected = new AtomicLong();
+
+        Progress(Rejections rejections) {
+            this.rejections = rejections;
+        }
+
+        void reject(WishlistImportRow row, Rejection reason) {
+            rejected.incrementAndGet();
+            rejections.rejected(row, reason);
+        }
+
+        WishlistImportReport report() {
+            return new WishlistImportReport(read.get(), imported.get(), rejected.get());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.raytotti.wishlist.application;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.raytotti.wishlist.domain.WishlistPage;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class WishlistPageResponse {
+
+    private String id;
+    private String clientId;
+    private List<WishlistProductResponse> products;
+    private int total;
+    private String nextCursor;
+    private Long version;
+
+    public static WishlistPageResponse from(WishlistPage page) {
+        return new WishlistPageResponse(
+                page.id(),
+                page.clientId().toString(),
+                page.products().stream().map(WishlistProductResponse::from).toList(),
+                page.total(),
+                page.nextCursor(),
+                page.version());
+    }
+
+    @JsonIgnore
+    public String getETag() {
+        return WishlistETag.of(id, version);
+    }
+}
@@ -0,0 +1,85 @@
+package com.raytotti.wishlist.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+@Profile("!reactive")
+public class WishlistPhaseTimer {
+
+    static final String METRIC = "wishlist.request.phase";
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean serverTiming;
+
+    public WishlistPhaseTimer(MeterRegistry meterRegistry,
+                              @Value("${wishlist.server-timing.enabled:false}") boolean serverTiming) {
+        this.meterRegistry = meterRegistry;
+        this.serverTiming = serverTiming;
+    }
+
+    public Phases start(String operation) {
+        return new Phases(operation);
+    }
+
+    public final class Phases {
+
+        private final String operation;
+
+        private final long started = System.nanoTime();
+
+        private final StringJoiner timings = new StringJoiner(", ");
+
+        private Phases(String operation) {
+            this.operation = operation;
+        }
+
+        public <T> T time(String phase, Supplier<T> call) {
+            long start = System.nanoTime();
+            try {
+                return call.get();
+            } finally {
+                record(phase, System.nanoTime() - start);
+            }
+        }
+
+        public void run(String phase, Runnable call) {
+            time(phase, () -> {
+                call.run();
+                return null;
+            });
+        }
+
+        public HttpHeaders finish() {
+            record("total", System.nanoTime() - started);
+            HttpHeaders headers = new HttpHeaders();
+            if (serverTiming) {
+                headers.set(SERVER_TIMING, timings.toString());
+            }
+            return headers;
+        }
+
+        private void record(String phase, long nanos) {
+            Timer.builder(METRIC)
+                    .tag("operation", operation)
+                    .tag("phase", phase)
+                    .register(meterRegistry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+            if (serverTiming) {
+                timings.add(String.format(Locale.ROOT, "%s;dur=%.1f", phase, nanos / 1e6));
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.raytotti.wishlist.application;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+@Getter
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class WishlistProductResponse {
+
+    private String id;
+    private String code;
+    private String description;
+    private String thumbnail;
+    private BigDecimal price;
+
+    public static WishlistProductResponse from(SimpleProduct product) {
+        return new WishlistProductResponse(product.getId(), product.getCode(), product.getDescription(), product.getThumbnail(), product.getPrice());
+    }
+}
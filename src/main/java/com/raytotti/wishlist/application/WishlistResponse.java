@@ -2,6 +2,7 @@ package com.raytotti.wishlist.application;
 
 import com.raytotti.wishlist.domain.SimpleProduct;
 import com.raytotti.wishlist.domain.Wishlist;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotNull;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -20,8 +21,14 @@ public class WishlistResponse {
     private String id;
     private String clientId;
     private Set<SimpleProduct> products;
+    private Long version;
 
     public static WishlistResponse from(@NotNull final Wishlist wishlist) {
-        return new WishlistResponse(wishlist.getId(), wishlist.getClientId().toString(), wishlist.getProducts());
+        return new WishlistResponse(wishlist.getId(), wishlist.getClientId().toString(), wishlist.getProducts(), wishlist.getVersion());
+    }
+
+    @JsonIgnore
+    public String getETag() {
+        return WishlistETag.of(id, version);
     }
 }
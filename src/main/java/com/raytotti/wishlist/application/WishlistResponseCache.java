@@ -0,0 +1,117 @@
+package com.raytotti.wishlist.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.raytotti.wishlist.service.WishlistChangeListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+public class WishlistResponseCache implements WishlistChangeListener {
+
+    static final String CACHE_NAME = "wishlists";
+
+    public record CachedResponse(String wishlistId, Long version, String etag, byte[] json) {
+
+        private boolean isNewerThan(CachedResponse other) {
+            return !Objects.equals(wishlistId, other.wishlistId)
+                    || (version == null ? 0 : version) >= (other.version == null ? 0 : other.version);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+
+    private final Cache<String, CachedResponse> cache;
+
+    private final Cache<String, String> clientIdByWishlistId;
+
+    public WishlistResponseCache(ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${cache.wishlist.enabled:true}") boolean enabled,
+                                 @Value("${cache.wishlist.maximum-size:100000}") long maximumSize,
+                                 @Value("${cache.wishlist.expire-after-write:1m}") Duration expireAfterWrite) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.clientIdByWishlistId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<CachedResponse> get(String clientId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(key(clientId)));
+    }
+
+    public CachedResponse put(WishlistResponse response) {
+        return put(response.getClientId(), new CachedResponse(response.getId(), response.getVersion(), response.getETag(), serialize(response)));
+    }
+
+    public CachedResponse put(String clientId, CachedResponse response) {
+        if (!enabled) {
+            return response;
+        }
+        CachedResponse stored = cache.asMap().merge(key(clientId), response,
+                (current, candidate) -> candidate.isNewerThan(current) ? candidate : current);
+        index(response.wishlistId(), clientId);
+        return stored;
+    }
+
+    public void evict(String clientId) {
+        CachedResponse removed = cache.asMap().remove(key(clientId));
+        if (removed != null && removed.wishlistId() != null) {
+            clientIdByWishlistId.invalidate(removed.wishlistId());
+        }
+    }
+
+    @Override
+    public void wishlistChanged(String wishlistId, String clientId) {
+        String cachedClientId = clientId != null || wishlistId == null ? clientId : clientIdByWishlistId.getIfPresent(wishlistId);
+        if (cachedClientId != null) {
+            log.debug("WishlistResponseCache -> wishlistChanged: Invalidada a wishlist do cliente com id {}.", cachedClientId);
+            evict(cachedClientId);
+        }
+    }
+
+    private void index(String wishlistId, String clientId) {
+        if (wishlistId != null) {
+            clientIdByWishlistId.put(wishlistId, key(clientId));
+        }
+    }
+
+    private static String key(String clientId) {
+        return ObjectId.isValid(clientId) ? new ObjectId(clientId).toHexString() : clientId;
+    }
+
+    private byte[] serialize(WishlistResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
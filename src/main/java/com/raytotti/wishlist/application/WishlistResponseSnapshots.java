@@ -0,0 +1,54 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.domain.WishlistRepository;
+import com.raytotti.wishlist.domain.WishlistSnapshot;
+import com.raytotti.wishlist.domain.WishlistVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+public class WishlistResponseSnapshots {
+
+    private final WishlistRepository repository;
+
+    private final boolean enabled;
+
+    public WishlistResponseSnapshots(WishlistRepository repository,
+                                     @Value("${cache.wishlist.snapshot.enabled:false}") boolean enabled) {
+        this.repository = repository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<WishlistSnapshot> find(String clientId) {
+        return repository.findSnapshotByClientId(new ObjectId(clientId));
+    }
+
+    public void store(WishlistResponseCache.CachedResponse response) {
+        if (!enabled || response.wishlistId() == null) {
+            return;
+        }
+        try {
+            if (!repository.storeSnapshot(new WishlistVersion(response.wishlistId(), response.version()), response.json())) {
+                log.info("WishlistResponseSnapshots -> store: Wishlist com id {} alterada antes de gravar a versão {} serializada.", response.wishlistId(), response.version());
+            }
+        } catch (DataAccessException e) {
+            log.error("WishlistResponseSnapshots -> store: Falha ao gravar a wishlist com id {} serializada.", response.wishlistId(), e);
+        }
+    }
+
+    static WishlistResponseCache.CachedResponse toCachedResponse(WishlistSnapshot snapshot) {
+        return new WishlistResponseCache.CachedResponse(snapshot.id(), snapshot.version(), WishlistETag.of(snapshot.id(), snapshot.version()), snapshot.json());
+    }
+}
@@ -0,0 +1,32 @@
+package com.raytotti.wishlist.configuration;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+public class BoundedExecutor implements DisposableBean {
+
+    private final ThreadPoolTaskExecutor delegate = new ThreadPoolTaskExecutor();
+
+    public BoundedExecutor(String threadNamePrefix, int poolSize, int queueCapacity) {
+        this(threadNamePrefix, poolSize, queueCapacity, null);
+    }
+
+    public BoundedExecutor(String threadNamePrefix, int poolSize, int queueCapacity, TaskDecorator taskDecorator) {
+        delegate.setThreadNamePrefix(threadNamePrefix);
+        delegate.setTaskDecorator(taskDecorator);
+        delegate.setCorePoolSize(poolSize);
+        delegate.setMaxPoolSize(poolSize);
+        delegate.setQueueCapacity(queueCapacity);
+        delegate.initialize();
+    }
+
+    public void execute(Runnable task) {
+        delegate.execute(task);
+    }
+
+    @Override
+    public void destroy() {
+        delegate.shutdown();
+    }
+}
@@ -0,0 +1,20 @@
+package com.raytotti.wishlist.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskDecorator;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Bean
+    @Profile("!reactive")
+    public BoundedExecutor addLookupExecutor(
+            @Value("${wishlist.add.lookup-executor.pool-size:8}") int poolSize,
+            @Value("${wishlist.add.lookup-executor.queue-capacity:100}") int queueCapacity,
+            TaskDecorator taskDecorator) {
+        return new BoundedExecutor("add-lookup-", poolSize, queueCapacity, taskDecorator);
+    }
+}
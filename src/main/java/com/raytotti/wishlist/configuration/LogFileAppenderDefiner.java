@@ -0,0 +1,13 @@
+package com.raytotti.wishlist.configuration;
+
+import ch.qos.logback.core.PropertyDefinerBase;
+import ch.qos.logback.core.util.OptionHelper;
+
+public class LogFileAppenderDefiner extends PropertyDefinerBase {
+
+    @Override
+    public String getPropertyValue() {
+        String logFile = OptionHelper.propertyLookup("LOG_FILE", getContext(), null);
+        return logFile == null || logFile.isBlank() ? "NO_FILE" : "ASYNC_FILE";
+    }
+}
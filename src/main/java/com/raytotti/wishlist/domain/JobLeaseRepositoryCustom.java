@@ -0,0 +1,16 @@
+package com.raytotti.wishlist.domain;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public interface JobLeaseRepositoryCustom {
+
+    boolean acquire(String name, String owner, Duration duration);
+
+    void release(String name, String owner);
+
+    Optional<String> findCursor(String name);
+
+    boolean moveCursor(String name, String owner, String cursor);
+
+}
@@ -0,0 +1,57 @@
+package com.raytotti.wishlist.domain;
+
+import com.mongodb.client.result.UpdateResult;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@AllArgsConstructor
+public class JobLeaseRepositoryCustomImpl implements JobLeaseRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean acquire(String name, String owner, Duration duration) {
+        Instant now = Instant.now();
+        try {
+            UpdateResult result = mongoTemplate.upsert(
+                    query(where("_id").is(name).orOperator(where("owner").is(owner), where("expiresAt").lte(now))),
+                    new Update().set("owner", owner).set("expiresAt", now.plus(duration)),
+                    JobLease.class);
+            return result.getMatchedCount() > 0 || result.getUpsertedId() != null;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void release(String name, String owner) {
+        mongoTemplate.updateFirst(
+                query(where("_id").is(name).and("owner").is(owner)),
+                new Update().set("expiresAt", Instant.now()),
+                JobLease.class);
+    }
+
+    @Override
+    public Optional<String> findCursor(String name) {
+        Query query = query(where("_id").is(name));
+        query.fields().include("cursor");
+        return Optional.ofNullable(mongoTemplate.findOne(query, JobLease.class)).map(JobLease::getCursor);
+    }
+
+    @Override
+    public boolean moveCursor(String name, String owner, String cursor) {
+        Update update = cursor == null ? new Update().unset("cursor") : new Update().set("cursor", cursor);
+        return mongoTemplate.updateFirst(query(where("_id").is(name).and("owner").is(owner)), update, JobLease.class)
+                .getMatchedCount() > 0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.raytotti.wishlist.domain;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document
+@CompoundIndex(name = "productId_clientId", def = "{'productId': 1, 'clientId': 1}", unique = true)
+@Getter
+@ToString
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductFavorite {
+
+    @Id
+    private String id;
+    private String productId;
+    private ObjectId clientId;
+
+}
@@ -0,0 +1,28 @@
+package com.raytotti.wishlist.domain;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+
+@Document
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductFavoriteCount {
+
+    @MongoId(FieldType.STRING)
+    private String productId;
+    @Indexed
+    private long count;
+
+    public static ProductFavoriteCount of(String productId, long count) {
+        return new ProductFavoriteCount(productId, count);
+    }
+}
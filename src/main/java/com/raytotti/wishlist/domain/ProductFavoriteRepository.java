@@ -0,0 +1,16 @@
+package com.raytotti.wishlist.domain;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RepositoryRestResource(exported = false)
+public interface ProductFavoriteRepository extends MongoRepository<ProductFavoriteCount, String>, ProductFavoriteRepositoryCustom {
+
+    public List<ProductFavoriteCount> findByCountGreaterThanOrderByCountDesc(long count, Pageable pageable);
+
+}
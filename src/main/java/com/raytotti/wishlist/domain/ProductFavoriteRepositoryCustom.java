@@ -0,0 +1,22 @@
+package com.raytotti.wishlist.domain;
+
+import org.bson.types.ObjectId;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface ProductFavoriteRepositoryCustom {
+
+    Optional<ProductFavoriteCount> addClient(String productId, ObjectId clientId);
+
+    Optional<ProductFavoriteCount> removeClient(String productId, ObjectId clientId);
+
+    Map<String, Long> addClients(Map<ObjectId, List<String>> productIds);
+
+    List<ObjectId> findClientIds(String productId, ObjectId afterClientId, int limit);
+
+    void reconcile(Instant startedAt);
+
+}
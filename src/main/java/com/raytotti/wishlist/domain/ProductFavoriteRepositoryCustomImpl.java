@@ -0,0 +1,156 @@
+package com.raytotti.wishlist.domain;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@AllArgsConstructor
+public class ProductFavoriteRepositoryCustomImpl implements ProductFavoriteRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<ProductFavoriteCount> addClient(String productId, ObjectId clientId) {
+        UpdateResult result;
+        try {
+            result = mongoTemplate.upsert(
+                    favorite(productId, clientId),
+                    new Update().setOnInsert("productId", productId).setOnInsert("clientId", clientId).setOnInsert("seenAt", Instant.now()),
+                    ProductFavorite.class);
+        } catch (DuplicateKeyException e) {
+            return Optional.empty();
+        }
+        if (result.getUpsertedId() == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query(where("_id").is(productId)),
+                new Update().inc("count", 1),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                ProductFavoriteCount.class));
+    }
+
+    @Override
+    public Optional<ProductFavoriteCount> removeClient(String productId, ObjectId clientId) {
+        if (mongoTemplate.remove(favorite(productId, clientId), ProductFavorite.class).getDeletedCount() == 0) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query(where("_id").is(productId)),
+                new Update().inc("count", -1),
+                FindAndModifyOptions.options().returnNew(true),
+                ProductFavoriteCount.class));
+    }
+
+    @Override
+    public Map<String, Long> addClients(Map<ObjectId, List<String>> productIds) {
+        List<String> pairs = new ArrayList<>();
+        BulkOperations favorites = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProductFavorite.class);
+        productIds.forEach((clientId, ids) -> ids.forEach(productId -> {
+            pairs.add(productId);
+            favorites.upsert(
+                    favorite(productId, clientId),
+                    new Update().setOnInsert("productId", productId).setOnInsert("clientId", clientId).setOnInsert("seenAt", Instant.now()));
+        }));
+        if (pairs.isEmpty()) {
+            return Map.of();
+        }
+
+        BulkWriteResult result;
+        try {
+            result = favorites.execute();
+        } catch (BulkOperationException e) {
+            result = e.getResult();
+        }
+        Map<String, Long> inserted = new LinkedHashMap<>();
+        result.getUpserts().forEach(upsert -> inserted.merge(pairs.get(upsert.getIndex()), 1L, Long::sum));
+        if (inserted.isEmpty()) {
+            return inserted;
+        }
+
+        BulkOperations counts = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProductFavoriteCount.class);
+        inserted.forEach((productId, count) -> counts.upsert(query(where("_id").is(productId)), new Update().inc("count", count)));
+        counts.execute();
+        return inserted;
+    }
+
+    @Override
+    public List<ObjectId> findClientIds(String productId, ObjectId afterClientId, int limit) {
+        Query query = query(where("productId").is(productId));
+        if (afterClientId != null) {
+            query.addCriteria(where("clientId").gt(afterClientId));
+        }
+        query.with(Sort.by("clientId")).limit(limit);
+        query.fields().include("clientId").exclude("_id");
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(ProductFavorite.class)).stream()
+                .map(favorite -> favorite.get("clientId", ObjectId.class))
+                .toList();
+    }
+
+    @Override
+    public void reconcile(Instant startedAt) {
+        String favorites = mongoTemplate.getCollectionName(ProductFavorite.class);
+        String counts = mongoTemplate.getCollectionName(ProductFavoriteCount.class);
+        mongoTemplate.aggregate(Aggregation.newAggregation(
+                        Aggregation.unwind("products"),
+                        context -> new Document("$project", new Document("_id", 0)
+                                .append("productId", new Document("$toString", "$products._id"))
+                                .append("clientId", "$clientId")
+                                .append("seenAt", new Document("$literal", Date.from(startedAt)))),
+                        context -> new Document("$merge", new Document("into", favorites)
+                                .append("on", List.of("productId", "clientId"))
+                                .append("whenMatched", "merge")
+                                .append("whenNotMatched", "insert"))),
+                mongoTemplate.getCollectionName(Wishlist.class), Document.class);
+        mongoTemplate.remove(query(new Criteria().orOperator(where("seenAt").lt(startedAt), where("seenAt").exists(false))), ProductFavorite.class);
+        mongoTemplate.aggregate(Aggregation.newAggregation(
+                        context -> new Document("$group", new Document("_id", "$productId").append("count", new Document("$sum", 1))),
+                        context -> new Document("$merge", new Document("into", counts)
+                                .append("on", "_id")
+                                .append("whenMatched", "replace")
+                                .append("whenNotMatched", "insert"))),
+                favorites, Document.class);
+        mongoTemplate.aggregate(Aggregation.newAggregation(
+                        Aggregation.match(where("count").gt(0)),
+                        context -> new Document("$lookup", new Document("from", favorites)
+                                .append("let", new Document("productId", "$_id"))
+                                .append("pipeline", List.of(
+                                        new Document("$match", new Document("$expr", new Document("$eq", List.of("$productId", "$$productId")))),
+                                        new Document("$limit", 1)))
+                                .append("as", "favorites")),
+                        context -> new Document("$match", new Document("favorites", new Document("$size", 0))),
+                        context -> new Document("$project", new Document("count", new Document("$literal", 0))),
+                        context -> new Document("$merge", new Document("into", counts)
+                                .append("on", "_id")
+                                .append("whenMatched", "merge")
+                                .append("whenNotMatched", "discard"))),
+                counts, Document.class);
+    }
+
+    private static Query favorite(String productId, ObjectId clientId) {
+        return query(where("productId").is(productId).and("clientId").is(clientId));
+    }
+}
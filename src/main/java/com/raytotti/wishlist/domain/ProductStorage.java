@@ -0,0 +1,73 @@
+package com.raytotti.wishlist.domain;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Component
+public class ProductStorage implements BeforeConvertCallback<Wishlist> {
+
+    static final List<String> FIELDS = List.of("code", "description", "thumbnail", "price");
+
+    private final boolean compact;
+
+    private final Set<String> storedFields;
+
+    public ProductStorage(@Value("${wishlist.storage.compact.enabled:false}") boolean compact,
+                          @Value("${wishlist.storage.compact.fields:}") List<String> storedFields) {
+        this.compact = compact;
+        this.storedFields = new LinkedHashSet<>();
+        storedFields.stream().map(String::trim).filter(field -> !field.isEmpty()).forEach(field -> {
+            if (!FIELDS.contains(field)) {
+                throw new IllegalArgumentException("wishlist.storage.compact.fields aceita apenas " + FIELDS + ": " + field);
+            }
+            this.storedFields.add(field);
+        });
+        if (compact) {
+            log.info("ProductStorage -> ProductStorage: Produtos armazenados apenas com id e os campos {}.", this.storedFields);
+        }
+    }
+
+    public boolean isCompact() {
+        return compact;
+    }
+
+    public boolean stores(String field) {
+        return !compact || field.equals("_id") || storedFields.contains(field);
+    }
+
+    public List<String> storedFields() {
+        return compact ? List.copyOf(storedFields) : FIELDS;
+    }
+
+    public boolean isComplete(SimpleProduct product) {
+        return !compact || product.isComplete();
+    }
+
+    public SimpleProduct compact(SimpleProduct product) {
+        return compact ? product.retaining(storedFields) : product;
+    }
+
+    public Collection<SimpleProduct> compact(Collection<SimpleProduct> products) {
+        return compact ? products.stream().map(this::compact).toList() : products;
+    }
+
+    public Document compact(Document product) {
+        Document stored = new Document("_id", product.get("_id"));
+        storedFields.stream().filter(product::containsKey).forEach(field -> stored.append(field, product.get(field)));
+        return stored;
+    }
+
+    @Override
+    public Wishlist onBeforeConvert(Wishlist wishlist, String collection) {
+        return compact ? wishlist.withStoredProducts(this::compact) : wishlist;
+    }
+}
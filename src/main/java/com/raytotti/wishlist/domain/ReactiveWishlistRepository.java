@@ -0,0 +1,15 @@
+package com.raytotti.wishlist.domain;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveWishlistRepository extends ReactiveMongoRepository<Wishlist, String>, ReactiveWishlistRepositoryCustom {
+
+    public Mono<Wishlist> findByClientId(ObjectId clientId);
+
+    public Mono<Boolean> existsByClientId(ObjectId clientId);
+
+}
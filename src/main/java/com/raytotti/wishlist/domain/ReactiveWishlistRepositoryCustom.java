@@ -0,0 +1,18 @@
+package com.raytotti.wishlist.domain;
+
+import org.bson.types.ObjectId;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveWishlistRepositoryCustom {
+
+    Mono<Wishlist> pushProduct(ObjectId clientId, SimpleProduct product);
+
+    Mono<Wishlist> upsertProduct(ObjectId clientId, SimpleProduct product);
+
+    Mono<Wishlist> pullProduct(ObjectId clientId, String productId);
+
+    Mono<Boolean> deleteIfEmpty(String id);
+
+    Mono<Boolean> holdsProduct(ObjectId clientId, String productId);
+
+}
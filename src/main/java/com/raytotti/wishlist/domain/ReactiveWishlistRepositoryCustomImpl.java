@@ -0,0 +1,64 @@
+package com.raytotti.wishlist.domain;
+
+import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+@AllArgsConstructor
+public class ReactiveWishlistRepositoryCustomImpl implements ReactiveWishlistRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final ProductStorage storage;
+
+    private final WishlistOutbox outbox;
+
+    @Override
+    public Mono<Wishlist> pushProduct(ObjectId clientId, SimpleProduct product) {
+        return mongoTemplate.findAndModify(
+                WishlistUpdates.acceptsProduct(clientId, product.getId()),
+                outbox.append(WishlistUpdates.pushProduct(storage.compact(product)), WishlistChange.productAdded(product.getId())),
+                WishlistUpdates.RETURN_NEW,
+                Wishlist.class);
+    }
+
+    @Override
+    public Mono<Wishlist> upsertProduct(ObjectId clientId, SimpleProduct product) {
+        return mongoTemplate.findAndModify(
+                WishlistUpdates.acceptsProduct(clientId, product.getId()),
+                outbox.append(WishlistUpdates.pushProduct(storage.compact(product)), WishlistChange.productAdded(product.getId())),
+                WishlistUpdates.UPSERT,
+                Wishlist.class);
+    }
+
+    @Override
+    public Mono<Wishlist> pullProduct(ObjectId clientId, String productId) {
+        return mongoTemplate.findAndModify(
+                WishlistUpdates.holdsProduct(clientId, productId),
+                outbox.append(WishlistUpdates.pullProduct(productId), WishlistChange.productRemoved(productId)),
+                WishlistUpdates.RETURN_NEW,
+                Wishlist.class);
+    }
+
+    @Override
+    public Mono<Boolean> deleteIfEmpty(String id) {
+        Query query = WishlistUpdates.emptyWishlist(id);
+        if (outbox.isEnabled()) {
+            WishlistUpdates.withoutPendingChanges(query);
+        }
+        return mongoTemplate.remove(query, Wishlist.class)
+                .map(result -> result.getDeletedCount() > 0);
+    }
+
+    @Override
+    public Mono<Boolean> holdsProduct(ObjectId clientId, String productId) {
+        return mongoTemplate.findOne(
+                        WishlistUpdates.productProbe(clientId, productId),
+                        Document.class,
+                        mongoTemplate.getCollectionName(Wishlist.class))
+                .hasElement();
+    }
+}
@@ -9,6 +9,7 @@ import lombok.ToString;
 import org.springframework.data.annotation.Id;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.Objects;
 
 @Getter
@@ -38,6 +39,29 @@ public class SimpleProduct {
                 Objects.requireNonNull(price));
     }
 
+    SimpleProduct retaining(Collection<String> fields) {
+        return new SimpleProduct(
+                id,
+                fields.contains("code") ? code : null,
+                fields.contains("description") ? description : null,
+                fields.contains("thumbnail") ? thumbnail : null,
+                fields.contains("price") ? price : null);
+    }
+
+    Object field(String name) {
+        return switch (name) {
+            case "code" -> code;
+            case "description" -> description;
+            case "thumbnail" -> thumbnail;
+            case "price" -> price;
+            default -> throw new IllegalArgumentException(name);
+        };
+    }
+
+    boolean isComplete() {
+        return code != null && description != null && thumbnail != null && price != null;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
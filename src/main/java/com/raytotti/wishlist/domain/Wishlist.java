@@ -10,28 +10,42 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 
 @Document
+@CompoundIndexes({
+        @CompoundIndex(name = "clientId_productsId", def = "{'clientId': 1, 'products._id': 1}"),
+        @CompoundIndex(name = "productsId", def = "{'products._id': 1}"),
+        @CompoundIndex(name = "outboxId", def = "{'outbox._id': 1}", sparse = true)
+})
 @Getter
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class Wishlist {
 
+    public static final int MAX_PRODUCTS = 20;
+
     @Id
     private String id;
     @Indexed(unique = true)
     private ObjectId clientId;
     private Set<SimpleProduct> products = new LinkedHashSet<>();
+    @Version
+    private Long version;
 
     public void addProduct(@NotNull final SimpleProduct newProduct) {
-        if (this.products.size() == 20) {
+        if (this.products.size() >= MAX_PRODUCTS) {
             throw new MaxLimitProductException();
         }
         if (this.products.stream().anyMatch(product -> product.getId().equals(newProduct.getId()))) {
@@ -46,11 +60,28 @@ public class Wishlist {
         }
     }
 
+    public void hydrateProducts(@NotNull final Map<String, SimpleProduct> current) {
+        Set<SimpleProduct> hydrated = new LinkedHashSet<>();
+        this.products.forEach(product -> hydrated.add(current.getOrDefault(product.getId(), product)));
+        this.products = hydrated;
+    }
+
+    Wishlist withStoredProducts(@NotNull final UnaryOperator<SimpleProduct> storage) {
+        Set<SimpleProduct> stored = new LinkedHashSet<>();
+        this.products.forEach(product -> stored.add(storage.apply(product)));
+        return new Wishlist(id, clientId, stored, version);
+    }
+
+    public static Wishlist empty(@NotNull final String clientId) {
+        return new Wishlist(null, new ObjectId(clientId), new LinkedHashSet<>(), null);
+    }
+
     public static Wishlist of(@NotNull final String clientId, @NotNull final SimpleProduct product) {
         return new Wishlist(
                 null,
                 new ObjectId(clientId),
-                new LinkedHashSet<>(Collections.singleton(Objects.requireNonNull(product)))
+                new LinkedHashSet<>(Collections.singleton(Objects.requireNonNull(product))),
+                null
         );
     }
 
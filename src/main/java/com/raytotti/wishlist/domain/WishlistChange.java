@@ -0,0 +1,51 @@
+package com.raytotti.wishlist.domain;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+public record WishlistChange(ObjectId id, Type type, List<String> added, List<String> removed, Instant occurredAt) {
+
+    public enum Type {
+        PRODUCT_ADDED,
+        PRODUCT_REMOVED,
+        PRODUCTS_CHANGED
+    }
+
+    public static WishlistChange productAdded(String productId) {
+        return new WishlistChange(ObjectId.get(), Type.PRODUCT_ADDED, List.of(productId), List.of(), now());
+    }
+
+    public static WishlistChange productRemoved(String productId) {
+        return new WishlistChange(ObjectId.get(), Type.PRODUCT_REMOVED, List.of(), List.of(productId), now());
+    }
+
+    public static WishlistChange productsChanged(List<String> added, List<String> removed) {
+        return new WishlistChange(ObjectId.get(), Type.PRODUCTS_CHANGED, List.copyOf(added), List.copyOf(removed), now());
+    }
+
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    Document toDocument() {
+        return new Document("_id", id)
+                .append("type", type.name())
+                .append("added", added)
+                .append("removed", removed)
+                .append("occurredAt", Date.from(occurredAt));
+    }
+
+    static WishlistChange from(Document change) {
+        return new WishlistChange(
+                change.getObjectId("_id"),
+                Type.valueOf(change.getString("type")),
+                change.getList("added", String.class, List.of()),
+                change.getList("removed", String.class, List.of()),
+                change.getDate("occurredAt").toInstant());
+    }
+}
@@ -0,0 +1,45 @@
+package com.raytotti.wishlist.domain;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+@Document
+@CompoundIndexes({
+        @CompoundIndex(name = "clientId_sequence", def = "{'clientId': 1, 'sequence': 1}", unique = true),
+        @CompoundIndex(name = "publishedAt_id", def = "{'publishedAt': 1, '_id': 1}")
+})
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class WishlistEvent {
+
+    @Id
+    private String id;
+    @Indexed(unique = true)
+    private ObjectId changeId;
+    private ObjectId clientId;
+    private String wishlistId;
+    private long sequence;
+    private WishlistChange.Type type;
+    private List<String> added;
+    private List<String> removed;
+    private Instant occurredAt;
+    private Instant publishedAt;
+
+    public static WishlistEvent of(ObjectId clientId, String wishlistId, long sequence, WishlistChange change) {
+        return new WishlistEvent(null, change.id(), clientId, wishlistId, sequence, change.type(), change.added(), change.removed(), change.occurredAt(), null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.raytotti.wishlist.domain;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RepositoryRestResource(exported = false)
+public interface WishlistEventRepository extends MongoRepository<WishlistEvent, String>, WishlistEventRepositoryCustom {
+
+    public List<WishlistEvent> findByClientIdAndSequenceGreaterThanOrderBySequenceAsc(ObjectId clientId, long sequence, Pageable pageable);
+
+    public List<WishlistEvent> findByPublishedAtIsNullOrderByIdAsc(Pageable pageable);
+
+    public Optional<WishlistEvent> findFirstByClientIdOrderBySequenceDesc(ObjectId clientId);
+
+    public boolean existsByChangeId(ObjectId changeId);
+
+}
@@ -0,0 +1,10 @@
+package com.raytotti.wishlist.domain;
+
+import java.time.Instant;
+import java.util.Collection;
+
+public interface WishlistEventRepositoryCustom {
+
+    long markPublished(Collection<String> ids, Instant publishedAt);
+
+}
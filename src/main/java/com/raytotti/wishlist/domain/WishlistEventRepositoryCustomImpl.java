@@ -0,0 +1,25 @@
+package com.raytotti.wishlist.domain;
+
+import lombok.AllArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@AllArgsConstructor
+public class WishlistEventRepositoryCustomImpl implements WishlistEventRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public long markPublished(Collection<String> ids, Instant publishedAt) {
+        return mongoTemplate.updateMulti(
+                query(where("_id").in(ids).and("publishedAt").is(null)),
+                new Update().set("publishedAt", publishedAt),
+                WishlistEvent.class).getModifiedCount();
+    }
+}
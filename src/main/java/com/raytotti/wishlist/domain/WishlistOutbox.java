@@ -0,0 +1,43 @@
+package com.raytotti.wishlist.domain;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveCallback;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+public class WishlistOutbox implements BeforeSaveCallback<Wishlist> {
+
+    static final String FIELD = "outbox";
+
+    private final boolean enabled;
+
+    public WishlistOutbox(@Value("${wishlist.outbox.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+        if (enabled) {
+            log.info("WishlistOutbox -> WishlistOutbox: Alterações das wishlists registradas no outbox.");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Update append(Update update, WishlistChange change) {
+        return enabled && change != null ? update.push(FIELD, change.toDocument()) : update;
+    }
+
+    @Override
+    public Wishlist onBeforeSave(Wishlist wishlist, Document document, String collection) {
+        if (enabled && wishlist.getId() == null && !document.containsKey(FIELD)) {
+            List<String> added = wishlist.getProducts().stream().map(SimpleProduct::getId).toList();
+            document.append(FIELD, List.of(WishlistChange.productsChanged(added, List.of()).toDocument()));
+        }
+        return wishlist;
+    }
+}
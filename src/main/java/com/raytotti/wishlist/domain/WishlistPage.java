@@ -0,0 +1,8 @@
+package com.raytotti.wishlist.domain;
+
+import org.bson.types.ObjectId;
+
+import java.util.List;
+
+public record WishlistPage(String id, ObjectId clientId, Long version, List<SimpleProduct> products, int total, String nextCursor) {
+}
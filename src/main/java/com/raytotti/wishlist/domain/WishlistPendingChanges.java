@@ -0,0 +1,8 @@
+package com.raytotti.wishlist.domain;
+
+import org.bson.types.ObjectId;
+
+import java.util.List;
+
+public record WishlistPendingChanges(String wishlistId, ObjectId clientId, boolean empty, List<WishlistChange> changes) {
+}
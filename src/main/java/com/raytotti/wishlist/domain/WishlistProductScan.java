@@ -0,0 +1,6 @@
+package com.raytotti.wishlist.domain;
+
+import java.util.Set;
+
+public record WishlistProductScan(String lastWishlistId, Set<String> productIds) {
+}
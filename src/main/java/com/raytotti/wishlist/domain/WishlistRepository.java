@@ -7,10 +7,10 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
-public interface WishlistRepository extends MongoRepository<Wishlist, String> {
+public interface WishlistRepository extends MongoRepository<Wishlist, String>, WishlistRepositoryCustom {
 
     public Optional<Wishlist> findByClientId(ObjectId clientId);
 
-    public boolean existsByClientIdAndProductsId(ObjectId clientId, ObjectId productId);
+    public boolean existsByClientId(ObjectId clientId);
 
 }
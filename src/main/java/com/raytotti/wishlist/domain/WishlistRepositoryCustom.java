@@ -0,0 +1,56 @@
+package com.raytotti.wishlist.domain;
+
+import org.bson.types.ObjectId;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface WishlistRepositoryCustom {
+
+    Optional<Wishlist> pushProduct(ObjectId clientId, SimpleProduct product);
+
+    Optional<Wishlist> pushProduct(ObjectId clientId, SimpleProduct product, WishlistVersion expected);
+
+    Wishlist upsertProduct(ObjectId clientId, SimpleProduct product);
+
+    Optional<Wishlist> pullProduct(ObjectId clientId, String productId);
+
+    Optional<Wishlist> pullProduct(ObjectId clientId, String productId, WishlistVersion expected);
+
+    Optional<Wishlist> replaceProducts(WishlistVersion expected, Collection<SimpleProduct> products, WishlistChange change);
+
+    boolean deleteIfEmpty(String id);
+
+    boolean holdsProduct(ObjectId clientId, String productId);
+
+    Set<String> heldProducts(ObjectId clientId, Collection<String> productIds);
+
+    Optional<WishlistVersion> findVersionByClientId(ObjectId clientId);
+
+    Optional<WishlistSnapshot> findSnapshotByClientId(ObjectId clientId);
+
+    boolean storeSnapshot(WishlistVersion version, byte[] json);
+
+    Optional<WishlistProductScan> scanProductIds(String afterWishlistId, int limit);
+
+    Map<String, ObjectId> findStaleCopies(Collection<SimpleProduct> products);
+
+    long refreshProducts(Collection<SimpleProduct> products);
+
+    List<WishlistPendingChanges> findPendingChanges(int limit);
+
+    boolean drainChanges(String wishlistId, Collection<ObjectId> changeIds);
+
+    Map<ObjectId, Set<String>> findProductIdsByClientIds(Collection<ObjectId> clientIds);
+
+    Set<ObjectId> appendProducts(Map<ObjectId, List<SimpleProduct>> products);
+
+    Stream<Wishlist> streamAfter(String afterWishlistId, int batchSize);
+
+    Optional<WishlistPage> findPageByClientId(ObjectId clientId, WishlistView view, String cursor, int limit);
+
+}
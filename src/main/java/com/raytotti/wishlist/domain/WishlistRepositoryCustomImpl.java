@@ -0,0 +1,229 @@
+package com.raytotti.wishlist.domain;
+
+import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@AllArgsConstructor
+public class WishlistRepositoryCustomImpl implements WishlistRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ProductStorage storage;
+
+    private final WishlistOutbox outbox;
+
+    @Override
+    public Optional<Wishlist> pushProduct(ObjectId clientId, SimpleProduct product) {
+        return pushProduct(clientId, product, null);
+    }
+
+    @Override
+    public Optional<Wishlist> pushProduct(ObjectId clientId, SimpleProduct product, WishlistVersion expected) {
+        Query query = WishlistUpdates.acceptsProduct(clientId, product.getId());
+        if (expected != null) {
+            WishlistUpdates.atVersion(query, expected);
+        }
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query,
+                outbox.append(WishlistUpdates.pushProduct(storage.compact(product)), WishlistChange.productAdded(product.getId())),
+                WishlistUpdates.RETURN_NEW,
+                Wishlist.class));
+    }
+
+    @Override
+    public Wishlist upsertProduct(ObjectId clientId, SimpleProduct product) {
+        return mongoTemplate.findAndModify(
+                WishlistUpdates.acceptsProduct(clientId, product.getId()),
+                outbox.append(WishlistUpdates.pushProduct(storage.compact(product)), WishlistChange.productAdded(product.getId())),
+                WishlistUpdates.UPSERT,
+                Wishlist.class);
+    }
+
+    @Override
+    public Optional<Wishlist> pullProduct(ObjectId clientId, String productId) {
+        return pullProduct(clientId, productId, null);
+    }
+
+    @Override
+    public Optional<Wishlist> pullProduct(ObjectId clientId, String productId, WishlistVersion expected) {
+        Query query = WishlistUpdates.holdsProduct(clientId, productId);
+        if (expected != null) {
+            WishlistUpdates.atVersion(query, expected);
+        }
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query,
+                outbox.append(WishlistUpdates.pullProduct(productId), WishlistChange.productRemoved(productId)),
+                WishlistUpdates.RETURN_NEW,
+                Wishlist.class));
+    }
+
+    @Override
+    public Optional<Wishlist> replaceProducts(WishlistVersion expected, Collection<SimpleProduct> products, WishlistChange change) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                WishlistUpdates.atVersion(new Query(), expected),
+                outbox.append(WishlistUpdates.setProducts(storage.compact(products)), change),
+                WishlistUpdates.RETURN_NEW,
+                Wishlist.class));
+    }
+
+    @Override
+    public boolean deleteIfEmpty(String id) {
+        Query query = WishlistUpdates.emptyWishlist(id);
+        if (outbox.isEnabled()) {
+            WishlistUpdates.withoutPendingChanges(query);
+        }
+        return mongoTemplate.remove(query, Wishlist.class).getDeletedCount() > 0;
+    }
+
+    @Override
+    public List<WishlistPendingChanges> findPendingChanges(int limit) {
+        return mongoTemplate.find(
+                        WishlistUpdates.pendingChanges(limit),
+                        Document.class,
+                        mongoTemplate.getCollectionName(Wishlist.class))
+                .stream()
+                .map(WishlistUpdates::toPendingChanges)
+                .toList();
+    }
+
+    @Override
+    public boolean drainChanges(String wishlistId, Collection<ObjectId> changeIds) {
+        return mongoTemplate.updateFirst(
+                WishlistUpdates.byId(wishlistId),
+                WishlistUpdates.drainChanges(changeIds),
+                mongoTemplate.getCollectionName(Wishlist.class)).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean holdsProduct(ObjectId clientId, String productId) {
+        return mongoTemplate.findOne(
+                WishlistUpdates.productProbe(clientId, productId),
+                Document.class,
+                mongoTemplate.getCollectionName(Wishlist.class)) != null;
+    }
+
+    @Override
+    public Set<String> heldProducts(ObjectId clientId, Collection<String> productIds) {
+        Document projection = mongoTemplate.findOne(
+                WishlistUpdates.heldProducts(clientId, productIds),
+                Document.class,
+                mongoTemplate.getCollectionName(Wishlist.class));
+        return WishlistUpdates.heldProductIds(projection, productIds);
+    }
+
+    @Override
+    public Optional<WishlistVersion> findVersionByClientId(ObjectId clientId) {
+        return Optional.ofNullable(WishlistUpdates.toVersion(mongoTemplate.findOne(
+                WishlistUpdates.versionOf(clientId),
+                Document.class,
+                mongoTemplate.getCollectionName(Wishlist.class))));
+    }
+
+    @Override
+    public Optional<WishlistSnapshot> findSnapshotByClientId(ObjectId clientId) {
+        return Optional.ofNullable(WishlistUpdates.toSnapshot(mongoTemplate.findOne(
+                WishlistUpdates.snapshotOf(clientId),
+                Document.class,
+                mongoTemplate.getCollectionName(Wishlist.class))));
+    }
+
+    @Override
+    public boolean storeSnapshot(WishlistVersion version, byte[] json) {
+        return mongoTemplate.updateFirst(
+                WishlistUpdates.atVersion(new Query(), version),
+                WishlistUpdates.setSnapshot(version, json),
+                mongoTemplate.getCollectionName(Wishlist.class)).getModifiedCount() > 0;
+    }
+
+    @Override
+    public Map<ObjectId, Set<String>> findProductIdsByClientIds(Collection<ObjectId> clientIds) {
+        return WishlistUpdates.toProductsOfClients(mongoTemplate.find(
+                WishlistUpdates.productsOfClients(clientIds),
+                Document.class,
+                mongoTemplate.getCollectionName(Wishlist.class)));
+    }
+
+    @Override
+    public Set<ObjectId> appendProducts(Map<ObjectId, List<SimpleProduct>> products) {
+        if (products.isEmpty()) {
+            return Set.of();
+        }
+        List<ObjectId> clientIds = new ArrayList<>(products.keySet());
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Wishlist.class);
+        clientIds.forEach(clientId -> operations.upsert(
+                WishlistUpdates.acceptsProducts(clientId, products.get(clientId)),
+                outbox.append(
+                        WishlistUpdates.appendProducts(List.copyOf(storage.compact(products.get(clientId)))),
+                        WishlistChange.productsChanged(products.get(clientId).stream().map(SimpleProduct::getId).toList(), List.of()))));
+        try {
+            operations.execute();
+            return Set.of();
+        } catch (BulkOperationException e) {
+            Set<ObjectId> failed = new HashSet<>();
+            e.getErrors().forEach(error -> failed.add(clientIds.get(error.getIndex())));
+            return failed;
+        }
+    }
+
+    @Override
+    public Stream<Wishlist> streamAfter(String afterWishlistId, int batchSize) {
+        return mongoTemplate.stream(WishlistUpdates.exportScan(afterWishlistId, batchSize), Wishlist.class);
+    }
+
+    @Override
+    public Optional<WishlistPage> findPageByClientId(ObjectId clientId, WishlistView view, String cursor, int limit) {
+        Document page = mongoTemplate.aggregate(
+                WishlistUpdates.page(clientId, view, cursor, limit),
+                mongoTemplate.getCollectionName(Wishlist.class),
+                Document.class).getUniqueMappedResult();
+        return Optional.ofNullable(WishlistUpdates.toPage(page, cursor, limit,
+                product -> mongoTemplate.getConverter().read(SimpleProduct.class, product)));
+    }
+
+    @Override
+    public Optional<WishlistProductScan> scanProductIds(String afterWishlistId, int limit) {
+        return Optional.ofNullable(WishlistUpdates.toProductScan(mongoTemplate.find(
+                WishlistUpdates.productScan(afterWishlistId, limit),
+                Document.class,
+                mongoTemplate.getCollectionName(Wishlist.class))));
+    }
+
+    @Override
+    public Map<String, ObjectId> findStaleCopies(Collection<SimpleProduct> products) {
+        List<String> fields = storage.storedFields();
+        if (products.isEmpty() || fields.isEmpty()) {
+            return Map.of();
+        }
+        return WishlistUpdates.toClientIdsByWishlistId(mongoTemplate.find(
+                WishlistUpdates.staleCopies(products, fields),
+                Document.class,
+                mongoTemplate.getCollectionName(Wishlist.class)));
+    }
+
+    @Override
+    public long refreshProducts(Collection<SimpleProduct> products) {
+        List<String> fields = storage.storedFields();
+        if (products.isEmpty() || fields.isEmpty()) {
+            return 0;
+        }
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Wishlist.class);
+        products.forEach(product -> operations.updateMulti(
+                WishlistUpdates.staleCopies(product, fields),
+                WishlistUpdates.refreshProduct(product, fields)));
+        return operations.execute().getModifiedCount();
+    }
+}
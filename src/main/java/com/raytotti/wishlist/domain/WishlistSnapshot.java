@@ -0,0 +1,8 @@
+package com.raytotti.wishlist.domain;
+
+public record WishlistSnapshot(String id, Long version, byte[] json) {
+
+    public boolean isCurrent() {
+        return json != null;
+    }
+}
@@ -0,0 +1,309 @@
+package com.raytotti.wishlist.domain;
+
+import com.raytotti.wishlist.exception.InvalidCursorException;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+final class WishlistUpdates {
+
+    static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    static final FindAndModifyOptions UPSERT = FindAndModifyOptions.options().returnNew(true).upsert(true);
+
+    private WishlistUpdates() {
+    }
+
+    static Query acceptsProduct(ObjectId clientId, String productId) {
+        return query(where("clientId").is(clientId)
+                .and("products." + (Wishlist.MAX_PRODUCTS - 1)).exists(false)
+                .and("products._id").ne(productKey(productId)));
+    }
+
+    static Update pushProduct(SimpleProduct product) {
+        return new Update().push("products", product).inc("version", 1);
+    }
+
+    static Query holdsProduct(ObjectId clientId, String productId) {
+        return query(where("clientId").is(clientId).and("products._id").is(productKey(productId)));
+    }
+
+    static Query productProbe(ObjectId clientId, String productId) {
+        Query query = holdsProduct(clientId, productId).limit(1);
+        query.fields().include("clientId").exclude("_id");
+        return query;
+    }
+
+    static Query heldProducts(ObjectId clientId, Collection<String> productIds) {
+        List<Object> productKeys = productIds.stream().map(WishlistUpdates::productKey).toList();
+        Query query = query(where("clientId").is(clientId).and("products._id").in(productKeys));
+        query.fields().include("products._id").exclude("_id");
+        return query;
+    }
+
+    static Set<String> heldProductIds(Document projection, Collection<String> productIds) {
+        Set<String> held = projection == null ? Set.of() : heldProductIds(projection);
+        Set<String> result = new LinkedHashSet<>(productIds);
+        result.retainAll(held);
+        return result;
+    }
+
+    private static Set<String> heldProductIds(Document projection) {
+        Set<String> held = new HashSet<>();
+        for (Document product : projection.getList("products", Document.class, List.of())) {
+            Object key = product.get("_id");
+            held.add(key instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(key));
+        }
+        return held;
+    }
+
+    static Update pullProduct(String productId) {
+        return new Update().pull("products", new Document("_id", productKey(productId))).inc("version", 1);
+    }
+
+    static Query atVersion(Query query, WishlistVersion expected) {
+        Criteria criteria = where("_id").is(expected.id());
+        if (expected.version() == null || expected.version() == 0) {
+            criteria.and("version").in(0L, null);
+        } else {
+            criteria.and("version").is(expected.version());
+        }
+        return query.addCriteria(criteria);
+    }
+
+    static Query versionOf(ObjectId clientId) {
+        Query query = query(where("clientId").is(clientId));
+        query.fields().include("_id").include("version");
+        return query;
+    }
+
+    static WishlistVersion toVersion(Document projection) {
+        if (projection == null) {
+            return null;
+        }
+        Object id = projection.get("_id");
+        Number version = projection.get("version", Number.class);
+        return new WishlistVersion(
+                id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id),
+                version == null ? null : version.longValue());
+    }
+
+    static Query snapshotOf(ObjectId clientId) {
+        Query query = versionOf(clientId);
+        query.fields().include("snapshot");
+        return query;
+    }
+
+    static WishlistSnapshot toSnapshot(Document projection) {
+        WishlistVersion current = toVersion(projection);
+        if (current == null) {
+            return null;
+        }
+        Document snapshot = projection.get("snapshot", Document.class);
+        if (snapshot == null || versionNumber(snapshot.get("version")) != versionNumber(current.version())) {
+            return new WishlistSnapshot(current.id(), current.version(), null);
+        }
+        Object json = snapshot.get("json");
+        return new WishlistSnapshot(current.id(), current.version(),
+                json instanceof Binary binary ? binary.getData() : (byte[]) json);
+    }
+
+    static Update setSnapshot(WishlistVersion version, byte[] json) {
+        return new Update().set("snapshot", new Document("version", versionNumber(version.version())).append("json", new Binary(json)));
+    }
+
+    private static long versionNumber(Object version) {
+        return version instanceof Number number ? number.longValue() : 0;
+    }
+
+    static Aggregation page(ObjectId clientId, WishlistView view, String cursor, int limit) {
+        Object start = cursor == null
+                ? 0
+                : new Document("$add", List.of(new Document("$indexOfArray", List.of("$products._id", productKey(cursor))), 1));
+        Document window = new Document("$slice", List.of("$products", "$start", limit + 1));
+        Document products = view == WishlistView.FULL ? window : new Document("$map", new Document("input", window)
+                .append("as", "product")
+                .append("in", productFields(view)));
+        return Aggregation.newAggregation(
+                Aggregation.match(where("clientId").is(clientId)),
+                context -> new Document("$project", new Document("clientId", 1)
+                        .append("version", 1)
+                        .append("products", 1)
+                        .append("total", new Document("$size", new Document("$ifNull", List.of("$products", List.of()))))
+                        .append("start", start)),
+                context -> new Document("$project", new Document("clientId", 1)
+                        .append("version", 1)
+                        .append("total", 1)
+                        .append("start", 1)
+                        .append("products", products)));
+    }
+
+    private static Document productFields(WishlistView view) {
+        Document fields = new Document();
+        view.fields().forEach(field -> fields.append(field, "$$product." + field));
+        return fields;
+    }
+
+    static WishlistPage toPage(Document page, String cursor, int limit, Function<Document, SimpleProduct> reader) {
+        if (page == null) {
+            return null;
+        }
+        if (cursor != null && page.get("start", Number.class).intValue() == 0) {
+            throw new InvalidCursorException();
+        }
+        List<SimpleProduct> products = page.getList("products", Document.class, List.of()).stream().map(reader).toList();
+        String nextCursor = null;
+        if (products.size() > limit) {
+            products = products.subList(0, limit);
+            nextCursor = products.get(limit - 1).getId();
+        }
+        Object id = page.get("_id");
+        Number version = page.get("version", Number.class);
+        return new WishlistPage(
+                id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id),
+                page.get("clientId", ObjectId.class),
+                version == null ? null : version.longValue(),
+                products,
+                page.get("total", Number.class).intValue(),
+                nextCursor);
+    }
+
+    static Query staleCopies(SimpleProduct product, List<String> fields) {
+        return query(staleCopy(product, fields));
+    }
+
+    static Query staleCopies(Collection<SimpleProduct> products, List<String> fields) {
+        Query query = query(new Criteria().orOperator(products.stream()
+                .map(product -> staleCopy(product, fields))
+                .toArray(Criteria[]::new)));
+        query.fields().include("_id").include("clientId");
+        return query;
+    }
+
+    private static Criteria staleCopy(SimpleProduct product, List<String> fields) {
+        Criteria[] changed = fields.stream()
+                .map(field -> where(field).ne(product.field(field)))
+                .toArray(Criteria[]::new);
+        return where("products").elemMatch(where("_id").is(productKey(product.getId())).orOperator(changed));
+    }
+
+    static Map<String, ObjectId> toClientIdsByWishlistId(List<Document> wishlists) {
+        Map<String, ObjectId> clientIds = new LinkedHashMap<>();
+        wishlists.forEach(wishlist -> {
+            Object id = wishlist.get("_id");
+            clientIds.put(id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id), wishlist.get("clientId", ObjectId.class));
+        });
+        return clientIds;
+    }
+
+    static Update refreshProduct(SimpleProduct product, List<String> fields) {
+        Update update = new Update();
+        fields.forEach(field -> update.set("products.$[product]." + field, product.field(field)));
+        return update.inc("version", 1).filterArray(where("product._id").is(productKey(product.getId())));
+    }
+
+    static Query productScan(String afterWishlistId, int limit) {
+        Query query = afterWishlistId == null ? new Query() : query(where("_id").gt(productKey(afterWishlistId)));
+        query.with(Sort.by("_id")).limit(limit);
+        query.fields().include("_id").include("products._id");
+        return query;
+    }
+
+    static WishlistProductScan toProductScan(List<Document> wishlists) {
+        if (wishlists.isEmpty()) {
+            return null;
+        }
+        Set<String> productIds = new LinkedHashSet<>();
+        wishlists.forEach(wishlist -> productIds.addAll(heldProductIds(wishlist)));
+        Object lastId = wishlists.get(wishlists.size() - 1).get("_id");
+        return new WishlistProductScan(lastId instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(lastId), productIds);
+    }
+
+    static Query productsOfClients(Collection<ObjectId> clientIds) {
+        Query query = query(where("clientId").in(clientIds));
+        query.fields().include("clientId").include("products._id").exclude("_id");
+        return query;
+    }
+
+    static Map<ObjectId, Set<String>> toProductsOfClients(List<Document> wishlists) {
+        Map<ObjectId, Set<String>> products = new HashMap<>();
+        wishlists.forEach(wishlist -> products.put(wishlist.get("clientId", ObjectId.class), heldProductIds(wishlist)));
+        return products;
+    }
+
+    static Query acceptsProducts(ObjectId clientId, List<SimpleProduct> products) {
+        List<Object> productKeys = products.stream().map(product -> productKey(product.getId())).toList();
+        return query(where("clientId").is(clientId)
+                .and("products." + (Wishlist.MAX_PRODUCTS - products.size())).exists(false)
+                .and("products._id").nin(productKeys));
+    }
+
+    static Update appendProducts(List<SimpleProduct> products) {
+        return new Update().push("products").each(products.toArray()).inc("version", 1);
+    }
+
+    static Query exportScan(String afterWishlistId, int batchSize) {
+        Query query = afterWishlistId == null ? new Query() : query(where("_id").gt(productKey(afterWishlistId)));
+        query.with(Sort.by("_id")).cursorBatchSize(batchSize);
+        query.fields().include("clientId").include("products").include("version");
+        return query;
+    }
+
+    static Update setProducts(Collection<SimpleProduct> products) {
+        return new Update().set("products", products).inc("version", 1);
+    }
+
+    static Query emptyWishlist(String id) {
+        return query(where("_id").is(id).and("products").size(0));
+    }
+
+    static Query byId(String id) {
+        return query(where("_id").is(id));
+    }
+
+    static Query withoutPendingChanges(Query query) {
+        return query.addCriteria(where(WishlistOutbox.FIELD + ".0").exists(false));
+    }
+
+    static Query pendingChanges(int limit) {
+        Query query = query(where(WishlistOutbox.FIELD + "._id").exists(true)).limit(limit);
+        query.fields().include("_id").include("clientId").include("products._id").include(WishlistOutbox.FIELD);
+        return query;
+    }
+
+    static WishlistPendingChanges toPendingChanges(Document wishlist) {
+        Object id = wishlist.get("_id");
+        return new WishlistPendingChanges(
+                id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id),
+                wishlist.get("clientId", ObjectId.class),
+                wishlist.getList("products", Document.class, List.of()).isEmpty(),
+                wishlist.getList(WishlistOutbox.FIELD, Document.class, List.of()).stream().map(WishlistChange::from).toList());
+    }
+
+    static Update drainChanges(Collection<ObjectId> changeIds) {
+        return new Update().pull(WishlistOutbox.FIELD, new Document("_id", new Document("$in", List.copyOf(changeIds))));
+    }
+
+    static Object productKey(String productId) {
+        return ObjectId.isValid(productId) ? new ObjectId(productId) : productId;
+    }
+}
@@ -0,0 +1,4 @@
+package com.raytotti.wishlist.domain;
+
+public record WishlistVersion(String id, Long version) {
+}
@@ -0,0 +1,24 @@
+package com.raytotti.wishlist.domain;
+
+import java.util.List;
+
+public enum WishlistView {
+
+    IDS(List.of("_id")),
+    SUMMARY(List.of("_id", "code", "price")),
+    FULL(List.of("_id", "code", "description", "thumbnail", "price"));
+
+    private final List<String> fields;
+
+    WishlistView(List<String> fields) {
+        this.fields = fields;
+    }
+
+    public List<String> fields() {
+        return fields;
+    }
+
+    public SimpleProduct project(SimpleProduct product) {
+        return this == FULL ? product : product.retaining(fields);
+    }
+}
@@ -0,0 +1,9 @@
+package com.raytotti.wishlist.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "Wishlist.cursor.invalid")
+public class InvalidCursorException extends RuntimeException {
+
+}
@@ -0,0 +1,9 @@
+package com.raytotti.wishlist.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.PRECONDITION_FAILED, reason = "Wishlist.version.mismatch")
+public class PreconditionFailedException extends RuntimeException {
+
+}
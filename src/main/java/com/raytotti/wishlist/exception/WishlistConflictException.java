@@ -0,0 +1,9 @@
+package com.raytotti.wishlist.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.CONFLICT, reason = "Wishlist.conflict")
+public class WishlistConflictException extends RuntimeException {
+
+}
@@ -0,0 +1,130 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.service.ClientService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Slf4j
+@Primary
+@Service
+@Profile("!reactive")
+@ConditionalOnProperty(name = "cache.client.enabled", havingValue = "true", matchIfMissing = true)
+public class CachedClientService implements ClientService {
+
+    static final String CACHE_NAME = "clients";
+
+    private final LoadingCache<String, Boolean> cache;
+
+    private final Executor executor;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ClientIdBloomFilter bloomFilter;
+
+    private final boolean warmUp;
+
+    public CachedClientService(ClientServiceImpl delegate,
+                               MeterRegistry meterRegistry,
+                               @Qualifier("applicationTaskExecutor") Executor executor,
+                               MongoTemplate mongoTemplate,
+                               @Value("${cache.client.maximum-size:100000}") long maximumSize,
+                               @Value("${cache.client.positive-ttl:1h}") Duration positiveTtl,
+                               @Value("${cache.client.negative-ttl:30s}") Duration negativeTtl,
+                               @Value("${cache.client.bloom-filter.enabled:false}") boolean bloomFilterEnabled,
+                               @Value("${cache.client.bloom-filter.expected-insertions:1000000}") long expectedInsertions,
+                               @Value("${cache.client.bloom-filter.false-positive-probability:0.001}") double falsePositiveProbability,
+                               @Value("${cache.client.bloom-filter.warm-up:false}") boolean warmUp) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExistenceExpiry(positiveTtl, negativeTtl))
+                .executor(executor)
+                .recordStats()
+                .build(delegate::existsClientId);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.executor = executor;
+        this.mongoTemplate = mongoTemplate;
+        this.bloomFilter = bloomFilterEnabled ? new ClientIdBloomFilter(expectedInsertions, falsePositiveProbability) : null;
+        this.warmUp = bloomFilterEnabled && warmUp;
+    }
+
+    @Override
+    public boolean existsClientId(final String clientId) {
+        if (bloomFilter != null && bloomFilter.mightContain(clientId)) {
+            log.debug("CachedClientService -> existsClientId: Cliente com id {} encontrado no bloom filter.", clientId);
+            return true;
+        }
+
+        boolean exists = Boolean.TRUE.equals(cache.get(clientId));
+        if (exists && bloomFilter != null) {
+            bloomFilter.put(clientId);
+        }
+        return exists;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmUp) {
+            loadKnownClients();
+        }
+    }
+
+    CompletableFuture<Void> loadKnownClients() {
+        return CompletableFuture.runAsync(() -> {
+            log.info("CachedClientService -> warmUp: Carregando ids de clientes com Wishlist no bloom filter.");
+            Query query = new Query();
+            query.fields().include("clientId").exclude("_id");
+            AtomicLong loaded = new AtomicLong();
+            try (Stream<Document> clients = mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(Wishlist.class))) {
+                clients.map(document -> document.get("clientId", ObjectId.class))
+                        .forEach(clientId -> {
+                            bloomFilter.put(clientId.toHexString());
+                            loaded.incrementAndGet();
+                        });
+            } catch (Exception e) {
+                log.error("CachedClientService -> warmUp: error: {}", e.getMessage());
+            }
+            log.info("CachedClientService -> warmUp: {} ids de clientes carregados.", loaded.get());
+        }, executor);
+    }
+
+    private record ExistenceExpiry(Duration positiveTtl, Duration negativeTtl) implements Expiry<String, Boolean> {
+
+        @Override
+        public long expireAfterCreate(String key, Boolean exists, long currentTime) {
+            return (Boolean.TRUE.equals(exists) ? positiveTtl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Boolean exists, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, exists, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Boolean exists, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+@Slf4j
+@Primary
+@Service
+@Profile("!reactive")
+@ConditionalOnProperty(name = "cache.product.enabled", havingValue = "true", matchIfMissing = true)
+public class CachedProductService implements ProductService {
+
+    static final String CACHE_NAME = "products";
+
+    private final LoadingCache<String, SimpleProduct> cache;
+
+    public CachedProductService(ProductServiceImpl delegate,
+                                MeterRegistry meterRegistry,
+                                @Qualifier("applicationTaskExecutor") Executor executor,
+                                @Value("${cache.product.maximum-size:10000}") long maximumSize,
+                                @Value("${cache.product.expire-after-write:10m}") Duration expireAfterWrite,
+                                @Value("${cache.product.refresh-after-write:8m}") Duration refreshAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .refreshAfterWrite(refreshAfterWrite)
+                .executor(executor)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public SimpleProduct load(String productId) {
+                        return delegate.getProductById(productId);
+                    }
+
+                    @Override
+                    public Map<String, SimpleProduct> loadAll(Set<? extends String> productIds) {
+                        return delegate.getProductsByIds(new ArrayList<>(productIds));
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public SimpleProduct getProductById(final String productId) {
+        log.debug("CachedProductService -> getProductById: Solicitado get do produto com id {}", productId);
+        return cache.get(productId);
+    }
+
+    @Override
+    public Map<String, SimpleProduct> getProductsByIds(final Collection<String> productIds) {
+        log.debug("CachedProductService -> getProductsByIds: Solicitado get de {} produtos", productIds.size());
+        return cache.getAll(productIds);
+    }
+}
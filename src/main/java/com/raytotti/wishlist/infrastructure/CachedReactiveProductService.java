@@ -0,0 +1,71 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.service.ReactiveProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@Slf4j
+@Primary
+@Service
+@Profile("reactive")
+@ConditionalOnProperty(name = "cache.product.enabled", havingValue = "true", matchIfMissing = true)
+public class CachedReactiveProductService implements ReactiveProductService {
+
+    static final String CACHE_NAME = "products";
+
+    private final AsyncLoadingCache<String, SimpleProduct> cache;
+
+    public CachedReactiveProductService(ReactiveProductServiceImpl delegate,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${cache.product.maximum-size:10000}") long maximumSize,
+                                        @Value("${cache.product.expire-after-write:10m}") Duration expireAfterWrite,
+                                        @Value("${cache.product.refresh-after-write:8m}") Duration refreshAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .refreshAfterWrite(refreshAfterWrite)
+                .recordStats()
+                .buildAsync(new AsyncCacheLoader<>() {
+                    @Override
+                    public CompletableFuture<? extends SimpleProduct> asyncLoad(String productId, Executor executor) {
+                        return delegate.getProductById(productId).toFuture();
+                    }
+
+                    @Override
+                    public CompletableFuture<? extends Map<? extends String, ? extends SimpleProduct>> asyncLoadAll(Set<? extends String> productIds, Executor executor) {
+                        return delegate.getProductsByIds(Set.copyOf(productIds)).toFuture();
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+    }
+
+    @Override
+    public Mono<SimpleProduct> getProductById(final String productId) {
+        log.debug("CachedReactiveProductService -> getProductById: Solicitado get do produto com id {}", productId);
+        return Mono.fromFuture(() -> cache.get(productId), true);
+    }
+
+    @Override
+    public Mono<Map<String, SimpleProduct>> getProductsByIds(final Collection<String> productIds) {
+        log.debug("CachedReactiveProductService -> getProductsByIds: Solicitado get de {} produtos", productIds.size());
+        return Mono.fromFuture(() -> cache.getAll(productIds), true);
+    }
+}
@@ -1,43 +1,61 @@
 package com.raytotti.wishlist.infrastructure;
 
 import com.raytotti.wishlist.exception.ClientNotFoundException;
+import com.raytotti.wishlist.exception.DownstreamUnavailableException;
 import com.raytotti.wishlist.service.ClientService;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 @Slf4j
 @Service
+@Profile("!reactive")
 public class ClientServiceImpl implements ClientService {
 
     private final RestTemplate restTemplate;
 
+    private final DownstreamCall downstream;
+
     private final String URL;
 
     private final String GET_URI;
 
     public ClientServiceImpl(RestTemplate restTemplate,
+                             @Qualifier("clientDownstream") DownstreamCall downstream,
                              @Value("${external-api.url-client}") String URL,
                              @Value("${external-api.get-exists}") String GET_URI) {
         this.restTemplate = restTemplate;
+        this.downstream = downstream;
         this.URL = URL;
         this.GET_URI = GET_URI;
     }
 
     @Override
     public boolean existsClientId(final String id) {
-        log.info("ClientServiceImpl -> existsClientId: Solicitado a verificação do cliente com id {}", id);
+        log.debug("ClientServiceImpl -> existsClientId: Solicitado a verificação do cliente com id {}", id);
 
         String url = URL + GET_URI;
-        log.info("ClientServiceImpl -> existsClientId: URL {}", url);
+        log.debug("ClientServiceImpl -> existsClientId: URL {}", url);
 
         ResponseEntity<Boolean> response;
         try {
-            response = restTemplate.getForEntity(url, Boolean.class, id);
-            log.info("ClientServiceImpl -> existsClientId: response {}", response);
+            response = downstream.execute("existsClientId", () -> restTemplate.getForEntity(url, Boolean.class, id));
+            log.debug("ClientServiceImpl -> existsClientId: response {}", response);
 
+        } catch (HttpClientErrorException.NotFound e) {
+            log.debug("ClientServiceImpl -> existsClientId: cliente com id {} não existe.", id);
+            return false;
+        } catch (CallNotPermittedException | BulkheadFullException | ResourceAccessException e) {
+            log.info("ClientServiceImpl -> existsClientId: indisponível: {}", e.getMessage());
+            throw new DownstreamUnavailableException();
         } catch (Exception e) {
             log.info("ClientServiceImpl -> existsClientId: error {}", e.getMessage());
             throw new ClientNotFoundException();
@@ -0,0 +1,79 @@
+package com.raytotti.wishlist.infrastructure;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+@Getter
+@AllArgsConstructor
+public class DownstreamCall {
+
+    static final String METRIC = "wishlist.downstream";
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final Bulkhead bulkhead;
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> T execute(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Throwable error = null;
+        try {
+            return circuitBreaker.executeSupplier(Bulkhead.decorateSupplier(bulkhead, call));
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            sample.stop(timer(operation, error));
+        }
+    }
+
+    public <T> Mono<T> decorate(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call.transformDeferred(BulkheadOperator.of(bulkhead))
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                    .doOnSuccess(value -> sample.stop(timer(operation, null)))
+                    .doOnError(error -> sample.stop(timer(operation, error)));
+        });
+    }
+
+    private Timer timer(String operation, Throwable error) {
+        return Timer.builder(METRIC)
+                .tag("downstream", circuitBreaker.getName())
+                .tag("operation", operation)
+                .tag("outcome", outcome(error))
+                .tag("exception", error == null ? "none" : error.getClass().getSimpleName())
+                .register(meterRegistry);
+    }
+
+    static String outcome(Throwable error) {
+        if (error == null) {
+            return "SUCCESS";
+        }
+        if (error instanceof CallNotPermittedException || error instanceof BulkheadFullException
+                || error instanceof ResourceAccessException || error instanceof WebClientRequestException) {
+            return "UNAVAILABLE";
+        }
+        if (error instanceof HttpClientErrorException
+                || error instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()) {
+            return "CLIENT_ERROR";
+        }
+        return "ERROR";
+    }
+}
@@ -0,0 +1,92 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.raytotti.wishlist.configuration.BoundedExecutor;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+
+@Configuration
+public class DownstreamConfig {
+
+    public static final String PRODUCT = "product";
+
+    public static final String CLIENT = "client";
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(
+            @Value("${downstream.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${downstream.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+            @Value("${downstream.circuit-breaker.slow-call-duration-threshold:1s}") Duration slowCallDurationThreshold,
+            @Value("${downstream.circuit-breaker.sliding-window-size:50}") int slidingWindowSize,
+            @Value("${downstream.circuit-breaker.minimum-number-of-calls:20}") int minimumNumberOfCalls,
+            @Value("${downstream.circuit-breaker.wait-duration-in-open-state:10s}") Duration waitDurationInOpenState) {
+        return CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(slowCallDurationThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitDurationInOpenState)
+                .ignoreExceptions(HttpClientErrorException.class, BulkheadFullException.class)
+                .build());
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(
+            @Value("${downstream.bulkhead.max-concurrent-calls:50}") int maxConcurrentCalls,
+            @Value("${downstream.bulkhead.max-wait-duration:0s}") Duration maxWaitDuration) {
+        return BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWaitDuration)
+                .build());
+    }
+
+    @Bean
+    public DownstreamCall productDownstream(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry, MeterRegistry meterRegistry) {
+        return new DownstreamCall(circuitBreakerRegistry.circuitBreaker(PRODUCT), bulkheadRegistry.bulkhead(PRODUCT), meterRegistry);
+    }
+
+    @Bean
+    public DownstreamCall clientDownstream(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry, MeterRegistry meterRegistry) {
+        return new DownstreamCall(circuitBreakerRegistry.circuitBreaker(CLIENT), bulkheadRegistry.bulkhead(CLIENT), meterRegistry);
+    }
+
+    @Bean
+    public BoundedExecutor productLookupExecutor(
+            @Value("${external-api.products-batch.executor.pool-size:16}") int poolSize,
+            @Value("${external-api.products-batch.executor.queue-capacity:200}") int queueCapacity,
+            TaskDecorator taskDecorator) {
+        return new BoundedExecutor("product-lookup-", poolSize, queueCapacity, taskDecorator);
+    }
+
+    @Bean
+    public BoundedExecutor productCoalesceExecutor(
+            @Value("${external-api.products-batch.coalesce-executor.pool-size:4}") int poolSize,
+            @Value("${external-api.products-batch.coalesce-executor.queue-capacity:100}") int queueCapacity,
+            TaskDecorator taskDecorator) {
+        return new BoundedExecutor("product-coalesce-", poolSize, queueCapacity, taskDecorator);
+    }
+
+    @Bean
+    public MeterBinder circuitBreakerMetrics(CircuitBreakerRegistry circuitBreakerRegistry) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry);
+    }
+
+    @Bean
+    public MeterBinder bulkheadMetrics(BulkheadRegistry bulkheadRegistry) {
+        return TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry);
+    }
+}
@@ -0,0 +1,68 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raytotti.wishlist.domain.WishlistEvent;
+import com.raytotti.wishlist.service.WishlistEventSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "wishlist.outbox.sink", havingValue = "file")
+public class FileWishlistEventSink implements WishlistEventSink {
+
+    private final ObjectMapper objectMapper;
+
+    private final Path path;
+
+    public FileWishlistEventSink(ObjectMapper objectMapper,
+                                 @Value("${wishlist.outbox.file.path:wishlist-events.jsonl}") Path path) {
+        this.objectMapper = objectMapper;
+        this.path = path;
+        log.info("FileWishlistEventSink -> FileWishlistEventSink: Eventos das wishlists gravados em {}.", path.toAbsolutePath());
+    }
+
+    @Override
+    public synchronized void publish(List<WishlistEvent> events) {
+        StringBuilder lines = new StringBuilder();
+        for (WishlistEvent event : events) {
+            try {
+                lines.append(objectMapper.writeValueAsString(line(event))).append('\n');
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Falha ao serializar o evento " + event.getChangeId(), e);
+            }
+        }
+        try {
+            Files.writeString(path, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("FileWishlistEventSink -> publish: {} eventos gravados.", events.size());
+    }
+
+    private static Map<String, Object> line(WishlistEvent event) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("id", event.getChangeId().toHexString());
+        line.put("clientId", event.getClientId().toHexString());
+        line.put("wishlistId", event.getWishlistId());
+        line.put("sequence", event.getSequence());
+        line.put("type", event.getType());
+        line.put("added", event.getAdded());
+        line.put("removed", event.getRemoved());
+        line.put("occurredAt", event.getOccurredAt().toString());
+        return line;
+    }
+}
@@ -0,0 +1,41 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.raytotti.wishlist.domain.WishlistEvent;
+import com.raytotti.wishlist.service.WishlistEventSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "wishlist.outbox.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryWishlistEventSink implements WishlistEventSink {
+
+    private final int capacity;
+
+    private final Deque<WishlistEvent> events = new ArrayDeque<>();
+
+    public InMemoryWishlistEventSink(@Value("${wishlist.outbox.memory.capacity:1000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<WishlistEvent> published) {
+        published.forEach(event -> {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        });
+        log.info("InMemoryWishlistEventSink -> publish: {} eventos publicados.", published.size());
+    }
+
+    public synchronized List<WishlistEvent> events() {
+        return List.copyOf(events);
+    }
+}
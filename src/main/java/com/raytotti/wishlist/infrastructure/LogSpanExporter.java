@@ -0,0 +1,44 @@
+package com.raytotti.wishlist.infrastructure;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "wishlist.tracing.exporter", havingValue = "log")
+public class LogSpanExporter implements SpanExporter {
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        if (log.isInfoEnabled()) {
+            for (SpanData span : spans) {
+                log.info("LogSpanExporter -> export: traceId={} spanId={} parentSpanId={} name=\"{}\" kind={} durationMicros={} status={} attributes={}",
+                        span.getTraceId(),
+                        span.getSpanId(),
+                        span.getParentSpanContext().isValid() ? span.getParentSpanId() : "-",
+                        span.getName(),
+                        span.getKind(),
+                        (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000,
+                        span.getStatus().getStatusCode(),
+                        span.getAttributes().asMap());
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+}
@@ -0,0 +1,127 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.exception.DownstreamUnavailableException;
+import com.raytotti.wishlist.exception.ProductNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+@Slf4j
+class ProductLookupCoalescer {
+
+    private final Function<Collection<String>, Map<String, SimpleProduct>> batchLoader;
+    private final Executor flushExecutor;
+    private final Executor delayedFlushExecutor;
+    private final int maxBatchSize;
+    private final Duration timeout;
+
+    private Map<String, CompletableFuture<SimpleProduct>> pending = new LinkedHashMap<>();
+
+    ProductLookupCoalescer(Function<Collection<String>, Map<String, SimpleProduct>> batchLoader,
+                           Executor executor,
+                           Duration window,
+                           int maxBatchSize,
+                           Duration timeout) {
+        this.batchLoader = batchLoader;
+        this.flushExecutor = executor;
+        this.delayedFlushExecutor = CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS, Runnable::run);
+        this.maxBatchSize = maxBatchSize;
+        this.timeout = timeout;
+    }
+
+    SimpleProduct getProductById(String productId) {
+        try {
+            return lookup(productId).get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            log.info("ProductLookupCoalescer -> getProductById: Produto com id {} não retornado em {}.", productId, timeout);
+            throw new DownstreamUnavailableException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DownstreamUnavailableException();
+        }
+    }
+
+    CompletableFuture<SimpleProduct> lookup(String productId) {
+        Map<String, CompletableFuture<SimpleProduct>> full = null;
+        CompletableFuture<SimpleProduct> future;
+        synchronized (this) {
+            future = pending.get(productId);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(productId, future);
+            if (pending.size() == 1) {
+                Map<String, CompletableFuture<SimpleProduct>> window = pending;
+                delayedFlushExecutor.execute(() -> dispatch(window, () -> flush(window)));
+            }
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new LinkedHashMap<>();
+            }
+        }
+        if (full != null) {
+            Map<String, CompletableFuture<SimpleProduct>> batch = full;
+            dispatch(batch, () -> load(batch));
+        }
+        return future;
+    }
+
+    private void dispatch(Map<String, CompletableFuture<SimpleProduct>> batch, Runnable task) {
+        try {
+            flushExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.info("ProductLookupCoalescer -> dispatch: Executor de busca de produtos cheio, {} buscas recusadas.", batch.size());
+            synchronized (this) {
+                if (pending == batch) {
+                    pending = new LinkedHashMap<>();
+                }
+            }
+            batch.values().forEach(future -> future.completeExceptionally(new DownstreamUnavailableException()));
+        }
+    }
+
+    private void flush(Map<String, CompletableFuture<SimpleProduct>> window) {
+        synchronized (this) {
+            if (pending != window) {
+                return;
+            }
+            pending = new LinkedHashMap<>();
+        }
+        load(window);
+    }
+
+    private void load(Map<String, CompletableFuture<SimpleProduct>> batch) {
+        log.debug("ProductLookupCoalescer -> load: Buscando {} produtos em lote.", batch.size());
+        try {
+            Map<String, SimpleProduct> products = batchLoader.apply(batch.keySet());
+            batch.forEach((productId, future) -> {
+                SimpleProduct product = products.get(productId);
+                if (product == null) {
+                    future.completeExceptionally(new ProductNotFoundException());
+                } else {
+                    future.complete(product);
+                }
+            });
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.raytotti.wishlist.domain.JobLeaseRepository;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.domain.WishlistProductScan;
+import com.raytotti.wishlist.domain.WishlistRepository;
+import com.raytotti.wishlist.service.ProductsChangedEvent;
+import com.raytotti.wishlist.service.WishlistChangeListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "wishlist.refresh.enabled", havingValue = "true")
+public class ProductRefreshPipeline {
+
+    static final String LEASE = "product-refresh-sweep";
+
+    private final WishlistRepository repository;
+
+    private final ProductServiceImpl productService;
+
+    private final JobLeaseRepository leases;
+
+    private final List<WishlistChangeListener> listeners;
+
+    private final int sweepBatchSize;
+
+    private final int writeBatchSize;
+
+    private final Duration leaseDuration;
+
+    private final String owner = UUID.randomUUID().toString();
+
+    private final Counter productsChecked;
+
+    private final Counter wishlistsUpdated;
+
+    private final Timer batchTimer;
+
+    public ProductRefreshPipeline(WishlistRepository repository,
+                                  ProductServiceImpl productService,
+                                  JobLeaseRepository leases,
+                                  List<WishlistChangeListener> listeners,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${wishlist.refresh.sweep.batch-size:200}") int sweepBatchSize,
+                                  @Value("${wishlist.refresh.write-batch-size:100}") int writeBatchSize,
+                                  @Value("${wishlist.refresh.sweep.lease:PT30S}") Duration leaseDuration) {
+        this.repository = repository;
+        this.productService = productService;
+        this.leases = leases;
+        this.listeners = listeners;
+        this.sweepBatchSize = sweepBatchSize;
+        this.writeBatchSize = writeBatchSize;
+        this.leaseDuration = leaseDuration;
+        this.productsChecked = meterRegistry.counter("wishlist.refresh.products");
+        this.wishlistsUpdated = meterRegistry.counter("wishlist.refresh.wishlists");
+        this.batchTimer = meterRegistry.timer("wishlist.refresh.batch");
+    }
+
+    @EventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        log.info("ProductRefreshPipeline -> onProductsChanged: {} produtos alterados.", event.products().size());
+        refresh(event.products());
+    }
+
+    @Scheduled(fixedDelayString = "${wishlist.refresh.sweep.interval:PT5S}")
+    public void sweep() {
+        if (!leases.acquire(LEASE, owner, leaseDuration)) {
+            return;
+        }
+        String lastWishlistId = leases.findCursor(LEASE).orElse(null);
+        Optional<WishlistProductScan> scan = repository.scanProductIds(lastWishlistId, sweepBatchSize);
+        if (scan.isEmpty()) {
+            if (lastWishlistId != null) {
+                log.info("ProductRefreshPipeline -> sweep: Varredura das wishlists concluída, reiniciando.");
+                leases.moveCursor(LEASE, owner, null);
+            }
+            return;
+        }
+        refresh(productService.getProductsByIds(scan.get().productIds()).values());
+        if (!leases.moveCursor(LEASE, owner, scan.get().lastWishlistId())) {
+            log.info("ProductRefreshPipeline -> sweep: Lease da varredura perdido, cursor não avançado.");
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        leases.release(LEASE, owner);
+    }
+
+    long refresh(Collection<SimpleProduct> products) {
+        List<SimpleProduct> pending = new ArrayList<>(products);
+        long updated = 0;
+        for (int from = 0; from < pending.size(); from += writeBatchSize) {
+            List<SimpleProduct> batch = pending.subList(from, Math.min(from + writeBatchSize, pending.size()));
+            Map<String, ObjectId> stale = repository.findStaleCopies(batch);
+            long modified = batchTimer.record(() -> repository.refreshProducts(batch));
+            productsChecked.increment(batch.size());
+            wishlistsUpdated.increment(modified);
+            updated += modified;
+            if (modified > 0) {
+                stale.forEach((wishlistId, clientId) -> listeners.forEach(listener -> listener.wishlistChanged(wishlistId, clientId.toHexString())));
+            }
+        }
+        if (updated > 0) {
+            log.info("ProductRefreshPipeline -> refresh: {} wishlists atualizadas para {} produtos.", updated, pending.size());
+        }
+        return updated;
+    }
+}
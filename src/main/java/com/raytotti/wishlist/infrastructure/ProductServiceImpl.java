@@ -1,43 +1,134 @@
 package com.raytotti.wishlist.infrastructure;
 
+import com.raytotti.wishlist.configuration.BoundedExecutor;
 import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.exception.DownstreamUnavailableException;
 import com.raytotti.wishlist.exception.ProductNotFoundException;
 import com.raytotti.wishlist.service.ProductService;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
 
 @Slf4j
 @Service
+@Profile("!reactive")
 public class ProductServiceImpl implements ProductService {
 
     private final RestTemplate restTemplate;
 
+    private final DownstreamCall downstream;
+
+    private final Executor executor;
+
     private final String URL;
 
     private final String GET_URI;
 
+    private final String GET_BULK_URI;
+
+    private final int bulkMaxSize;
+
+    private final int fanOut;
+
+    private final Duration lookupTimeout;
+
+    private final ProductLookupCoalescer coalescer;
+
     public ProductServiceImpl(RestTemplate restTemplate,
+                              @Qualifier("productDownstream") DownstreamCall downstream,
+                              @Qualifier("productLookupExecutor") BoundedExecutor executor,
+                              @Qualifier("productCoalesceExecutor") BoundedExecutor coalesceExecutor,
                               @Value("${external-api.url-product}") String URL,
-                              @Value("${external-api.get-product}") String GET_URI) {
+                              @Value("${external-api.get-product}") String GET_URI,
+                              @Value("${external-api.get-products:}") String GET_BULK_URI,
+                              @Value("${external-api.products-batch.max-size:50}") int bulkMaxSize,
+                              @Value("${external-api.products-batch.fan-out:8}") int fanOut,
+                              @Value("${external-api.products-batch.coalesce-window:0ms}") Duration coalesceWindow,
+                              @Value("${external-api.products-batch.timeout:5s}") Duration lookupTimeout) {
         this.restTemplate = restTemplate;
+        this.downstream = downstream;
+        this.executor = executor::execute;
         this.URL = URL;
         this.GET_URI = GET_URI;
+        this.GET_BULK_URI = GET_BULK_URI;
+        this.bulkMaxSize = bulkMaxSize;
+        this.fanOut = fanOut;
+        this.lookupTimeout = lookupTimeout;
+        this.coalescer = hasBulkEndpoint() && coalesceWindow.isPositive()
+                ? new ProductLookupCoalescer(this::getProductsByIds, coalesceExecutor::execute, coalesceWindow, bulkMaxSize, lookupTimeout)
+                : null;
     }
 
     @Override
     public SimpleProduct getProductById(final String productId) {
-        log.info("ProductServiceImpl -> getProductById: Solicitado get do produto com id {}", productId);
+        log.debug("ProductServiceImpl -> getProductById: Solicitado get do produto com id {}", productId);
+
+        if (coalescer != null) {
+            return coalescer.getProductById(productId);
+        }
+        return fetchProduct(productId);
+    }
+
+    @Override
+    public Map<String, SimpleProduct> getProductsByIds(final Collection<String> productIds) {
+        log.debug("ProductServiceImpl -> getProductsByIds: Solicitado get de {} produtos", productIds.size());
+
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(productIds));
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        if (!hasBulkEndpoint()) {
+            return fanOut(ids);
+        }
+
+        Map<String, SimpleProduct> products = new LinkedHashMap<>();
+        for (int from = 0; from < ids.size(); from += bulkMaxSize) {
+            products.putAll(fetchProducts(ids.subList(from, Math.min(from + bulkMaxSize, ids.size()))));
+        }
+        return products;
+    }
+
+    private boolean hasBulkEndpoint() {
+        return GET_BULK_URI != null && !GET_BULK_URI.isBlank();
+    }
 
+    private SimpleProduct fetchProduct(final String productId) {
         String url = URL + GET_URI + "/" + productId;
-        log.info("ProductServiceImpl -> getProductById: URL {}", url);
+        log.debug("ProductServiceImpl -> getProductById: URL {}", url);
 
         ResponseEntity<SimpleProduct> response;
         try {
-            response = restTemplate.getForEntity(url, SimpleProduct.class);
-            log.info("ProductServiceImpl -> getProductById: response: {}", response);
+            response = downstream.execute("getProductById", () -> restTemplate.getForEntity(url, SimpleProduct.class));
+            log.debug("ProductServiceImpl -> getProductById: response: {}", response);
+        } catch (CallNotPermittedException | BulkheadFullException | ResourceAccessException e) {
+            log.info("ProductServiceImpl -> getProductById: indisponível: {}", e.getMessage());
+            throw new DownstreamUnavailableException();
         } catch (Exception e) {
             log.info("ProductServiceImpl -> getProductById: error: {}", e.getMessage());
             throw new ProductNotFoundException();
@@ -49,4 +140,76 @@ public class ProductServiceImpl implements ProductService {
             throw new ProductNotFoundException();
         }
     }
+
+    private Map<String, SimpleProduct> fetchProducts(final List<String> productIds) {
+        String url = UriComponentsBuilder.fromUriString(URL + GET_BULK_URI)
+                .queryParam("ids", String.join(",", productIds))
+                .encode()
+                .toUriString();
+        log.debug("ProductServiceImpl -> getProductsByIds: URL {}", url);
+
+        ResponseEntity<SimpleProduct[]> response;
+        try {
+            response = downstream.execute("getProductsByIds", () -> restTemplate.getForEntity(url, SimpleProduct[].class));
+        } catch (CallNotPermittedException | BulkheadFullException | ResourceAccessException e) {
+            log.info("ProductServiceImpl -> getProductsByIds: indisponível: {}", e.getMessage());
+            throw new DownstreamUnavailableException();
+        } catch (Exception e) {
+            log.info("ProductServiceImpl -> getProductsByIds: error, buscando individualmente: {}", e.getMessage());
+            return fanOut(productIds);
+        }
+
+        Map<String, SimpleProduct> found = new LinkedHashMap<>();
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            for (SimpleProduct product : response.getBody()) {
+                found.put(product.getId(), product);
+            }
+        }
+
+        Map<String, SimpleProduct> products = new LinkedHashMap<>();
+        productIds.stream().filter(found::containsKey).forEach(id -> products.put(id, found.get(id)));
+        return products;
+    }
+
+    private Map<String, SimpleProduct> fanOut(final List<String> productIds) {
+        Map<String, SimpleProduct> found = new ConcurrentHashMap<>();
+        Queue<String> queue = new ConcurrentLinkedQueue<>(productIds);
+
+        try {
+            CompletableFuture<?>[] workers = IntStream.range(0, Math.min(fanOut, productIds.size()))
+                    .mapToObj(worker -> CompletableFuture.runAsync(() -> {
+                        String productId;
+                        while ((productId = queue.poll()) != null) {
+                            try {
+                                found.put(productId, fetchProduct(productId));
+                            } catch (ProductNotFoundException e) {
+                                log.debug("ProductServiceImpl -> getProductsByIds: Produto com id {} não encontrado.", productId);
+                            }
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(workers).get(lookupTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (RejectedExecutionException e) {
+            queue.clear();
+            log.info("ProductServiceImpl -> getProductsByIds: Executor de busca de produtos cheio.");
+            throw new DownstreamUnavailableException();
+        } catch (TimeoutException e) {
+            queue.clear();
+            log.info("ProductServiceImpl -> getProductsByIds: {} produtos não retornados em {}.", productIds.size(), lookupTimeout);
+            throw new DownstreamUnavailableException();
+        } catch (InterruptedException e) {
+            queue.clear();
+            Thread.currentThread().interrupt();
+            throw new DownstreamUnavailableException();
+        }
+
+        Map<String, SimpleProduct> products = new LinkedHashMap<>();
+        productIds.stream().filter(found::containsKey).forEach(id -> products.put(id, found.get(id)));
+        return products;
+    }
 }
@@ -0,0 +1,64 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.raytotti.wishlist.exception.ClientNotFoundException;
+import com.raytotti.wishlist.exception.DownstreamUnavailableException;
+import com.raytotti.wishlist.service.ReactiveClientService;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+@Profile("reactive")
+public class ReactiveClientServiceImpl implements ReactiveClientService {
+
+    private final WebClient webClient;
+
+    private final DownstreamCall downstream;
+
+    private final String URL;
+
+    private final String GET_URI;
+
+    public ReactiveClientServiceImpl(WebClient webClient,
+                                     @Qualifier("clientDownstream") DownstreamCall downstream,
+                                     @Value("${external-api.url-client}") String URL,
+                                     @Value("${external-api.get-exists}") String GET_URI) {
+        this.webClient = webClient;
+        this.downstream = downstream;
+        this.URL = URL;
+        this.GET_URI = GET_URI;
+    }
+
+    @Override
+    public Mono<Boolean> existsClientId(final String id) {
+        log.debug("ReactiveClientServiceImpl -> existsClientId: Solicitado a verificação do cliente com id {}", id);
+
+        return webClient.get()
+                .uri(URL + GET_URI, id)
+                .retrieve()
+                .bodyToMono(Boolean.class)
+                .transform(call -> downstream.decorate("existsClientId", call))
+                .map(Boolean.TRUE::equals)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+                    log.debug("ReactiveClientServiceImpl -> existsClientId: cliente com id {} não existe.", id);
+                    return Mono.just(false);
+                })
+                .onErrorMap(e -> !(e instanceof ClientNotFoundException), e -> {
+                    log.info("ReactiveClientServiceImpl -> existsClientId: error {}", e.getMessage());
+                    if (e instanceof CallNotPermittedException || e instanceof BulkheadFullException || e instanceof WebClientRequestException) {
+                        return new DownstreamUnavailableException();
+                    }
+                    return new ClientNotFoundException();
+                })
+                .switchIfEmpty(Mono.error(ClientNotFoundException::new));
+    }
+}
@@ -0,0 +1,144 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.exception.DownstreamUnavailableException;
+import com.raytotti.wishlist.exception.ProductNotFoundException;
+import com.raytotti.wishlist.service.ReactiveProductService;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@Profile("reactive")
+public class ReactiveProductServiceImpl implements ReactiveProductService {
+
+    private final WebClient webClient;
+
+    private final DownstreamCall downstream;
+
+    private final String URL;
+
+    private final String GET_URI;
+
+    private final String GET_BULK_URI;
+
+    private final int bulkMaxSize;
+
+    private final int fanOut;
+
+    public ReactiveProductServiceImpl(WebClient webClient,
+                                      @Qualifier("productDownstream") DownstreamCall downstream,
+                                      @Value("${external-api.url-product}") String URL,
+                                      @Value("${external-api.get-product}") String GET_URI,
+                                      @Value("${external-api.get-products:}") String GET_BULK_URI,
+                                      @Value("${external-api.products-batch.max-size:50}") int bulkMaxSize,
+                                      @Value("${external-api.products-batch.fan-out:8}") int fanOut) {
+        this.webClient = webClient;
+        this.downstream = downstream;
+        this.URL = URL;
+        this.GET_URI = GET_URI;
+        this.GET_BULK_URI = GET_BULK_URI;
+        this.bulkMaxSize = bulkMaxSize;
+        this.fanOut = fanOut;
+    }
+
+    @Override
+    public Mono<SimpleProduct> getProductById(final String productId) {
+        log.debug("ReactiveProductServiceImpl -> getProductById: Solicitado get do produto com id {}", productId);
+
+        String url = URL + GET_URI + "/" + productId;
+        return webClient.get()
+                .uri(url)
+                .retrieve()
+                .bodyToMono(SimpleProduct.class)
+                .transform(call -> downstream.decorate("getProductById", call))
+                .onErrorMap(e -> !(e instanceof ProductNotFoundException), e -> {
+                    log.info("ReactiveProductServiceImpl -> getProductById: error: {}", e.getMessage());
+                    if (e instanceof CallNotPermittedException || e instanceof BulkheadFullException || e instanceof WebClientRequestException) {
+                        return new DownstreamUnavailableException();
+                    }
+                    return new ProductNotFoundException();
+                })
+                .switchIfEmpty(Mono.error(ProductNotFoundException::new));
+    }
+
+    @Override
+    public Mono<Map<String, SimpleProduct>> getProductsByIds(final Collection<String> productIds) {
+        log.debug("ReactiveProductServiceImpl -> getProductsByIds: Solicitado get de {} produtos", productIds.size());
+
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(productIds));
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        if (!hasBulkEndpoint()) {
+            return fanOut(ids);
+        }
+
+        return Flux.fromIterable(ids)
+                .buffer(bulkMaxSize)
+                .concatMap(this::fetchProducts)
+                .<Map<String, SimpleProduct>>reduceWith(LinkedHashMap::new, (products, found) -> {
+                    products.putAll(found);
+                    return products;
+                });
+    }
+
+    private boolean hasBulkEndpoint() {
+        return GET_BULK_URI != null && !GET_BULK_URI.isBlank();
+    }
+
+    private Mono<Map<String, SimpleProduct>> fetchProducts(final List<String> productIds) {
+        String url = UriComponentsBuilder.fromUriString(URL + GET_BULK_URI)
+                .queryParam("ids", String.join(",", productIds))
+                .encode()
+                .toUriString();
+        log.debug("ReactiveProductServiceImpl -> getProductsByIds: URL {}", url);
+
+        return webClient.get()
+                .uri(url)
+                .retrieve()
+                .bodyToFlux(SimpleProduct.class)
+                .collectMap(SimpleProduct::getId)
+                .transform(call -> downstream.decorate("getProductsByIds", call))
+                .map(found -> {
+                    Map<String, SimpleProduct> products = new LinkedHashMap<>();
+                    productIds.stream().filter(found::containsKey).forEach(id -> products.put(id, found.get(id)));
+                    return products;
+                })
+                .onErrorResume(e -> {
+                    if (e instanceof CallNotPermittedException || e instanceof BulkheadFullException || e instanceof WebClientRequestException) {
+                        log.info("ReactiveProductServiceImpl -> getProductsByIds: indisponível: {}", e.getMessage());
+                        return Mono.error(new DownstreamUnavailableException());
+                    }
+                    log.info("ReactiveProductServiceImpl -> getProductsByIds: error, buscando individualmente: {}", e.getMessage());
+                    return fanOut(productIds);
+                });
+    }
+
+    private Mono<Map<String, SimpleProduct>> fanOut(final List<String> productIds) {
+        return Flux.fromIterable(productIds)
+                .flatMapSequential(productId -> getProductById(productId)
+                        .onErrorResume(ProductNotFoundException.class, e -> {
+                            log.debug("ReactiveProductServiceImpl -> getProductsByIds: Produto com id {} não encontrado.", productId);
+                            return Mono.empty();
+                        }), fanOut)
+                .collectMap(SimpleProduct::getId, product -> product, LinkedHashMap::new);
+    }
+}
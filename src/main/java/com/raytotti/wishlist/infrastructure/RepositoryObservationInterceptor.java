@@ -0,0 +1,30 @@
+package com.raytotti.wishlist.infrastructure;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+public class RepositoryObservationInterceptor implements MethodInterceptor {
+
+    static final String NAME = "wishlist.repository";
+
+    private final ObservationRegistry observationRegistry;
+
+    private final String repository;
+
+    public RepositoryObservationInterceptor(ObservationRegistry observationRegistry, String repository) {
+        this.observationRegistry = observationRegistry;
+        this.repository = repository;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String method = invocation.getMethod().getName();
+        return Observation.createNotStarted(NAME, observationRegistry)
+                .contextualName(repository + "." + method)
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", method)
+                .observeChecked(invocation::proceed);
+    }
+}
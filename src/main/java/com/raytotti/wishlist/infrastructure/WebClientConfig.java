@@ -0,0 +1,45 @@
+package com.raytotti.wishlist.infrastructure;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Profile("reactive")
+@Configuration
+public class WebClientConfig {
+
+    @Bean
+    public ConnectionProvider connectionProvider(
+            @Value("${http-client.max-total:200}") int maxTotal,
+            @Value("${http-client.connection-request-timeout:500ms}") Duration connectionRequestTimeout,
+            @Value("${http-client.idle-eviction:30s}") Duration idleEviction,
+            @Value("${http-client.time-to-live:5m}") Duration timeToLive) {
+        return ConnectionProvider.builder("downstream")
+                .maxConnections(maxTotal)
+                .pendingAcquireTimeout(connectionRequestTimeout)
+                .maxIdleTime(idleEviction)
+                .maxLifeTime(timeToLive)
+                .evictInBackground(idleEviction)
+                .build();
+    }
+
+    @Bean
+    public WebClient webClient(
+            WebClient.Builder builder,
+            ConnectionProvider connectionProvider,
+            @Value("${http-client.connect-timeout:1s}") Duration connectTimeout,
+            @Value("${http-client.response-timeout:2s}") Duration responseTimeout) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()))
+                .responseTimeout(responseTimeout);
+        return builder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+}
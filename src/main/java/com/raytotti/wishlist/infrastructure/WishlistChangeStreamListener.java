@@ -0,0 +1,77 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.service.WishlistChangeListener;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "cache.wishlist.change-stream.enabled", havingValue = "true")
+public class WishlistChangeStreamListener {
+
+    private final MessageListenerContainer container;
+
+    private final List<WishlistChangeListener> listeners;
+
+    private final String collectionName;
+
+    public WishlistChangeStreamListener(MongoTemplate mongoTemplate, List<WishlistChangeListener> listeners) {
+        this.container = new DefaultMessageListenerContainer(mongoTemplate);
+        this.listeners = listeners;
+        this.collectionName = mongoTemplate.getCollectionName(Wishlist.class);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        container.register(ChangeStreamRequest.<Document>builder(this::onMessage)
+                .collection(collectionName)
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+                .build(), Document.class);
+        container.start();
+        log.info("WishlistChangeStreamListener -> start: Escutando alterações da coleção {}.", collectionName);
+    }
+
+    @PreDestroy
+    public void stop() {
+        container.stop();
+    }
+
+    void onMessage(Message<ChangeStreamDocument<Document>, Document> message) {
+        ChangeStreamDocument<Document> change = message.getRaw();
+        if (change == null || change.getDocumentKey() == null) {
+            return;
+        }
+        String wishlistId = id(change.getDocumentKey().get("_id"));
+        Document fullDocument = change.getFullDocument();
+        String clientId = fullDocument != null && fullDocument.get("clientId") instanceof ObjectId objectId
+                ? objectId.toHexString()
+                : null;
+        listeners.forEach(listener -> listener.wishlistChanged(wishlistId, clientId));
+    }
+
+    private static String id(BsonValue value) {
+        if (value == null) {
+            return null;
+        }
+        return value.isObjectId() ? value.asObjectId().getValue().toHexString() : value.asString().getValue();
+    }
+}
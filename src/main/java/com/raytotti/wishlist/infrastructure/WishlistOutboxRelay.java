@@ -0,0 +1,137 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.raytotti.wishlist.domain.JobLeaseRepository;
+import com.raytotti.wishlist.domain.WishlistChange;
+import com.raytotti.wishlist.domain.WishlistEvent;
+import com.raytotti.wishlist.domain.WishlistEventRepository;
+import com.raytotti.wishlist.domain.WishlistPendingChanges;
+import com.raytotti.wishlist.domain.WishlistRepository;
+import com.raytotti.wishlist.service.WishlistEventSink;
+import com.raytotti.wishlist.service.WishlistOutboxListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "wishlist.outbox.enabled", havingValue = "true")
+public class WishlistOutboxRelay {
+
+    static final String LEASE = "wishlist-outbox-relay";
+
+    private final WishlistRepository repository;
+
+    private final WishlistEventRepository eventRepository;
+
+    private final JobLeaseRepository leases;
+
+    private final WishlistEventSink sink;
+
+    private final List<WishlistOutboxListener> listeners;
+
+    private final int batchSize;
+
+    private final Duration leaseDuration;
+
+    private final String owner = UUID.randomUUID().toString();
+
+    private final Counter eventsDrained;
+
+    private final Counter eventsPublished;
+
+    public WishlistOutboxRelay(WishlistRepository repository,
+                               WishlistEventRepository eventRepository,
+                               JobLeaseRepository leases,
+                               WishlistEventSink sink,
+                               List<WishlistOutboxListener> listeners,
+                               MeterRegistry meterRegistry,
+                               @Value("${wishlist.outbox.relay.batch-size:100}") int batchSize,
+                               @Value("${wishlist.outbox.relay.lease:PT30S}") Duration leaseDuration) {
+        this.repository = repository;
+        this.eventRepository = eventRepository;
+        this.leases = leases;
+        this.sink = sink;
+        this.listeners = listeners;
+        this.batchSize = batchSize;
+        this.leaseDuration = leaseDuration;
+        this.eventsDrained = meterRegistry.counter("wishlist.outbox.drained");
+        this.eventsPublished = meterRegistry.counter("wishlist.outbox.published");
+    }
+
+    @Scheduled(fixedDelayString = "${wishlist.outbox.relay.interval:PT1S}")
+    public void relay() {
+        if (!leases.acquire(LEASE, owner, leaseDuration)) {
+            return;
+        }
+        drain();
+        publish();
+    }
+
+    @PreDestroy
+    public void stop() {
+        leases.release(LEASE, owner);
+    }
+
+    int drain() {
+        int drained = 0;
+        List<WishlistPendingChanges> batch = repository.findPendingChanges(batchSize);
+        if (!batch.isEmpty()) {
+            listeners.forEach(listener -> listener.wishlistsChanged(batch));
+        }
+        for (WishlistPendingChanges pending : batch) {
+            long sequence = eventRepository.findFirstByClientIdOrderBySequenceDesc(pending.clientId())
+                    .map(WishlistEvent::getSequence)
+                    .orElse(0L);
+            List<WishlistEvent> events = new ArrayList<>(pending.changes().size());
+            for (WishlistChange change : pending.changes()) {
+                if (!eventRepository.existsByChangeId(change.id())) {
+                    events.add(WishlistEvent.of(pending.clientId(), pending.wishlistId(), ++sequence, change));
+                }
+            }
+            if (!events.isEmpty()) {
+                eventRepository.insert(events);
+            }
+            repository.drainChanges(pending.wishlistId(), pending.changes().stream().map(WishlistChange::id).toList());
+            if (pending.empty() && repository.deleteIfEmpty(pending.wishlistId())) {
+                log.info("WishlistOutboxRelay -> drain: Wishlist com id {} sem produtos deletada após o envio dos eventos.", pending.wishlistId());
+            }
+            drained += events.size();
+        }
+        eventsDrained.increment(drained);
+        if (drained > 0) {
+            log.info("WishlistOutboxRelay -> drain: {} eventos movidos do outbox.", drained);
+        }
+        return drained;
+    }
+
+    int publish() {
+        int published = 0;
+        List<WishlistEvent> events;
+        do {
+            events = eventRepository.findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                break;
+            }
+            sink.publish(events);
+            eventRepository.markPublished(events.stream().map(WishlistEvent::getId).toList(), Instant.now());
+            eventsPublished.increment(events.size());
+            published += events.size();
+        } while (events.size() == batchSize);
+        if (published > 0) {
+            log.info("WishlistOutboxRelay -> publish: {} eventos publicados.", published);
+        }
+        return published;
+    }
+}
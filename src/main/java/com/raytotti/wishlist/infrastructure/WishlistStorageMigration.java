@@ -0,0 +1,117 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.raytotti.wishlist.domain.ProductStorage;
+import com.raytotti.wishlist.domain.Wishlist;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "wishlist.storage.migration.enabled", havingValue = "true")
+public class WishlistStorageMigration implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ProductStorage storage;
+
+    private final int batchSize;
+
+    private final boolean compactCollection;
+
+    private final String collectionName;
+
+    public WishlistStorageMigration(MongoTemplate mongoTemplate,
+                                    ProductStorage storage,
+                                    @Value("${wishlist.storage.migration.batch-size:500}") int batchSize,
+                                    @Value("${wishlist.storage.migration.compact-collection:false}") boolean compactCollection) {
+        this.mongoTemplate = mongoTemplate;
+        this.storage = storage;
+        this.batchSize = batchSize;
+        this.compactCollection = compactCollection;
+        this.collectionName = mongoTemplate.getCollectionName(Wishlist.class);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!storage.isCompact()) {
+            log.warn("WishlistStorageMigration -> run: wishlist.storage.compact.enabled está desligado, nada a migrar.");
+            return;
+        }
+        long migrated = migrate();
+        log.info("WishlistStorageMigration -> run: {} wishlists convertidas para o armazenamento compacto.", migrated);
+        if (compactCollection) {
+            compactCollection();
+        }
+    }
+
+    long migrate() {
+        long scanned = 0;
+        long migrated = 0;
+        Object lastId = null;
+        while (true) {
+            List<Document> batch = mongoTemplate.find(nextBatch(lastId), Document.class, collectionName);
+            if (batch.isEmpty()) {
+                return migrated;
+            }
+
+            BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+            int pending = 0;
+            for (Document wishlist : batch) {
+                List<Document> products = wishlist.getList("products", Document.class, List.of());
+                List<Document> compacted = products.stream().map(storage::compact).toList();
+                if (!compacted.equals(products)) {
+                    operations.updateOne(unchanged(wishlist), new Update().set("products", compacted));
+                    pending++;
+                }
+            }
+            if (pending > 0) {
+                migrated += operations.execute().getModifiedCount();
+            }
+
+            scanned += batch.size();
+            lastId = batch.get(batch.size() - 1).get("_id");
+            log.info("WishlistStorageMigration -> migrate: {} wishlists lidas, {} convertidas.", scanned, migrated);
+        }
+    }
+
+    private Query nextBatch(Object lastId) {
+        Query query = lastId == null ? new Query() : query(where("_id").gt(lastId));
+        query.with(Sort.by("_id")).limit(batchSize);
+        query.fields().include("_id").include("version").include("products");
+        return query;
+    }
+
+    private static Query unchanged(Document wishlist) {
+        Object version = wishlist.get("version");
+        return query(version == null
+                ? where("_id").is(wishlist.get("_id")).and("version").is(null)
+                : where("_id").is(wishlist.get("_id")).and("version").is(version));
+    }
+
+    private void compactCollection() {
+        try {
+            mongoTemplate.executeCommand(new Document("compact", collectionName));
+            log.info("WishlistStorageMigration -> compactCollection: Coleção {} compactada.", collectionName);
+        } catch (DataAccessException e) {
+            log.error("WishlistStorageMigration -> compactCollection: Falha ao compactar a coleção {}.", collectionName, e);
+        }
+    }
+}
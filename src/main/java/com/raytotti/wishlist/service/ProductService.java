@@ -1,7 +1,25 @@
 package com.raytotti.wishlist.service;
 
 import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.exception.ProductNotFoundException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 
 public interface ProductService {
     SimpleProduct getProductById(String productId);
+
+    default Map<String, SimpleProduct> getProductsByIds(Collection<String> productIds) {
+        Map<String, SimpleProduct> products = new LinkedHashMap<>();
+        for (String productId : new LinkedHashSet<>(productIds)) {
+            try {
+                products.put(productId, getProductById(productId));
+            } catch (ProductNotFoundException e) {
+                products.remove(productId);
+            }
+        }
+        return products;
+    }
 }
@@ -0,0 +1,8 @@
+package com.raytotti.wishlist.service;
+
+import com.raytotti.wishlist.domain.SimpleProduct;
+
+import java.util.Collection;
+
+public record ProductsChangedEvent(Collection<SimpleProduct> products) {
+}
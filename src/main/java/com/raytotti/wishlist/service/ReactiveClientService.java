@@ -0,0 +1,7 @@
+package com.raytotti.wishlist.service;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveClientService {
+    Mono<Boolean> existsClientId(String clientId);
+}
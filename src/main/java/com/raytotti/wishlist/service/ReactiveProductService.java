@@ -0,0 +1,21 @@
+package com.raytotti.wishlist.service;
+
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.exception.ProductNotFoundException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+public interface ReactiveProductService {
+    Mono<SimpleProduct> getProductById(String productId);
+
+    default Mono<Map<String, SimpleProduct>> getProductsByIds(Collection<String> productIds) {
+        return Flux.fromIterable(new LinkedHashSet<>(productIds))
+                .flatMapSequential(productId -> getProductById(productId)
+                        .onErrorResume(ProductNotFoundException.class, e -> Mono.empty()))
+                .collectMap(SimpleProduct::getId);
+    }
+}
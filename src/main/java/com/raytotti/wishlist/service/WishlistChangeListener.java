@@ -0,0 +1,5 @@
+package com.raytotti.wishlist.service;
+
+public interface WishlistChangeListener {
+    void wishlistChanged(String wishlistId, String clientId);
+}
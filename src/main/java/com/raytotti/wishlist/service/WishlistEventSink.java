@@ -0,0 +1,9 @@
+package com.raytotti.wishlist.service;
+
+import com.raytotti.wishlist.domain.WishlistEvent;
+
+import java.util.List;
+
+public interface WishlistEventSink {
+    void publish(List<WishlistEvent> events);
+}
@@ -0,0 +1,9 @@
+package com.raytotti.wishlist.service;
+
+import com.raytotti.wishlist.domain.WishlistPendingChanges;
+
+import java.util.List;
+
+public interface WishlistOutboxListener {
+    void wishlistsChanged(List<WishlistPendingChanges> changes);
+}
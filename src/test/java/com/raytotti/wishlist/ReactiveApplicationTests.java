@@ -0,0 +1,27 @@
+package com.raytotti.wishlist;
+
+import com.raytotti.wishlist.application.ReactiveWishlistController;
+import com.raytotti.wishlist.application.WishlistController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest
+@ActiveProfiles("reactive")
+class ReactiveApplicationTests {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Test
+	void contextLoads() {
+		assertNotNull(context.getBean(ReactiveWishlistController.class));
+		assertEquals(0, context.getBeanNamesForType(WishlistController.class).length);
+	}
+
+}
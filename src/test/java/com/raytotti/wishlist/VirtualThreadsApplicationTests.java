@@ -0,0 +1,23 @@
+package com.raytotti.wishlist;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadsApplicationTests {
+
+	@Autowired
+	@Qualifier("applicationTaskExecutor")
+	private AsyncTaskExecutor executor;
+
+	@Test
+	void applicationTaskExecutor_uses_virtual_threads() throws Exception {
+		assertTrue(executor.submit(() -> Thread.currentThread().isVirtual()).get());
+	}
+
+}
@@ -0,0 +1,198 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.configuration.BoundedExecutor;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.domain.WishlistRepository;
+import com.raytotti.wishlist.exception.ProductNotFoundException;
+import com.raytotti.wishlist.service.ClientService;
+import com.raytotti.wishlist.service.ProductService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class AddProductLookupsTest {
+
+    private final ObjectId CLIENT_ID = ObjectId.get();
+    private final String PRODUCT_ID = ObjectId.get().toHexString();
+    private final SimpleProduct SIMPLE_PRODUCT = SimpleProduct.of(
+            PRODUCT_ID,
+            "PRODUCT-CODE",
+            "Product Description",
+            "Image URL",
+            BigDecimal.TEN
+    );
+
+    @Mock
+    private WishlistRepository repository;
+    @Mock
+    private ClientService clientService;
+    @Mock
+    private ProductService productService;
+    private BoundedExecutor executor;
+    private AddProductLookups lookups;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        executor = new BoundedExecutor("add-lookup-test-", 2, 10);
+        lookups = new AddProductLookups(repository, clientService, productService, executor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    public void start_without_wishlist_read_does_not_read_wishlist() {
+        doReturn(SIMPLE_PRODUCT).when(productService).getProductById(PRODUCT_ID);
+
+        AddProductLookups.Pending pending = lookups.start(CLIENT_ID.toHexString(), PRODUCT_ID, false);
+
+        assertEquals(SIMPLE_PRODUCT, pending.product());
+        assertEquals(SIMPLE_PRODUCT, pending.product());
+        pending.cancel();
+        verify(productService, times(1)).getProductById(PRODUCT_ID);
+        verify(repository, never()).findByClientId(CLIENT_ID);
+    }
+
+    @Test
+    public void start_without_wishlist_read_overlaps_client_and_product_lookups() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            return true;
+        }).when(clientService).existsClientId(CLIENT_ID.toHexString());
+        doAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            return SIMPLE_PRODUCT;
+        }).when(productService).getProductById(PRODUCT_ID);
+
+        AddProductLookups.Pending pending = lookups.start(CLIENT_ID.toHexString(), PRODUCT_ID, false);
+
+        assertEquals(SIMPLE_PRODUCT, pending.product());
+        assertTrue(pending.clientExists());
+        assertTrue(pending.clientExists());
+        verify(clientService, times(1)).existsClientId(CLIENT_ID.toHexString());
+        verify(repository, never()).findByClientId(CLIENT_ID);
+    }
+
+    @Test
+    public void start_checks_client_on_caller_when_executor_is_full() {
+        BoundedExecutor full = new BoundedExecutor("add-lookup-full-", 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            full.execute(() -> await(release));
+            full.execute(() -> await(release));
+            doReturn(Optional.empty()).when(repository).findByClientId(CLIENT_ID);
+            doReturn(false).when(clientService).existsClientId(CLIENT_ID.toHexString());
+
+            AddProductLookups.Pending pending = new AddProductLookups(repository, clientService, productService, full)
+                    .start(CLIENT_ID.toHexString(), PRODUCT_ID, false);
+
+            assertFalse(pending.clientExists());
+            verify(clientService, times(1)).existsClientId(CLIENT_ID.toHexString());
+        } finally {
+            release.countDown();
+            full.destroy();
+        }
+    }
+
+    @Test
+    public void start_with_wishlist_read_overlaps_product_lookup() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            return Optional.of(Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT));
+        }).when(repository).findByClientId(CLIENT_ID);
+        doAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            return SIMPLE_PRODUCT;
+        }).when(productService).getProductById(PRODUCT_ID);
+
+        AddProductLookups.Pending pending = lookups.start(CLIENT_ID.toHexString(), PRODUCT_ID, true);
+
+        assertEquals(SIMPLE_PRODUCT, pending.product());
+        assertTrue(pending.wishlist().isPresent());
+        assertTrue(pending.clientExists());
+        verify(repository, times(1)).findByClientId(CLIENT_ID);
+        verify(clientService, never()).existsClientId(CLIENT_ID.toHexString());
+    }
+
+    @Test
+    public void wishlist_missing_checks_client_once() {
+        doReturn(Optional.empty()).when(repository).findByClientId(CLIENT_ID);
+        doReturn(true).when(clientService).existsClientId(CLIENT_ID.toHexString());
+
+        AddProductLookups.Pending pending = lookups.start(CLIENT_ID.toHexString(), PRODUCT_ID, true);
+
+        assertTrue(pending.wishlist().isEmpty());
+        assertTrue(pending.clientExists());
+        assertTrue(pending.clientExists());
+        verify(repository, times(1)).findByClientId(CLIENT_ID);
+        verify(clientService, times(1)).existsClientId(CLIENT_ID.toHexString());
+    }
+
+    @Test
+    public void start_reads_wishlist_on_caller_when_executor_is_full() {
+        BoundedExecutor full = new BoundedExecutor("add-lookup-full-", 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            full.execute(() -> await(release));
+            full.execute(() -> await(release));
+            doReturn(Optional.empty()).when(repository).findByClientId(CLIENT_ID);
+
+            AddProductLookups.Pending pending = new AddProductLookups(repository, clientService, productService, full)
+                    .start(CLIENT_ID.toHexString(), PRODUCT_ID, true);
+
+            assertTrue(pending.wishlist().isEmpty());
+            verify(repository, times(1)).findByClientId(CLIENT_ID);
+        } finally {
+            release.countDown();
+            full.destroy();
+        }
+    }
+
+    @Test
+    public void start_unwraps_lookup_failures() {
+        doThrow(new IllegalStateException("mongo")).when(repository).findByClientId(CLIENT_ID);
+        doThrow(new ProductNotFoundException()).when(productService).getProductById(PRODUCT_ID);
+
+        AddProductLookups.Pending pending = lookups.start(CLIENT_ID.toHexString(), PRODUCT_ID, true);
+
+        assertThrows(ProductNotFoundException.class, pending::product);
+        assertThrows(IllegalStateException.class, pending::wishlist);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.domain.ProductFavoriteCount;
+import com.raytotti.wishlist.exception.InvalidCursorException;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class ProductFavoriteControllerTest {
+
+    private final String PRODUCT_ID = ObjectId.get().toHexString();
+
+    @Mock
+    private ProductFavoriteIndex index;
+    private ProductFavoriteController controller;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        doReturn(1000).when(index).capacity();
+        controller = new ProductFavoriteController(index);
+    }
+
+    @Test
+    public void top() {
+        doReturn(List.of(ProductFavoriteCount.of(PRODUCT_ID, 7))).when(index).top(5);
+
+        ResponseEntity<List<ProductFavoriteResponse>> response = controller.top(5);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(PRODUCT_ID, Objects.requireNonNull(response.getBody()).get(0).getProductId());
+        assertEquals(7, response.getBody().get(0).getCount());
+    }
+
+    @Test
+    public void top_invalid_limit() {
+        assertEquals(HttpStatus.BAD_REQUEST, controller.top(ProductFavoriteController.MAX_TOP + 1).getStatusCode());
+    }
+
+    @Test
+    public void clients_paged() {
+        ObjectId first = ObjectId.get();
+        ObjectId second = ObjectId.get();
+        ObjectId cursor = ObjectId.get();
+        doReturn(List.of(first, second)).when(index).clientIds(PRODUCT_ID, cursor, 2);
+        doReturn(9L).when(index).count(PRODUCT_ID);
+
+        ResponseEntity<ProductFavoriteClientsResponse> response = controller.clients(PRODUCT_ID, cursor.toHexString(), 1);
+
+        ProductFavoriteClientsResponse body = Objects.requireNonNull(response.getBody());
+        assertEquals(9, body.getCount());
+        assertEquals(List.of(first.toHexString()), body.getClientIds());
+        assertEquals(first.toHexString(), body.getNextCursor());
+    }
+
+    @Test
+    public void clients_last_page() {
+        ObjectId first = ObjectId.get();
+        doReturn(List.of(first)).when(index).clientIds(PRODUCT_ID, null, 101);
+
+        ResponseEntity<ProductFavoriteClientsResponse> response = controller.clients(PRODUCT_ID, null, 100);
+
+        assertEquals(List.of(first.toHexString()), Objects.requireNonNull(response.getBody()).getClientIds());
+        assertNull(response.getBody().getNextCursor());
+    }
+
+    @Test
+    public void clients_invalid_cursor() {
+        assertThrows(InvalidCursorException.class, () -> controller.clients(PRODUCT_ID, "not-a-client", 10));
+    }
+}
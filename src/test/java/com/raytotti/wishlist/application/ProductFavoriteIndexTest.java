@@ -0,0 +1,175 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.domain.JobLeaseRepository;
+import com.raytotti.wishlist.domain.ProductFavoriteCount;
+import com.raytotti.wishlist.domain.ProductFavoriteRepository;
+import com.raytotti.wishlist.domain.WishlistChange;
+import com.raytotti.wishlist.domain.WishlistPendingChanges;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class ProductFavoriteIndexTest {
+
+    private final ObjectId CLIENT_ID = ObjectId.get();
+
+    @Mock
+    private ProductFavoriteRepository repository;
+    @Mock
+    private JobLeaseRepository leases;
+    private ProductFavoriteIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        index = new ProductFavoriteIndex(repository, leases, true, false, 2, Duration.ofHours(1));
+    }
+
+    @Test
+    void rebuild_loads_top_products() {
+        doReturn(List.of(ProductFavoriteCount.of("a", 5), ProductFavoriteCount.of("b", 3)))
+                .when(repository).findByCountGreaterThanOrderByCountDesc(0, PageRequest.of(0, 2));
+
+        index.start();
+
+        assertEquals(List.of("a", "b"), ids(index.top(10)));
+        verify(repository, never()).reconcile(any());
+    }
+
+    @Test
+    void wishlistsChanged_updates_ranking() {
+        doReturn(Map.of("a", 1L, "b", 1L, "c", 1L)).when(repository).addClients(Map.of(CLIENT_ID, List.of("a", "b", "c")));
+        doReturn(List.of(ProductFavoriteCount.of("a", 1), ProductFavoriteCount.of("b", 2), ProductFavoriteCount.of("c", 3)))
+                .when(repository).findAllById(Set.of("a", "b", "c"));
+
+        index.wishlistsChanged(List.of(pending(WishlistChange.productsChanged(List.of("a", "b", "c"), List.of()))));
+
+        assertEquals(List.of("c", "b"), ids(index.top(10)));
+        assertEquals(List.of("c"), ids(index.top(1)));
+    }
+
+    @Test
+    void wishlistsChanged_removal_drops_product_without_wishlists() {
+        index.rank(ProductFavoriteCount.of("a", 1));
+        doReturn(Optional.of(ProductFavoriteCount.of("a", 0))).when(repository).removeClient("a", CLIENT_ID);
+
+        index.wishlistsChanged(List.of(pending(WishlistChange.productRemoved("a"))));
+
+        assertEquals(List.of(), index.top(10));
+    }
+
+    @Test
+    void wishlistsChanged_ignores_unchanged_membership() {
+        index.rank(ProductFavoriteCount.of("a", 1));
+        doReturn(Map.of()).when(repository).addClients(Map.of(CLIENT_ID, List.of("a")));
+
+        index.wishlistsChanged(List.of(pending(WishlistChange.productAdded("a"))));
+
+        assertEquals(1, index.top(10).get(0).getCount());
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    void wishlistsChanged_applies_the_last_change_of_each_product() {
+        doReturn(Map.of()).when(repository).addClients(any());
+
+        index.wishlistsChanged(List.of(pending(
+                WishlistChange.productAdded("a"),
+                WishlistChange.productRemoved("a"),
+                WishlistChange.productRemoved("b"),
+                WishlistChange.productAdded("b"))));
+
+        verify(repository).removeClient("a", CLIENT_ID);
+        verify(repository, never()).addClient(any(), any());
+        verify(repository).addClients(Map.of(CLIENT_ID, List.of("b")));
+        verify(repository, never()).removeClient("b", CLIENT_ID);
+    }
+
+    @Test
+    void wishlistsChanged_keeps_going_when_index_fails() {
+        doThrow(new DataAccessResourceFailureException("down")).when(repository).addClients(any());
+
+        index.wishlistsChanged(List.of(pending(WishlistChange.productAdded("a"))));
+
+        assertEquals(List.of(), index.top(10));
+    }
+
+    @Test
+    void recordAdded_ranks_inserted_products() {
+        doReturn(Map.of("a", 1L, "b", 2L)).when(repository).addClients(Map.of(CLIENT_ID, List.of("a", "b", "c")));
+        doReturn(List.of(ProductFavoriteCount.of("a", 1), ProductFavoriteCount.of("b", 2))).when(repository).findAllById(Set.of("a", "b"));
+
+        index.recordAdded(Map.of(CLIENT_ID, List.of("a", "b", "c")));
+
+        assertEquals(List.of("b", "a"), ids(index.top(10)));
+    }
+
+    @Test
+    void recordAdded_skips_ranking_when_nothing_was_inserted() {
+        doReturn(Map.of()).when(repository).addClients(Map.of(CLIENT_ID, List.of("a")));
+
+        index.recordAdded(Map.of(CLIENT_ID, List.of("a")));
+
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    void disabled() {
+        index = new ProductFavoriteIndex(repository, leases, false, true, 2, Duration.ofHours(1));
+
+        index.start();
+        index.wishlistsChanged(List.of(pending(WishlistChange.productAdded("a"))));
+
+        verify(repository, never()).reconcile(any());
+        verify(repository, never()).addClients(any());
+    }
+
+    private WishlistPendingChanges pending(WishlistChange... changes) {
+        return new WishlistPendingChanges(ObjectId.get().toHexString(), CLIENT_ID, false, List.of(changes));
+    }
+
+    private static List<String> ids(List<ProductFavoriteCount> counts) {
+        return counts.stream().map(ProductFavoriteCount::getProductId).toList();
+    }
+
+    @Test
+    void start_with_backfill_reconciles_before_ranking() {
+        index = new ProductFavoriteIndex(repository, leases, true, true, 2, Duration.ofHours(1));
+        doReturn(true).when(leases).acquire(eq(ProductFavoriteIndex.RECONCILE_LEASE), anyString(), eq(Duration.ofHours(1)));
+        doReturn(List.of(ProductFavoriteCount.of("a", 5))).when(repository).findByCountGreaterThanOrderByCountDesc(0, PageRequest.of(0, 2));
+
+        index.start();
+
+        verify(repository).reconcile(any(Instant.class));
+        assertEquals(List.of("a"), ids(index.top(10)));
+    }
+
+    @Test
+    void reconcile_skips_without_lease() {
+        doReturn(false).when(leases).acquire(eq(ProductFavoriteIndex.RECONCILE_LEASE), anyString(), eq(Duration.ofHours(1)));
+
+        index.reconcile();
+
+        verify(repository, never()).reconcile(any());
+    }
+}
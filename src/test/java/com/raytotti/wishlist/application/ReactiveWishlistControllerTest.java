@@ -0,0 +1,216 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.domain.ProductStorage;
+import com.raytotti.wishlist.domain.ReactiveWishlistRepository;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.exception.ClientNotFoundException;
+import com.raytotti.wishlist.exception.ProductExistsException;
+import com.raytotti.wishlist.exception.ProductNotFoundException;
+import com.raytotti.wishlist.exception.WishlistNotFoundException;
+import com.raytotti.wishlist.service.ReactiveClientService;
+import com.raytotti.wishlist.service.ReactiveProductService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class ReactiveWishlistControllerTest {
+
+    private final ObjectId CLIENT_ID = ObjectId.get();
+    private final String PRODUCT_ID = ObjectId.get().toHexString();
+    private final WishlistAddProductRequest REQUEST = new WishlistAddProductRequest(PRODUCT_ID);
+    private final SimpleProduct SIMPLE_PRODUCT = SimpleProduct.of(
+            PRODUCT_ID,
+            "PRODUCT-CODE",
+            "Product Description",
+            "Image URL",
+            BigDecimal.TEN
+    );
+
+    @Mock
+    private ReactiveWishlistRepository repository;
+    @Mock
+    private ReactiveClientService clientService;
+    @Mock
+    private ReactiveProductService productService;
+    private ReactiveWishlistController wishlistController;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        wishlistController = new ReactiveWishlistController(repository, clientService, productService, new ProductStorage(false, List.of()));
+        doReturn(Mono.just(SIMPLE_PRODUCT)).when(productService).getProductById(PRODUCT_ID);
+    }
+
+    private UriComponentsBuilder uriBuilder() {
+        return UriComponentsBuilder.fromUriString("http://localhost:8080");
+    }
+
+    @Test
+    public void addProduct_existing_wishlist() {
+        Wishlist wishlist = Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT);
+        doReturn(Mono.just(wishlist)).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Mono.just(wishlist)).when(repository).pushProduct(CLIENT_ID, SIMPLE_PRODUCT);
+
+        StepVerifier.create(wishlistController.addProduct(CLIENT_ID.toHexString(), REQUEST, uriBuilder()))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+                    assertNotNull(response.getHeaders().getLocation());
+                    assertEquals(CLIENT_ID.toHexString(), Objects.requireNonNull(response.getBody()).getClientId());
+                })
+                .verifyComplete();
+        verify(clientService, never()).existsClientId(CLIENT_ID.toHexString());
+    }
+
+    @Test
+    public void addProduct_first_product() {
+        Wishlist wishlist = Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT);
+        doReturn(Mono.empty()).when(repository).pushProduct(CLIENT_ID, SIMPLE_PRODUCT);
+        doReturn(Mono.empty()).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Mono.just(true)).when(clientService).existsClientId(CLIENT_ID.toHexString());
+        doReturn(Mono.just(wishlist)).when(repository).upsertProduct(CLIENT_ID, SIMPLE_PRODUCT);
+
+        StepVerifier.create(wishlistController.addProduct(CLIENT_ID.toHexString(), REQUEST, uriBuilder()))
+                .assertNext(response -> assertEquals(1, Objects.requireNonNull(response.getBody()).getProducts().size()))
+                .verifyComplete();
+        verify(repository, never()).pushProduct(CLIENT_ID, SIMPLE_PRODUCT);
+    }
+
+    @Test
+    public void addProduct_exists() {
+        doReturn(Mono.empty()).when(repository).pushProduct(CLIENT_ID, SIMPLE_PRODUCT);
+        doReturn(Mono.just(Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT))).when(repository).findByClientId(CLIENT_ID);
+
+        StepVerifier.create(wishlistController.addProduct(CLIENT_ID.toHexString(), REQUEST, uriBuilder()))
+                .verifyError(ProductExistsException.class);
+    }
+
+    @Test
+    public void addProduct_created_concurrently() {
+        doReturn(Mono.empty()).when(repository).pushProduct(CLIENT_ID, SIMPLE_PRODUCT);
+        doReturn(Mono.empty()).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Mono.just(true)).when(clientService).existsClientId(CLIENT_ID.toHexString());
+        doReturn(Mono.error(new DuplicateKeyException("clientId"))).when(repository).upsertProduct(CLIENT_ID, SIMPLE_PRODUCT);
+
+        StepVerifier.create(wishlistController.addProduct(CLIENT_ID.toHexString(), REQUEST, uriBuilder()))
+                .verifyError(ProductExistsException.class);
+    }
+
+    @Test
+    public void addProduct_client_not_found() {
+        doReturn(Mono.empty()).when(repository).pushProduct(CLIENT_ID, SIMPLE_PRODUCT);
+        doReturn(Mono.empty()).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Mono.just(false)).when(clientService).existsClientId(CLIENT_ID.toHexString());
+
+        StepVerifier.create(wishlistController.addProduct(CLIENT_ID.toHexString(), REQUEST, uriBuilder()))
+                .verifyError(ClientNotFoundException.class);
+    }
+
+    @Test
+    public void addProduct_product_not_found() {
+        doReturn(Mono.error(new ProductNotFoundException())).when(productService).getProductById(PRODUCT_ID);
+        doReturn(Mono.empty()).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Mono.just(false)).when(clientService).existsClientId(CLIENT_ID.toHexString());
+
+        StepVerifier.create(wishlistController.addProduct(CLIENT_ID.toHexString(), REQUEST, uriBuilder()))
+                .verifyError(ProductNotFoundException.class);
+    }
+
+    @Test
+    public void removeProduct_last_product() {
+        Wishlist wishlist = Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT);
+        wishlist.removeProduct(PRODUCT_ID);
+        doReturn(Mono.just(wishlist)).when(repository).pullProduct(CLIENT_ID, PRODUCT_ID);
+        doReturn(Mono.just(true)).when(repository).deleteIfEmpty(wishlist.getId());
+
+        StepVerifier.create(wishlistController.removeProduct(CLIENT_ID.toHexString(), PRODUCT_ID))
+                .assertNext(response -> assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode()))
+                .verifyComplete();
+        verify(repository).deleteIfEmpty(wishlist.getId());
+    }
+
+    @Test
+    public void removeProduct_wishlist_not_found() {
+        doReturn(Mono.empty()).when(repository).pullProduct(CLIENT_ID, PRODUCT_ID);
+        doReturn(Mono.just(false)).when(repository).existsByClientId(CLIENT_ID);
+
+        StepVerifier.create(wishlistController.removeProduct(CLIENT_ID.toHexString(), PRODUCT_ID))
+                .verifyError(WishlistNotFoundException.class);
+    }
+
+    @Test
+    public void removeProduct_product_not_found() {
+        doReturn(Mono.empty()).when(repository).pullProduct(CLIENT_ID, PRODUCT_ID);
+        doReturn(Mono.just(true)).when(repository).existsByClientId(CLIENT_ID);
+
+        StepVerifier.create(wishlistController.removeProduct(CLIENT_ID.toHexString(), PRODUCT_ID))
+                .verifyError(ProductNotFoundException.class);
+    }
+
+    @Test
+    public void existsProduct() {
+        doReturn(Mono.just(true)).when(repository).holdsProduct(CLIENT_ID, PRODUCT_ID);
+
+        StepVerifier.create(wishlistController.existsProduct(CLIENT_ID.toHexString(), PRODUCT_ID))
+                .assertNext(response -> assertEquals(Boolean.TRUE, response.getBody()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void findByClientId_found() {
+        doReturn(Mono.just(Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT))).when(repository).findByClientId(CLIENT_ID);
+
+        StepVerifier.create(wishlistController.findByClientId(CLIENT_ID.toHexString()))
+                .assertNext(response -> assertEquals(HttpStatus.OK, response.getStatusCode()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void findByClientId_hydrates_compact_products_in_one_batch() {
+        ProductStorage storage = new ProductStorage(true, List.of());
+        wishlistController = new ReactiveWishlistController(repository, clientService, productService, storage);
+        doReturn(Mono.just(Wishlist.of(CLIENT_ID.toHexString(), storage.compact(SIMPLE_PRODUCT)))).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Mono.just(Map.of(PRODUCT_ID, SIMPLE_PRODUCT))).when(productService).getProductsByIds(List.of(PRODUCT_ID));
+
+        StepVerifier.create(wishlistController.findByClientId(CLIENT_ID.toHexString()))
+                .assertNext(response -> assertEquals("PRODUCT-CODE", Objects.requireNonNull(response.getBody()).getProducts().iterator().next().getCode()))
+                .verifyComplete();
+        verify(productService, never()).getProductById(PRODUCT_ID);
+    }
+
+    @Test
+    public void findByClientId_empty_wishlist_not_found() {
+        Wishlist wishlist = Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT);
+        wishlist.removeProduct(PRODUCT_ID);
+        doReturn(Mono.just(wishlist)).when(repository).findByClientId(CLIENT_ID);
+
+        StepVerifier.create(wishlistController.findByClientId(CLIENT_ID.toHexString()))
+                .verifyError(WishlistNotFoundException.class);
+    }
+
+    @Test
+    public void findByClientId_not_found() {
+        doReturn(Mono.empty()).when(repository).findByClientId(CLIENT_ID);
+
+        StepVerifier.create(wishlistController.findByClientId(CLIENT_ID.toHexString()))
+                .verifyError(WishlistNotFoundException.class);
+    }
+}
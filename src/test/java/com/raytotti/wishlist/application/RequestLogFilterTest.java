@@ -0,0 +1,54 @@
+package com.raytotti.wishlist.application;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestLogFilterTest {
+
+    @Test
+    void sampled_errors_and_slow_requests_always() {
+        RequestLogFilter filter = new RequestLogFilter(0, Duration.ofSeconds(1));
+
+        assertFalse(filter.sampled(200, Duration.ofMillis(5).toNanos()));
+        assertFalse(filter.sampled(404, Duration.ofMillis(5).toNanos()));
+        assertTrue(filter.sampled(503, Duration.ofMillis(5).toNanos()));
+        assertTrue(filter.sampled(200, Duration.ofSeconds(2).toNanos()));
+    }
+
+    @Test
+    void sampled_everything() {
+        RequestLogFilter filter = new RequestLogFilter(1, Duration.ofSeconds(1));
+
+        assertTrue(filter.sampled(200, 0));
+    }
+
+    @Test
+    void doFilter() throws Exception {
+        RequestLogFilter filter = new RequestLogFilter(1, Duration.ofSeconds(1));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/wishlists/clients/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void doFilter_skips_actuator() {
+        RequestLogFilter filter = new RequestLogFilter(1, Duration.ofSeconds(1));
+
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/actuator/prometheus")));
+        assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/v1/wishlists/clients/1")));
+    }
+}
@@ -0,0 +1,238 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.application.WishlistBatchItemResponse.Operation;
+import com.raytotti.wishlist.application.WishlistBatchItemResponse.Status;
+import com.raytotti.wishlist.domain.ProductStorage;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.domain.WishlistRepository;
+import com.raytotti.wishlist.domain.WishlistVersion;
+import com.raytotti.wishlist.exception.ClientNotFoundException;
+import com.raytotti.wishlist.exception.PreconditionFailedException;
+import com.raytotti.wishlist.exception.WishlistConflictException;
+import com.raytotti.wishlist.service.ClientService;
+import com.raytotti.wishlist.service.ProductService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class WishlistBatchProcessorTest {
+
+    private final ObjectId CLIENT_ID = ObjectId.get();
+    private final String WISHLIST_ID = ObjectId.get().toHexString();
+    private final SimpleProduct PRODUCT = product();
+    private final SimpleProduct OTHER_PRODUCT = product();
+
+    @Mock
+    private WishlistRepository repository;
+    @Mock
+    private ClientService clientService;
+    @Mock
+    private ProductService productService;
+    private WishlistBatchProcessor processor;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        processor = new WishlistBatchProcessor(repository, clientService, productService,
+                new WishlistHydrator(new ProductStorage(false, List.of()), productService));
+    }
+
+    private static SimpleProduct product() {
+        return SimpleProduct.of(ObjectId.get().toHexString(), "PRODUCT-CODE", "Product Description", "Image URL", BigDecimal.TEN);
+    }
+
+    private Wishlist stored(SimpleProduct... products) {
+        Wishlist wishlist = Wishlist.empty(CLIENT_ID.toHexString());
+        for (SimpleProduct product : products) {
+            wishlist.addProduct(product);
+        }
+        return wishlist;
+    }
+
+    private Wishlist versioned(Long version, SimpleProduct... products) {
+        Wishlist wishlist = stored(products);
+        ReflectionTestUtils.setField(wishlist, "id", WISHLIST_ID);
+        ReflectionTestUtils.setField(wishlist, "version", version);
+        return wishlist;
+    }
+
+    @Test
+    public void apply_first_products_creates_wishlist() {
+        String missingId = ObjectId.get().toHexString();
+        doReturn(Optional.empty()).when(repository).findByClientId(CLIENT_ID);
+        doReturn(true).when(clientService).existsClientId(CLIENT_ID.toHexString());
+        doReturn(Map.of(PRODUCT.getId(), PRODUCT)).when(productService).getProductsByIds(List.of(PRODUCT.getId(), missingId));
+        doAnswer(invocation -> invocation.getArgument(0)).when(repository).insert(any(Wishlist.class));
+
+        WishlistBatchResponse response = processor.apply(CLIENT_ID.toHexString(), new WishlistBatchRequest(List.of(PRODUCT.getId(), missingId), List.of()));
+
+        assertEquals(1, response.getWishlist().getProducts().size());
+        assertEquals(Status.ADDED, response.getResults().get(0).getStatus());
+        assertEquals(Status.PRODUCT_NOT_FOUND, response.getResults().get(1).getStatus());
+        assertEquals(Operation.ADD, response.getResults().get(1).getOperation());
+    }
+
+    @Test
+    public void apply_without_changes_hides_emptied_wishlist() {
+        doReturn(Optional.of(versioned(3L))).when(repository).findByClientId(CLIENT_ID);
+
+        WishlistBatchResponse response = processor.apply(CLIENT_ID.toHexString(), new WishlistBatchRequest(List.of(), List.of(PRODUCT.getId())));
+
+        assertNull(response.getWishlist());
+        assertEquals(Status.NOT_IN_WISHLIST, response.getResults().get(0).getStatus());
+    }
+
+    @Test
+    public void apply_client_not_found() {
+        doReturn(Optional.empty()).when(repository).findByClientId(CLIENT_ID);
+        doReturn(false).when(clientService).existsClientId(CLIENT_ID.toHexString());
+        doReturn(Map.of(PRODUCT.getId(), PRODUCT)).when(productService).getProductsByIds(List.of(PRODUCT.getId()));
+
+        assertThrows(ClientNotFoundException.class, () -> processor.apply(CLIENT_ID.toHexString(), new WishlistBatchRequest(List.of(PRODUCT.getId()), List.of())));
+        verify(repository, never()).insert(any(Wishlist.class));
+    }
+
+    @Test
+    public void apply_removes_before_adding_in_one_update() {
+        Wishlist current = versioned(2L, PRODUCT);
+        doReturn(Optional.of(current)).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Map.of(OTHER_PRODUCT.getId(), OTHER_PRODUCT)).when(productService).getProductsByIds(List.of(OTHER_PRODUCT.getId(), OTHER_PRODUCT.getId()));
+        doReturn(Optional.of(stored(OTHER_PRODUCT))).when(repository).replaceProducts(eq(new WishlistVersion(WISHLIST_ID, 2L)), anyCollection(), any());
+
+        WishlistBatchResponse response = processor.apply(CLIENT_ID.toHexString(),
+                new WishlistBatchRequest(List.of(OTHER_PRODUCT.getId(), OTHER_PRODUCT.getId()), List.of(PRODUCT.getId(), OTHER_PRODUCT.getId())));
+
+        assertEquals(List.of(Status.REMOVED, Status.NOT_IN_WISHLIST, Status.ADDED, Status.ALREADY_EXISTS),
+                response.getResults().stream().map(WishlistBatchItemResponse::getStatus).toList());
+        verify(repository, times(1)).replaceProducts(any(), anyCollection(), any());
+        verify(repository, never()).deleteIfEmpty(anyString());
+        verify(repository).replaceProducts(any(), anyCollection(), argThat(change -> change.added().equals(List.of(OTHER_PRODUCT.getId()))
+                && change.removed().equals(List.of(PRODUCT.getId()))));
+    }
+
+    @Test
+    public void apply_max_limit() {
+        List<SimpleProduct> products = new ArrayList<>();
+        for (int i = 0; i < Wishlist.MAX_PRODUCTS; i++) {
+            products.add(product());
+        }
+        doReturn(Optional.of(stored(products.toArray(SimpleProduct[]::new)))).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Map.of(PRODUCT.getId(), PRODUCT)).when(productService).getProductsByIds(List.of(PRODUCT.getId()));
+
+        WishlistBatchResponse response = processor.apply(CLIENT_ID.toHexString(), new WishlistBatchRequest(List.of(PRODUCT.getId()), List.of()));
+
+        assertEquals(Status.MAX_LIMIT, response.getResults().get(0).getStatus());
+        assertEquals(Wishlist.MAX_PRODUCTS, response.getWishlist().getProducts().size());
+        verify(repository, never()).replaceProducts(any(), anyCollection(), any());
+    }
+
+    @Test
+    public void apply_removing_last_product_deletes_wishlist() {
+        doReturn(Optional.of(stored(PRODUCT))).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Optional.of(Wishlist.empty(CLIENT_ID.toHexString()))).when(repository).replaceProducts(any(), anyCollection(), any());
+
+        WishlistBatchResponse response = processor.apply(CLIENT_ID.toHexString(), new WishlistBatchRequest(List.of(), List.of(PRODUCT.getId())));
+
+        assertNull(response.getWishlist());
+        assertEquals(Status.REMOVED, response.getResults().get(0).getStatus());
+        verify(repository).deleteIfEmpty(any());
+        verify(productService, never()).getProductsByIds(anyCollection());
+    }
+
+    @Test
+    public void apply_retries_when_changed_concurrently() {
+        doAnswer(invocation -> Optional.of(stored(PRODUCT))).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Map.of(OTHER_PRODUCT.getId(), OTHER_PRODUCT)).when(productService).getProductsByIds(List.of(OTHER_PRODUCT.getId()));
+        doReturn(Optional.empty(), Optional.of(stored(PRODUCT, OTHER_PRODUCT))).when(repository).replaceProducts(any(), anyCollection(), any());
+
+        WishlistBatchResponse response = processor.apply(CLIENT_ID.toHexString(), new WishlistBatchRequest(List.of(OTHER_PRODUCT.getId()), List.of()));
+
+        assertEquals(2, response.getWishlist().getProducts().size());
+        verify(repository, times(2)).findByClientId(CLIENT_ID);
+    }
+
+    @Test
+    public void apply_created_concurrently() {
+        doReturn(Optional.empty(), Optional.of(stored(PRODUCT))).when(repository).findByClientId(CLIENT_ID);
+        doReturn(true).when(clientService).existsClientId(CLIENT_ID.toHexString());
+        doReturn(Map.of(OTHER_PRODUCT.getId(), OTHER_PRODUCT)).when(productService).getProductsByIds(List.of(OTHER_PRODUCT.getId()));
+        doThrow(new DuplicateKeyException("clientId")).when(repository).insert(any(Wishlist.class));
+        doReturn(Optional.of(stored(PRODUCT, OTHER_PRODUCT))).when(repository).replaceProducts(any(), anyCollection(), any());
+
+        WishlistBatchResponse response = processor.apply(CLIENT_ID.toHexString(), new WishlistBatchRequest(List.of(OTHER_PRODUCT.getId()), List.of()));
+
+        assertEquals(2, response.getWishlist().getProducts().size());
+        verify(clientService, times(1)).existsClientId(CLIENT_ID.toHexString());
+    }
+
+    @Test
+    public void apply_gives_up_after_max_attempts() {
+        doAnswer(invocation -> Optional.of(stored(PRODUCT))).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Optional.empty()).when(repository).replaceProducts(any(), anyCollection(), any());
+
+        assertThrows(WishlistConflictException.class, () -> processor.apply(CLIENT_ID.toHexString(), new WishlistBatchRequest(List.of(), List.of(PRODUCT.getId()))));
+        verify(repository, times(WishlistBatchProcessor.MAX_ATTEMPTS)).findByClientId(CLIENT_ID);
+    }
+
+    @Test
+    public void applyIfMatch_writes_once_at_expected_version() {
+        doReturn(Optional.of(versioned(2L, PRODUCT))).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Optional.of(versioned(3L))).when(repository).replaceProducts(eq(new WishlistVersion(WISHLIST_ID, 2L)), anyCollection(), any());
+        doReturn(true).when(repository).deleteIfEmpty(WISHLIST_ID);
+
+        WishlistBatchResponse response = processor.applyIfMatch(CLIENT_ID.toHexString(), new WishlistBatchRequest(List.of(), List.of(PRODUCT.getId())), new WishlistVersion(WISHLIST_ID, 2L));
+
+        assertEquals(Status.REMOVED, response.getResults().get(0).getStatus());
+    }
+
+    @Test
+    public void applyIfMatch_stale_version() {
+        doReturn(Optional.of(versioned(3L, PRODUCT))).when(repository).findByClientId(CLIENT_ID);
+
+        assertThrows(PreconditionFailedException.class, () -> processor.applyIfMatch(CLIENT_ID.toHexString(), new WishlistBatchRequest(List.of(), List.of(PRODUCT.getId())), new WishlistVersion(WISHLIST_ID, 2L)));
+        verify(repository, never()).replaceProducts(any(), anyCollection(), any());
+    }
+
+    @Test
+    public void applyIfMatch_changed_concurrently_does_not_retry() {
+        doReturn(Optional.of(versioned(2L, PRODUCT))).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Optional.empty()).when(repository).replaceProducts(any(), anyCollection(), any());
+
+        assertThrows(PreconditionFailedException.class, () -> processor.applyIfMatch(CLIENT_ID.toHexString(), new WishlistBatchRequest(List.of(), List.of(PRODUCT.getId())), null));
+        verify(repository, times(1)).findByClientId(CLIENT_ID);
+    }
+
+    @Test
+    public void applyIfMatch_wishlist_not_found() {
+        doReturn(Optional.empty()).when(repository).findByClientId(CLIENT_ID);
+
+        assertThrows(PreconditionFailedException.class, () -> processor.applyIfMatch(CLIENT_ID.toHexString(), new WishlistBatchRequest(List.of(PRODUCT.getId()), List.of()), null));
+        verify(repository, never()).insert(any(Wishlist.class));
+    }
+}
@@ -1,32 +1,64 @@
 package com.raytotti.wishlist.application;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raytotti.wishlist.configuration.BoundedExecutor;
+import com.raytotti.wishlist.domain.ProductStorage;
 import com.raytotti.wishlist.domain.SimpleProduct;
 import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.domain.WishlistPage;
 import com.raytotti.wishlist.domain.WishlistRepository;
+import com.raytotti.wishlist.domain.WishlistSnapshot;
+import com.raytotti.wishlist.domain.WishlistVersion;
+import com.raytotti.wishlist.domain.WishlistView;
 import com.raytotti.wishlist.exception.ClientNotFoundException;
+import com.raytotti.wishlist.exception.MaxLimitProductException;
+import com.raytotti.wishlist.exception.PreconditionFailedException;
+import com.raytotti.wishlist.exception.ProductExistsException;
+import com.raytotti.wishlist.exception.ProductNotFoundException;
 import com.raytotti.wishlist.exception.WishlistNotFoundException;
 import com.raytotti.wishlist.service.ClientService;
 import com.raytotti.wishlist.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.openMocks;
 
 class WishlistControllerTest {
@@ -54,12 +86,27 @@ class WishlistControllerTest {
     private ClientService clientService;
     @Mock
     private ProductService productService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private WishlistResponseCache responseCache;
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WishlistPhaseTimer phaseTimer = new WishlistPhaseTimer(meterRegistry, true);
+    private WishlistHydrator hydrator;
+    private BoundedExecutor addLookupExecutor;
     private WishlistController wishlistController;
 
     @BeforeEach
     public void setUp() {
         openMocks(this);
-        wishlistController = new WishlistController(repository, clientService, productService);
+        addLookupExecutor = new BoundedExecutor("add-lookup-test-", 2, 10);
+        hydrator = new WishlistHydrator(new ProductStorage(false, List.of()), productService);
+        responseCache = new WishlistResponseCache(objectMapper, new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(1));
+        wishlistController = new WishlistController(repository,
+                new AddProductLookups(repository, clientService, productService, addLookupExecutor),
+                new WishlistBatchProcessor(repository, clientService, productService, hydrator),
+                responseCache,
+                new WishlistResponseSnapshots(repository, false),
+                hydrator,
+                phaseTimer);
 
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
         mockRequest.setContextPath("/api/v1/wishlists");
@@ -67,27 +114,48 @@ class WishlistControllerTest {
         RequestContextHolder.setRequestAttributes(attrs);
     }
 
+    @AfterEach
+    public void tearDown() {
+        addLookupExecutor.destroy();
+    }
+
     @Test
     public void addProduct_first_product() {
         Wishlist wishlist = Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT);
 
+        doReturn(Optional.empty()).when(repository).pushProduct(CLIENT_ID, SIMPLE_PRODUCT);
         doReturn(Optional.empty()).when(repository).findByClientId(CLIENT_ID);
-        doReturn(wishlist).when(repository).save(wishlist);
+        doReturn(wishlist).when(repository).upsertProduct(CLIENT_ID, SIMPLE_PRODUCT);
         doReturn(true).when(clientService).existsClientId(CLIENT_ID.toHexString());
         doReturn(SIMPLE_PRODUCT).when(productService).getProductById(PRODUCT_ID);
 
-        ResponseEntity<WishlistResponse> response = wishlistController.addProduct(CLIENT_ID.toHexString(), REQUEST);
+        ResponseEntity<WishlistResponse> response = wishlistController.addProduct(CLIENT_ID.toHexString(), REQUEST, null);
 
         assertNotNull(response.getHeaders().get("location"));
         assertEquals(1, Objects.requireNonNull(response.getBody()).getProducts().size());
         assertEquals(CLIENT_ID.toHexString(), Objects.requireNonNull(response.getBody()).getClientId());
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        verify(repository).pushProduct(CLIENT_ID, SIMPLE_PRODUCT);
     }
 
     @Test
-    public void addProduct_more_than_one() {
-        Wishlist wishlistFind = Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT);
+    public void addProduct_phases() {
+        doReturn(Optional.empty()).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT)).when(repository).upsertProduct(CLIENT_ID, SIMPLE_PRODUCT);
+        doReturn(true).when(clientService).existsClientId(CLIENT_ID.toHexString());
+        doReturn(SIMPLE_PRODUCT).when(productService).getProductById(PRODUCT_ID);
 
+        ResponseEntity<WishlistResponse> response = wishlistController.addProduct(CLIENT_ID.toHexString(), REQUEST, null);
+
+        String serverTiming = response.getHeaders().getFirst(WishlistPhaseTimer.SERVER_TIMING);
+        assertNotNull(serverTiming);
+        assertEquals(List.of("product", "write", "client", "write", "hydrate", "total"),
+                Arrays.stream(serverTiming.split(", ")).map(timing -> timing.substring(0, timing.indexOf(";dur="))).toList());
+        assertEquals(1, meterRegistry.get(WishlistPhaseTimer.METRIC).tag("operation", "addProduct").tag("phase", "client").timer().count());
+    }
+
+    @Test
+    public void addProduct_more_than_one() {
         Wishlist wishlistSave = Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT);
         String otherProductId = ObjectId.get().toHexString();
         SimpleProduct otherProduct = SimpleProduct.of(
@@ -99,25 +167,94 @@ class WishlistControllerTest {
         );
         wishlistSave.addProduct(otherProduct);
 
-        doReturn(Optional.of(wishlistFind)).when(repository).findByClientId(CLIENT_ID);
-        doReturn(wishlistSave).when(repository).save(wishlistSave);
-        doReturn(true).when(clientService).existsClientId(CLIENT_ID.toHexString());
+        doReturn(Optional.of(Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT))).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Optional.of(wishlistSave)).when(repository).pushProduct(CLIENT_ID, otherProduct);
         doReturn(otherProduct).when(productService).getProductById(otherProductId);
 
-        ResponseEntity<WishlistResponse> response = wishlistController.addProduct(CLIENT_ID.toHexString(), new WishlistAddProductRequest(otherProductId));
+        ResponseEntity<WishlistResponse> response = wishlistController.addProduct(CLIENT_ID.toHexString(), new WishlistAddProductRequest(otherProductId), null);
 
         assertNotNull(response.getHeaders().get("location"));
         assertEquals(2, Objects.requireNonNull(response.getBody()).getProducts().size());
         assertEquals(CLIENT_ID.toHexString(), Objects.requireNonNull(response.getBody()).getClientId());
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        verify(repository, never()).upsertProduct(CLIENT_ID, otherProduct);
+        verify(repository, never()).findByClientId(CLIENT_ID);
+    }
+
+    @Test
+    public void addProduct_exists() {
+        doReturn(Optional.empty()).when(repository).pushProduct(CLIENT_ID, SIMPLE_PRODUCT);
+        doReturn(true).when(clientService).existsClientId(CLIENT_ID.toHexString());
+        doThrow(new DuplicateKeyException("clientId")).when(repository).upsertProduct(CLIENT_ID, SIMPLE_PRODUCT);
+        doReturn(Optional.of(Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT))).when(repository).findByClientId(CLIENT_ID);
+        doReturn(SIMPLE_PRODUCT).when(productService).getProductById(PRODUCT_ID);
+
+        assertThrows(ProductExistsException.class, () -> wishlistController.addProduct(CLIENT_ID.toHexString(), REQUEST, null));
+    }
+
+    @Test
+    public void addProduct_max_limit() {
+        Wishlist wishlistFind = Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT);
+        for (int i = 1; i < Wishlist.MAX_PRODUCTS; i++) {
+            wishlistFind.addProduct(SimpleProduct.of(ObjectId.get().toHexString(), CODE, DESCRIPTION, THUMBNAIL, PRICE));
+        }
+        String otherProductId = ObjectId.get().toHexString();
+        SimpleProduct otherProduct = SimpleProduct.of(otherProductId, CODE, DESCRIPTION, THUMBNAIL, PRICE);
+
+        doReturn(Optional.empty()).when(repository).pushProduct(CLIENT_ID, otherProduct);
+        doReturn(true).when(clientService).existsClientId(CLIENT_ID.toHexString());
+        doThrow(new DuplicateKeyException("clientId")).when(repository).upsertProduct(CLIENT_ID, otherProduct);
+        doReturn(Optional.of(wishlistFind)).when(repository).findByClientId(CLIENT_ID);
+        doReturn(otherProduct).when(productService).getProductById(otherProductId);
+
+        assertThrows(MaxLimitProductException.class, () -> wishlistController.addProduct(CLIENT_ID.toHexString(), new WishlistAddProductRequest(otherProductId), null));
+    }
+
+    @Test
+    public void addProduct_created_concurrently() {
+        doReturn(Optional.empty()).when(repository).pushProduct(CLIENT_ID, SIMPLE_PRODUCT);
+        doReturn(Optional.empty()).when(repository).findByClientId(CLIENT_ID);
+        doThrow(new DuplicateKeyException("clientId")).when(repository).upsertProduct(CLIENT_ID, SIMPLE_PRODUCT);
+        doReturn(true).when(clientService).existsClientId(CLIENT_ID.toHexString());
+        doReturn(SIMPLE_PRODUCT).when(productService).getProductById(PRODUCT_ID);
+
+        assertThrows(ProductExistsException.class, () -> wishlistController.addProduct(CLIENT_ID.toHexString(), REQUEST, null));
     }
 
     @Test
     public void addProduct_client_not_found() {
+        doReturn(Optional.empty()).when(repository).pushProduct(CLIENT_ID, SIMPLE_PRODUCT);
         doReturn(Optional.empty()).when(repository).findByClientId(CLIENT_ID);
         doReturn(false).when(clientService).existsClientId(CLIENT_ID.toHexString());
+        doReturn(SIMPLE_PRODUCT).when(productService).getProductById(PRODUCT_ID);
+
+        assertThrows(ClientNotFoundException.class, () -> wishlistController.addProduct(CLIENT_ID.toHexString(), REQUEST, null));
+        verify(repository, never()).upsertProduct(CLIENT_ID, SIMPLE_PRODUCT);
+    }
+
+    @Test
+    public void addProduct_product_not_found() {
+        doReturn(Optional.empty()).when(repository).findByClientId(CLIENT_ID);
+        doReturn(true).when(clientService).existsClientId(CLIENT_ID.toHexString());
+        doThrow(new ProductNotFoundException()).when(productService).getProductById(PRODUCT_ID);
+
+        assertThrows(ProductNotFoundException.class, () -> wishlistController.addProduct(CLIENT_ID.toHexString(), REQUEST, null));
+        verify(repository, never()).upsertProduct(CLIENT_ID, SIMPLE_PRODUCT);
+    }
+
+    @Test
+    public void batch() {
+        Wishlist wishlist = Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT);
+        doReturn(Optional.empty()).when(repository).findByClientId(CLIENT_ID);
+        doReturn(true).when(clientService).existsClientId(CLIENT_ID.toHexString());
+        doReturn(Map.of(PRODUCT_ID, SIMPLE_PRODUCT)).when(productService).getProductsByIds(List.of(PRODUCT_ID));
+        doReturn(wishlist).when(repository).insert(any(Wishlist.class));
 
-        assertThrows(ClientNotFoundException.class, () -> wishlistController.addProduct(CLIENT_ID.toHexString(), REQUEST));
+        ResponseEntity<WishlistBatchResponse> response = wishlistController.batch(CLIENT_ID.toHexString(), new WishlistBatchRequest(List.of(PRODUCT_ID), List.of()), null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, Objects.requireNonNull(response.getBody()).getWishlist().getProducts().size());
+        assertEquals(WishlistBatchItemResponse.Status.ADDED, response.getBody().getResults().get(0).getStatus());
     }
 
     @Test
@@ -129,47 +266,71 @@ class WishlistControllerTest {
                 THUMBNAIL,
                 PRICE
         );
-        Wishlist wishlistFind = Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT);
-        wishlistFind.addProduct(otherProduct);
-        doReturn(Optional.of(wishlistFind)).when(repository).findByClientId(CLIENT_ID);
-
         Wishlist wishlistSave = Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT);
         wishlistSave.addProduct(otherProduct);
         wishlistSave.removeProduct(PRODUCT_ID);
-        doReturn(wishlistSave).when(repository).save(wishlistSave);
+        doReturn(Optional.of(wishlistSave)).when(repository).pullProduct(CLIENT_ID, PRODUCT_ID);
 
-        ResponseEntity<Void> response = wishlistController.removeProduct(CLIENT_ID.toHexString(), PRODUCT_ID);
+        ResponseEntity<Void> response = wishlistController.removeProduct(CLIENT_ID.toHexString(), PRODUCT_ID, null);
 
         assertNotNull(response);
         assertNull(response.getBody());
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(repository, never()).deleteIfEmpty(wishlistSave.getId());
     }
 
     @Test
     public void removeProduct_product_and_wishlist() {
         String wishlistId = ObjectId.get().toHexString();
-        doReturn(Optional.of(wishlistMock)).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Optional.of(wishlistMock)).when(repository).pullProduct(CLIENT_ID, PRODUCT_ID);
         doReturn(wishlistId).when(wishlistMock).getId();
+        doReturn(Collections.emptySet()).when(wishlistMock).getProducts();
+        doReturn(true).when(repository).deleteIfEmpty(wishlistId);
 
-        doNothing().when(repository).deleteById(wishlistId);
-
-        ResponseEntity<Void> response = wishlistController.removeProduct(CLIENT_ID.toHexString(), PRODUCT_ID);
+        ResponseEntity<Void> response = wishlistController.removeProduct(CLIENT_ID.toHexString(), PRODUCT_ID, null);
 
         assertNotNull(response);
         assertNull(response.getBody());
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(repository).deleteIfEmpty(wishlistId);
+    }
+
+    @Test
+    public void removeProduct_last_product_with_pending_changes() {
+        Wishlist emptied = Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT);
+        emptied.removeProduct(PRODUCT_ID);
+        doReturn(Optional.of(Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT))).when(repository).findByClientId(CLIENT_ID);
+        wishlistController.findByClientId(CLIENT_ID.toHexString(), null);
+        doReturn(Optional.of(emptied)).when(repository).pullProduct(CLIENT_ID, PRODUCT_ID);
+        doReturn(false).when(repository).deleteIfEmpty(emptied.getId());
+
+        ResponseEntity<Void> response = wishlistController.removeProduct(CLIENT_ID.toHexString(), PRODUCT_ID, null);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        assertNull(response.getHeaders().getETag());
+        doReturn(Optional.of(emptied)).when(repository).findByClientId(CLIENT_ID);
+        assertThrows(WishlistNotFoundException.class, () -> wishlistController.findByClientId(CLIENT_ID.toHexString(), null));
     }
 
     @Test
     public void removeProduct_wishlist_not_found() {
-        doReturn(Optional.empty()).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Optional.empty()).when(repository).pullProduct(CLIENT_ID, PRODUCT_ID);
+        doReturn(false).when(repository).existsByClientId(CLIENT_ID);
+
+        assertThrows(WishlistNotFoundException.class, () -> wishlistController.removeProduct(CLIENT_ID.toHexString(), PRODUCT_ID, null));
+    }
+
+    @Test
+    public void removeProduct_product_not_found() {
+        doReturn(Optional.empty()).when(repository).pullProduct(CLIENT_ID, PRODUCT_ID);
+        doReturn(true).when(repository).existsByClientId(CLIENT_ID);
 
-        assertThrows(WishlistNotFoundException.class, () -> wishlistController.removeProduct(CLIENT_ID.toHexString(), PRODUCT_ID));
+        assertThrows(ProductNotFoundException.class, () -> wishlistController.removeProduct(CLIENT_ID.toHexString(), PRODUCT_ID, null));
     }
 
     @Test
     public void existsProduct_found() {
-        doReturn(true).when(repository).existsByClientIdAndProductsId(CLIENT_ID, new ObjectId(PRODUCT_ID));
+        doReturn(true).when(repository).holdsProduct(CLIENT_ID, PRODUCT_ID);
 
         ResponseEntity<Boolean> response = wishlistController.existsProduct(CLIENT_ID.toHexString(), PRODUCT_ID);
 
@@ -181,13 +342,38 @@ class WishlistControllerTest {
     @Test
     public void existsProduct_not_found() {
         ObjectId productId = ObjectId.get();
-        doReturn(false).when(repository).existsByClientIdAndProductsId(CLIENT_ID, productId);
+        doReturn(false).when(repository).holdsProduct(CLIENT_ID, productId.toHexString());
 
         ResponseEntity<Boolean> response = wishlistController.existsProduct(CLIENT_ID.toHexString(), productId.toHexString());
 
         assertNotNull(response);
-        assertNull(response.getBody());
-        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(Boolean.FALSE, response.getBody());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    public void existsProducts() {
+        String otherId = ObjectId.get().toHexString();
+        doReturn(Set.of(PRODUCT_ID)).when(repository).heldProducts(CLIENT_ID, List.of(otherId, PRODUCT_ID));
+
+        ResponseEntity<Map<String, Boolean>> response = wishlistController.existsProducts(CLIENT_ID.toHexString(), List.of(otherId, PRODUCT_ID));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(otherId, PRODUCT_ID), List.copyOf(Objects.requireNonNull(response.getBody()).keySet()));
+        assertEquals(Boolean.FALSE, response.getBody().get(otherId));
+        assertEquals(Boolean.TRUE, response.getBody().get(PRODUCT_ID));
+    }
+
+    @Test
+    public void existsProducts_too_many() {
+        List<String> productIds = Stream.generate(() -> ObjectId.get().toHexString())
+                .limit(WishlistController.MAX_EXISTS_PRODUCTS + 1)
+                .toList();
+
+        ResponseEntity<Map<String, Boolean>> response = wishlistController.existsProducts(CLIENT_ID.toHexString(), productIds);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(repository, never()).heldProducts(CLIENT_ID, productIds);
     }
 
     @Test
@@ -196,17 +382,247 @@ class WishlistControllerTest {
 
         doReturn(Optional.of(wishlist)).when(repository).findByClientId(CLIENT_ID);
 
-        ResponseEntity<WishlistResponse> response = wishlistController.findByClientId(CLIENT_ID.toHexString());
+        ResponseEntity<byte[]> response = wishlistController.findByClientId(CLIENT_ID.toHexString(), null);
 
         assertNotNull(response);
         assertNotNull(response.getBody());
         assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(CLIENT_ID.toHexString(), readTree(response.getBody()).get("clientId").asText());
+    }
+
+    @Test
+    public void findByClientId_cached() {
+        doReturn(Optional.of(Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT))).when(repository).findByClientId(CLIENT_ID);
+
+        byte[] first = wishlistController.findByClientId(CLIENT_ID.toHexString(), null).getBody();
+        byte[] second = wishlistController.findByClientId(CLIENT_ID.toHexString(), null).getBody();
+
+        assertSame(first, second);
+        verify(repository, times(1)).findByClientId(CLIENT_ID);
+    }
+
+    @Test
+    public void findByClientId_updated_by_add() {
+        Wishlist wishlistSave = Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT);
+        String otherProductId = ObjectId.get().toHexString();
+        SimpleProduct otherProduct = SimpleProduct.of(otherProductId, CODE, DESCRIPTION, THUMBNAIL, PRICE);
+        wishlistSave.addProduct(otherProduct);
+        doReturn(Optional.of(Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT))).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Optional.of(wishlistSave)).when(repository).pushProduct(CLIENT_ID, otherProduct);
+        doReturn(otherProduct).when(productService).getProductById(otherProductId);
+
+        wishlistController.findByClientId(CLIENT_ID.toHexString(), null);
+        wishlistController.addProduct(CLIENT_ID.toHexString(), new WishlistAddProductRequest(otherProductId), null);
+        ResponseEntity<byte[]> response = wishlistController.findByClientId(CLIENT_ID.toHexString(), null);
+
+        assertEquals(2, readTree(response.getBody()).get("products").size());
+    }
+
+    @Test
+    public void findByClientId_evicted_by_delete() {
+        String wishlistId = ObjectId.get().toHexString();
+        doReturn(Optional.of(Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT))).when(repository).findByClientId(CLIENT_ID);
+        doReturn(Optional.of(wishlistMock)).when(repository).pullProduct(CLIENT_ID, PRODUCT_ID);
+        doReturn(wishlistId).when(wishlistMock).getId();
+        doReturn(Collections.emptySet()).when(wishlistMock).getProducts();
+        doReturn(true).when(repository).deleteIfEmpty(wishlistId);
+
+        wishlistController.findByClientId(CLIENT_ID.toHexString(), null);
+        wishlistController.removeProduct(CLIENT_ID.toHexString(), PRODUCT_ID, null);
+        doReturn(Optional.empty()).when(repository).findByClientId(CLIENT_ID);
+
+        assertThrows(WishlistNotFoundException.class, () -> wishlistController.findByClientId(CLIENT_ID.toHexString(), null));
+    }
+
+    @Test
+    public void findByClientId_etag() {
+        doReturn(Optional.of(Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT))).when(repository).findByClientId(CLIENT_ID);
+
+        ResponseEntity<byte[]> first = wishlistController.findByClientId(CLIENT_ID.toHexString(), null);
+        ResponseEntity<byte[]> second = wishlistController.findByClientId(CLIENT_ID.toHexString(), first.getHeaders().getETag());
+
+        assertNotNull(first.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertNull(second.getBody());
+        assertEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+    }
+
+    @Test
+    public void findByClientId_not_modified_without_cache() {
+        String wishlistId = ObjectId.get().toHexString();
+        doReturn(Optional.of(new WishlistVersion(wishlistId, 3L))).when(repository).findVersionByClientId(CLIENT_ID);
+
+        ResponseEntity<byte[]> response = wishlistController.findByClientId(CLIENT_ID.toHexString(), "\"" + wishlistId + "-3\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verify(repository, never()).findByClientId(CLIENT_ID);
+    }
+
+    @Test
+    public void findByClientId_modified_since_etag() {
+        String wishlistId = ObjectId.get().toHexString();
+        doReturn(Optional.of(new WishlistVersion(wishlistId, 4L))).when(repository).findVersionByClientId(CLIENT_ID);
+        doReturn(Optional.of(Wishlist.of(CLIENT_ID.toHexString(), SIMPLE_PRODUCT))).when(repository).findByClientId(CLIENT_ID);
+
+        ResponseEntity<byte[]> response = wishlistController.findByClientId(CLIENT_ID.toHexString(), "\"" + wishlistId + "-3\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+    }
+
+    @Test
+    public void addProduct_if_match_stale() {
+        String wishlistId = ObjectId.get().toHexString();
+        doReturn(Optional.of(wishlistMock)).when(repository).findByClientId(CLIENT_ID);
+        doReturn(wishlistId).when(wishlistMock).getId();
+        doReturn(4L).when(wishlistMock).getVersion();
+        doReturn(SIMPLE_PRODUCT).when(productService).getProductById(PRODUCT_ID);
+
+        assertThrows(PreconditionFailedException.class, () -> wishlistController.addProduct(CLIENT_ID.toHexString(), REQUEST, "\"" + wishlistId + "-3\""));
+        verify(repository, never()).pushProduct(any(), any(), any());
+    }
+
+    @Test
+    public void addProduct_if_match() {
+        String wishlistId = ObjectId.get().toHexString();
+        WishlistVersion version = new WishlistVersion(wishlistId, 3L);
+        doReturn(Optional.of(wishlistMock)).when(repository).findByClientId(CLIENT_ID);
+        doReturn(wishlistId).when(wishlistMock).getId();
+        doReturn(3L).when(wishlistMock).getVersion();
+        doReturn(CLIENT_ID).when(wishlistMock).getClientId();
+        doReturn(Set.of(SIMPLE_PRODUCT)).when(wishlistMock).getProducts();
+        doReturn(Optional.of(wishlistMock)).when(repository).pushProduct(CLIENT_ID, SIMPLE_PRODUCT, version);
+        doReturn(SIMPLE_PRODUCT).when(productService).getProductById(PRODUCT_ID);
+
+        ResponseEntity<WishlistResponse> response = wishlistController.addProduct(CLIENT_ID.toHexString(), REQUEST, "\"" + wishlistId + "-3\"");
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        verify(repository).pushProduct(CLIENT_ID, SIMPLE_PRODUCT, version);
+    }
+
+    @Test
+    public void removeProduct_if_match_stale() {
+        String wishlistId = ObjectId.get().toHexString();
+        WishlistVersion version = new WishlistVersion(wishlistId, 3L);
+        doReturn(Optional.empty()).when(repository).pullProduct(CLIENT_ID, PRODUCT_ID, version);
+        doReturn(Optional.of(new WishlistVersion(wishlistId, 4L))).when(repository).findVersionByClientId(CLIENT_ID);
+
+        assertThrows(PreconditionFailedException.class, () -> wishlistController.removeProduct(CLIENT_ID.toHexString(), PRODUCT_ID, "\"" + wishlistId + "-3\""));
+    }
+
+    @Test
+    public void removeProduct_if_match_product_not_found() {
+        String wishlistId = ObjectId.get().toHexString();
+        WishlistVersion version = new WishlistVersion(wishlistId, 3L);
+        doReturn(Optional.empty()).when(repository).pullProduct(CLIENT_ID, PRODUCT_ID, version);
+        doReturn(Optional.of(version)).when(repository).findVersionByClientId(CLIENT_ID);
+
+        assertThrows(ProductNotFoundException.class, () -> wishlistController.removeProduct(CLIENT_ID.toHexString(), PRODUCT_ID, "\"" + wishlistId + "-3\""));
+    }
+
+    @Test
+    public void removeProduct_malformed_if_match() {
+        assertThrows(PreconditionFailedException.class, () -> wishlistController.removeProduct(CLIENT_ID.toHexString(), PRODUCT_ID, "3"));
+        verify(repository, never()).pullProduct(any(), any(), any());
+    }
+
+    private WishlistController withSnapshots() {
+        return new WishlistController(repository,
+                new AddProductLookups(repository, clientService, productService, addLookupExecutor),
+                new WishlistBatchProcessor(repository, clientService, productService, hydrator),
+                responseCache,
+                new WishlistResponseSnapshots(repository, true),
+                hydrator,
+                phaseTimer);
+    }
+
+    @Test
+    public void findByClientId_snapshot() {
+        String wishlistId = ObjectId.get().toHexString();
+        byte[] json = "{\"clientId\":\"stored\"}".getBytes();
+        doReturn(Optional.of(new WishlistSnapshot(wishlistId, 2L, json))).when(repository).findSnapshotByClientId(CLIENT_ID);
+
+        ResponseEntity<byte[]> response = withSnapshots().findByClientId(CLIENT_ID.toHexString(), null);
+
+        assertSame(json, response.getBody());
+        assertEquals(WishlistETag.of(wishlistId, 2L), response.getHeaders().getETag());
+        verify(repository, never()).findByClientId(CLIENT_ID);
+    }
+
+    @Test
+    public void findByClientId_stale_snapshot_is_rewritten() {
+        String wishlistId = ObjectId.get().toHexString();
+        doReturn(Optional.of(new WishlistSnapshot(wishlistId, 2L, null))).when(repository).findSnapshotByClientId(CLIENT_ID);
+        doReturn(Optional.of(wishlistMock)).when(repository).findByClientId(CLIENT_ID);
+        doReturn(wishlistId).when(wishlistMock).getId();
+        doReturn(2L).when(wishlistMock).getVersion();
+        doReturn(CLIENT_ID).when(wishlistMock).getClientId();
+        doReturn(Set.of(SIMPLE_PRODUCT)).when(wishlistMock).getProducts();
+
+        ResponseEntity<byte[]> response = withSnapshots().findByClientId(CLIENT_ID.toHexString(), null);
+
+        verify(repository).storeSnapshot(new WishlistVersion(wishlistId, 2L), response.getBody());
+    }
+
+    @Test
+    public void findByClientId_snapshot_not_found() {
+        doReturn(Optional.empty()).when(repository).findSnapshotByClientId(CLIENT_ID);
+
+        assertThrows(WishlistNotFoundException.class, () -> withSnapshots().findByClientId(CLIENT_ID.toHexString(), null));
+        verify(repository, never()).findByClientId(CLIENT_ID);
+    }
+
+    @Test
+    public void findProducts() {
+        String wishlistId = ObjectId.get().toHexString();
+        SimpleProduct idOnly = SimpleProduct.of(PRODUCT_ID, CODE, DESCRIPTION, THUMBNAIL, PRICE);
+        doReturn(Optional.of(new WishlistPage(wishlistId, CLIENT_ID, 2L, List.of(idOnly), 3, PRODUCT_ID)))
+                .when(repository).findPageByClientId(CLIENT_ID, WishlistView.IDS, null, 1);
+
+        ResponseEntity<WishlistPageResponse> response = wishlistController.findProducts(CLIENT_ID.toHexString(), WishlistView.IDS, null, 1);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(PRODUCT_ID, Objects.requireNonNull(response.getBody()).getNextCursor());
+        assertEquals(3, response.getBody().getTotal());
+        assertEquals(WishlistETag.of(wishlistId, 2L), response.getHeaders().getETag());
+    }
+
+    @Test
+    public void findProducts_invalid_limit() {
+        ResponseEntity<WishlistPageResponse> response = wishlistController.findProducts(CLIENT_ID.toHexString(), WishlistView.FULL, null, Wishlist.MAX_PRODUCTS + 1);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(repository, never()).findPageByClientId(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    public void findProducts_empty_wishlist_not_found() {
+        doReturn(Optional.of(new WishlistPage(ObjectId.get().toHexString(), CLIENT_ID, 3L, List.of(), 0, null)))
+                .when(repository).findPageByClientId(CLIENT_ID, WishlistView.SUMMARY, null, 20);
+
+        assertThrows(WishlistNotFoundException.class, () -> wishlistController.findProducts(CLIENT_ID.toHexString(), WishlistView.SUMMARY, null, 20));
+    }
+
+    @Test
+    public void findProducts_not_found() {
+        doReturn(Optional.empty()).when(repository).findPageByClientId(CLIENT_ID, WishlistView.SUMMARY, null, 20);
+
+        assertThrows(WishlistNotFoundException.class, () -> wishlistController.findProducts(CLIENT_ID.toHexString(), WishlistView.SUMMARY, null, 20));
+    }
+
+    private JsonNode readTree(byte[] json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @Test
     public void findByClientId_not_found() {
         doReturn(Optional.empty()).when(repository).findByClientId(CLIENT_ID);
 
-        assertThrows(WishlistNotFoundException.class, () -> wishlistController.findByClientId(CLIENT_ID.toHexString()));
+        assertThrows(WishlistNotFoundException.class, () -> wishlistController.findByClientId(CLIENT_ID.toHexString(), null));
     }
 }
@@ -0,0 +1,56 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.domain.WishlistVersion;
+import com.raytotti.wishlist.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WishlistETagTest {
+
+    private static final String ID = "65f0c1a2b3c4d5e6f7a8b9c0";
+
+    @Test
+    void of() {
+        assertEquals("\"" + ID + "-3\"", WishlistETag.of(ID, 3L));
+        assertEquals("\"" + ID + "-0\"", WishlistETag.of(new WishlistVersion(ID, null)));
+    }
+
+    @Test
+    void noneMatch() {
+        String etag = WishlistETag.of(ID, 3L);
+
+        assertTrue(WishlistETag.noneMatch(null, etag));
+        assertTrue(WishlistETag.noneMatch(WishlistETag.of(ID, 2L), etag));
+        assertFalse(WishlistETag.noneMatch(etag, etag));
+        assertFalse(WishlistETag.noneMatch("W/" + etag, etag));
+        assertFalse(WishlistETag.noneMatch("\"other-1\", " + etag, etag));
+        assertFalse(WishlistETag.noneMatch("*", etag));
+    }
+
+    @Test
+    void parseIfMatch() {
+        assertEquals(new WishlistVersion(ID, 3L), WishlistETag.parseIfMatch(" \"" + ID + "-3\" "));
+        assertNull(WishlistETag.parseIfMatch("*"));
+        assertNull(WishlistETag.parseIfMatch(" "));
+    }
+
+    @Test
+    void parseIfMatch_malformed() {
+        assertThrows(PreconditionFailedException.class, () -> WishlistETag.parseIfMatch(ID + "-3"));
+        assertThrows(PreconditionFailedException.class, () -> WishlistETag.parseIfMatch("\"" + ID + "-x\""));
+        assertThrows(PreconditionFailedException.class, () -> WishlistETag.parseIfMatch("\"-3\""));
+        assertThrows(PreconditionFailedException.class, () -> WishlistETag.parseIfMatch("\"a-1\", \"b-2\""));
+    }
+
+    @Test
+    void matches() {
+        assertTrue(WishlistETag.matches(new WishlistVersion(ID, 0L), new WishlistVersion(ID, null)));
+        assertFalse(WishlistETag.matches(new WishlistVersion(ID, 1L), new WishlistVersion(ID, 2L)));
+        assertFalse(WishlistETag.matches(new WishlistVersion("other", 1L), new WishlistVersion(ID, 1L)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.domain.WishlistChange;
+import com.raytotti.wishlist.domain.WishlistEvent;
+import com.raytotti.wishlist.domain.WishlistEventRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class WishlistEventControllerTest {
+
+    private final ObjectId CLIENT_ID = ObjectId.get();
+
+    @Mock
+    private WishlistEventRepository repository;
+    private WishlistEventController controller;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        controller = new WishlistEventController(repository);
+    }
+
+    @Test
+    public void findEvents() {
+        WishlistChange change = WishlistChange.productAdded("product");
+        doReturn(List.of(WishlistEvent.of(CLIENT_ID, "wishlist", 4, change)))
+                .when(repository).findByClientIdAndSequenceGreaterThanOrderBySequenceAsc(CLIENT_ID, 3, PageRequest.of(0, 10));
+
+        ResponseEntity<List<WishlistEventResponse>> response = controller.findEvents(CLIENT_ID.toHexString(), 3, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        WishlistEventResponse event = Objects.requireNonNull(response.getBody()).get(0);
+        assertEquals(change.id().toHexString(), event.getId());
+        assertEquals(CLIENT_ID.toHexString(), event.getClientId());
+        assertEquals(4, event.getSequence());
+        assertEquals(WishlistChange.Type.PRODUCT_ADDED, event.getType());
+        assertEquals(List.of("product"), event.getAdded());
+    }
+
+    @Test
+    public void findEvents_invalid_limit() {
+        ResponseEntity<List<WishlistEventResponse>> response = controller.findEvents(CLIENT_ID.toHexString(), 0, WishlistEventController.MAX_EVENTS + 1);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(repository, never()).findByClientIdAndSequenceGreaterThanOrderBySequenceAsc(any(), anyLong(), any());
+    }
+}
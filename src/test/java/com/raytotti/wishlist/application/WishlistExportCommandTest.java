@@ -0,0 +1,68 @@
+package com.raytotti.wishlist.application;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class WishlistExportCommandTest {
+
+    @TempDir
+    private Path directory;
+    @Mock
+    private WishlistExporter exporter;
+    private Path file;
+    private WishlistExportCommand command;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        file = directory.resolve("wishlists.ndjson");
+        command = new WishlistExportCommand(exporter, null, file, WishlistFileFormat.NDJSON);
+    }
+
+    @Test
+    void export_from_start() throws IOException {
+        Files.writeString(file, "stale\n");
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("a\n".getBytes(StandardCharsets.UTF_8));
+            invocation.<WishlistExporter.Checkpoint>getArgument(3).reached("a", 1);
+            return 1L;
+        }).when(exporter).export(eq(WishlistFileFormat.NDJSON), isNull(), any(), any());
+
+        assertEquals(1, command.export());
+
+        assertEquals("a\n", Files.readString(file));
+        assertFalse(Files.exists(directory.resolve("wishlists.ndjson.checkpoint")));
+    }
+
+    @Test
+    void export_resumes_after_checkpoint() throws IOException {
+        Files.writeString(file, "a\npartial");
+        Files.writeString(directory.resolve("wishlists.ndjson.checkpoint"), "a 2");
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("b\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(exporter).export(eq(WishlistFileFormat.NDJSON), eq("a"), any(), any());
+
+        assertEquals(1, command.export());
+
+        assertEquals("a\nb\n", Files.readString(file));
+    }
+}
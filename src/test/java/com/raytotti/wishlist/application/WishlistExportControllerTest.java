@@ -0,0 +1,48 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.exception.InvalidCursorException;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class WishlistExportControllerTest {
+
+    @Mock
+    private WishlistExporter exporter;
+    private WishlistExportController controller;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        controller = new WishlistExportController(exporter);
+    }
+
+    @Test
+    public void export() throws IOException {
+        String after = ObjectId.get().toHexString();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.export(WishlistFileFormat.CSV, after, response);
+
+        assertEquals("text/csv;charset=UTF-8", response.getContentType());
+        assertEquals("attachment; filename=\"wishlists.csv\"", response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+        verify(exporter).export(eq(WishlistFileFormat.CSV), eq(after), eq(response.getOutputStream()), any());
+    }
+
+    @Test
+    public void export_invalid_cursor() {
+        assertThrows(InvalidCursorException.class, () -> controller.export(WishlistFileFormat.NDJSON, "not-an-id", new MockHttpServletResponse()));
+    }
+}
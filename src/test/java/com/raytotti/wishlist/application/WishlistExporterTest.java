@@ -0,0 +1,97 @@
+package com.raytotti.wishlist.application;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.domain.WishlistRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class WishlistExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleProduct PRODUCT = SimpleProduct.of(ObjectId.get().toHexString(), "PRODUCT-CODE", "Product, \"Description\"", "Image URL", new BigDecimal("10.50"));
+
+    @Mock
+    private WishlistRepository repository;
+    private WishlistExporter exporter;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        exporter = new WishlistExporter(repository, objectMapper, 2);
+    }
+
+    @Test
+    void export_ndjson_with_checkpoints() throws IOException {
+        Wishlist first = stored(PRODUCT);
+        Wishlist second = stored();
+        Wishlist third = stored(PRODUCT);
+        doReturn(Stream.of(first, second, third)).when(repository).streamAfter(null, 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<String> checkpoints = new ArrayList<>();
+
+        long exported = exporter.export(WishlistFileFormat.NDJSON, null, out, (lastWishlistId, count) -> checkpoints.add(lastWishlistId + "@" + count));
+
+        assertEquals(3, exported);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        JsonNode line = objectMapper.readTree(lines[0]);
+        assertEquals(first.getId(), line.get("id").asText());
+        assertEquals(PRODUCT.getId(), line.get("products").get(0).get("id").asText());
+        assertEquals(List.of(second.getId() + "@2", third.getId() + "@3"), checkpoints);
+    }
+
+    @Test
+    void export_csv() throws IOException {
+        Wishlist wishlist = stored(PRODUCT);
+        Wishlist empty = stored();
+        doReturn(Stream.of(wishlist, empty)).when(repository).streamAfter(null, 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exporter.export(WishlistFileFormat.CSV, null, out, (lastWishlistId, count) -> {
+        });
+
+        assertEquals(WishlistExporter.CSV_HEADER + "\n"
+                        + wishlist.getId() + "," + wishlist.getClientId().toHexString() + ",3," + PRODUCT.getId() + ",PRODUCT-CODE,\"Product, \"\"Description\"\"\",Image URL,10.50\n"
+                        + empty.getId() + "," + empty.getClientId().toHexString() + ",3,,,,,\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void export_csv_resumed_without_header() throws IOException {
+        String after = ObjectId.get().toHexString();
+        doReturn(Stream.empty()).when(repository).streamAfter(after, 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, exporter.export(WishlistFileFormat.CSV, after, out, (lastWishlistId, count) -> {
+        }));
+        assertEquals("", out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static Wishlist stored(SimpleProduct... products) {
+        Wishlist wishlist = Wishlist.empty(ObjectId.get().toHexString());
+        for (SimpleProduct product : products) {
+            wishlist.addProduct(product);
+        }
+        ReflectionTestUtils.setField(wishlist, "id", ObjectId.get().toHexString());
+        ReflectionTestUtils.setField(wishlist, "version", 3L);
+        return wishlist;
+    }
+}
@@ -0,0 +1,88 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.domain.ProductStorage;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.domain.WishlistPage;
+import com.raytotti.wishlist.domain.WishlistView;
+import com.raytotti.wishlist.service.ProductService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class WishlistHydratorTest {
+
+    private final ObjectId CLIENT_ID = ObjectId.get();
+    private final SimpleProduct PRODUCT = SimpleProduct.of(ObjectId.get().toHexString(), "PRODUCT-CODE", "Product Description", "Image URL", BigDecimal.TEN);
+    private final ProductStorage STORAGE = new ProductStorage(true, List.of("code"));
+
+    @Mock
+    private ProductService productService;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+    }
+
+    @Test
+    void hydrate_compact_wishlist() {
+        Wishlist wishlist = Wishlist.of(CLIENT_ID.toHexString(), STORAGE.compact(PRODUCT));
+        doReturn(Map.of(PRODUCT.getId(), PRODUCT)).when(productService).getProductsByIds(List.of(PRODUCT.getId()));
+
+        new WishlistHydrator(STORAGE, productService).hydrate(wishlist);
+
+        assertEquals("Product Description", wishlist.getProducts().iterator().next().getDescription());
+    }
+
+    @Test
+    void hydrate_keeps_stored_fields_of_unknown_products() {
+        Wishlist wishlist = Wishlist.of(CLIENT_ID.toHexString(), STORAGE.compact(PRODUCT));
+        doReturn(Map.of()).when(productService).getProductsByIds(List.of(PRODUCT.getId()));
+
+        new WishlistHydrator(STORAGE, productService).hydrate(wishlist);
+
+        assertEquals("PRODUCT-CODE", wishlist.getProducts().iterator().next().getCode());
+    }
+
+    @Test
+    void hydrate_full_storage() {
+        Wishlist wishlist = Wishlist.of(CLIENT_ID.toHexString(), PRODUCT);
+
+        new WishlistHydrator(new ProductStorage(false, List.of()), productService).hydrate(wishlist);
+
+        verify(productService, never()).getProductsByIds(anyCollection());
+    }
+
+    @Test
+    void hydrate_page_with_stored_fields() {
+        WishlistPage page = new WishlistPage(ObjectId.get().toHexString(), CLIENT_ID, 1L, List.of(STORAGE.compact(PRODUCT)), 1, null);
+
+        assertSame(page, new WishlistHydrator(STORAGE, productService).hydrate(page, WishlistView.IDS));
+        verify(productService, never()).getProductsByIds(anyCollection());
+    }
+
+    @Test
+    void hydrate_page_projects_view() {
+        WishlistPage page = new WishlistPage(ObjectId.get().toHexString(), CLIENT_ID, 1L, List.of(STORAGE.compact(PRODUCT)), 1, null);
+        doReturn(Map.of(PRODUCT.getId(), PRODUCT)).when(productService).getProductsByIds(List.of(PRODUCT.getId()));
+
+        SimpleProduct product = new WishlistHydrator(STORAGE, productService).hydrate(page, WishlistView.SUMMARY).products().get(0);
+
+        assertEquals(BigDecimal.TEN, product.getPrice());
+        assertNull(product.getDescription());
+    }
+}
@@ -0,0 +1,79 @@
+package com.raytotti.wishlist.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raytotti.wishlist.application.WishlistImportRow.Rejection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class WishlistImportCommandTest {
+
+    @TempDir
+    private Path directory;
+    @Mock
+    private WishlistImporter importer;
+    private final List<WishlistImportRow> rows = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        openMocks(this);
+        doAnswer(invocation -> {
+            Iterator<WishlistImportRow> iterator = invocation.getArgument(0);
+            WishlistImporter.Rejections rejections = invocation.getArgument(1);
+            iterator.forEachRemaining(rows::add);
+            rejections.rejected(rows.get(rows.size() - 1), Rejection.PRODUCT_NOT_FOUND);
+            return new WishlistImportReport(rows.size(), rows.size() - 1, 1);
+        }).when(importer).importRows(any(), any());
+    }
+
+    private WishlistImportCommand command(Path file, WishlistFileFormat format) {
+        return new WishlistImportCommand(importer, new ObjectMapper(), null, file, format);
+    }
+
+    @Test
+    void importFile_ndjson() throws IOException, InterruptedException {
+        Path file = directory.resolve("wishlists.ndjson");
+        Files.writeString(file, """
+                {"clientId":"a","productId":"1"}
+
+                not json
+                {"clientId":"b","productId":"2,3"}
+                """);
+
+        WishlistImportReport report = command(file, WishlistFileFormat.NDJSON).importFile();
+
+        assertEquals(new WishlistImportReport(3, 2, 1), report);
+        assertEquals(List.of(
+                new WishlistImportRow(1, "a", "1"),
+                new WishlistImportRow(3, null, null),
+                new WishlistImportRow(4, "b", "2,3")), rows);
+        assertEquals("line,clientId,productId,reason\n4,b,\"2,3\",PRODUCT_NOT_FOUND\n",
+                Files.readString(directory.resolve("wishlists.ndjson.rejected")));
+    }
+
+    @Test
+    void importFile_csv() throws IOException, InterruptedException {
+        Path file = directory.resolve("wishlists.csv");
+        Files.writeString(file, "clientId,productId\na, 1\nb\n");
+
+        WishlistImportReport report = command(file, WishlistFileFormat.CSV).importFile();
+
+        assertEquals(new WishlistImportReport(2, 1, 1), report);
+        assertEquals(List.of(new WishlistImportRow(2, "a", "1"), new WishlistImportRow(3, "b", null)), rows);
+        assertEquals("line,clientId,productId,reason\n3,b,,PRODUCT_NOT_FOUND\n",
+                Files.readString(directory.resolve("wishlists.csv.rejected")));
+    }
+}
@@ -0,0 +1,137 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.application.WishlistImportRow.Rejection;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.domain.WishlistRepository;
+import com.raytotti.wishlist.exception.DownstreamUnavailableException;
+import com.raytotti.wishlist.service.ProductService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class WishlistImporterTest {
+
+    private final ObjectId CLIENT_ID = ObjectId.get();
+    private final ObjectId OTHER_CLIENT_ID = ObjectId.get();
+    private final SimpleProduct PRODUCT = product();
+    private final SimpleProduct OTHER_PRODUCT = product();
+
+    @Mock
+    private WishlistRepository repository;
+    @Mock
+    private ProductService productService;
+    private WishlistImporter importer;
+    private final Map<Long, Rejection> rejected = Collections.synchronizedMap(new HashMap<>());
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        importer = new WishlistImporter(repository, productService, 100, 2);
+        doReturn(Map.of()).when(repository).findProductIdsByClientIds(anyCollection());
+        doReturn(Set.of()).when(repository).appendProducts(anyMap());
+        doAnswer(invocation -> {
+            Map<String, SimpleProduct> products = new HashMap<>();
+            for (String productId : invocation.<java.util.Collection<String>>getArgument(0)) {
+                if (productId.equals(PRODUCT.getId()) || productId.equals(OTHER_PRODUCT.getId())) {
+                    products.put(productId, productId.equals(PRODUCT.getId()) ? PRODUCT : OTHER_PRODUCT);
+                }
+            }
+            return products;
+        }).when(productService).getProductsByIds(anyCollection());
+    }
+
+    private static SimpleProduct product() {
+        return SimpleProduct.of(ObjectId.get().toHexString(), "PRODUCT-CODE", "Product Description", "Image URL", BigDecimal.TEN);
+    }
+
+    @Test
+    void importRows_groups_by_client_and_validates() throws InterruptedException {
+        doReturn(Map.of(OTHER_CLIENT_ID, Set.of(OTHER_PRODUCT.getId()))).when(repository).findProductIdsByClientIds(anyCollection());
+        List<WishlistImportRow> rows = List.of(
+                new WishlistImportRow(1, CLIENT_ID.toHexString(), PRODUCT.getId()),
+                new WishlistImportRow(2, CLIENT_ID.toHexString(), PRODUCT.getId()),
+                new WishlistImportRow(3, CLIENT_ID.toHexString(), "unknown"),
+                new WishlistImportRow(4, OTHER_CLIENT_ID.toHexString(), OTHER_PRODUCT.getId()),
+                new WishlistImportRow(5, "not-a-client", PRODUCT.getId()));
+
+        WishlistImportReport report = importer.importRows(rows.iterator(), (row, reason) -> rejected.put(row.line(), reason));
+
+        assertEquals(new WishlistImportReport(5, 1, 4), report);
+        assertEquals(Map.of(2L, Rejection.ALREADY_EXISTS, 3L, Rejection.PRODUCT_NOT_FOUND, 4L, Rejection.ALREADY_EXISTS, 5L, Rejection.INVALID), rejected);
+        verify(repository).appendProducts(Map.of(CLIENT_ID, List.of(PRODUCT)));
+    }
+
+    @Test
+    void importRows_max_limit() throws InterruptedException {
+        Set<String> held = IntStream.range(0, Wishlist.MAX_PRODUCTS - 1).mapToObj(i -> ObjectId.get().toHexString()).collect(Collectors.toSet());
+        doReturn(Map.of(CLIENT_ID, held)).when(repository).findProductIdsByClientIds(anyCollection());
+        List<WishlistImportRow> rows = List.of(
+                new WishlistImportRow(1, CLIENT_ID.toHexString(), PRODUCT.getId()),
+                new WishlistImportRow(2, CLIENT_ID.toHexString(), OTHER_PRODUCT.getId()));
+
+        WishlistImportReport report = importer.importRows(rows.iterator(), (row, reason) -> rejected.put(row.line(), reason));
+
+        assertEquals(new WishlistImportReport(2, 1, 1), report);
+        assertEquals(Map.of(2L, Rejection.MAX_LIMIT), rejected);
+    }
+
+    @Test
+    void importRows_conflict() throws InterruptedException {
+        doReturn(Set.of(CLIENT_ID)).when(repository).appendProducts(anyMap());
+
+        WishlistImportReport report = importer.importRows(
+                List.of(new WishlistImportRow(1, CLIENT_ID.toHexString(), PRODUCT.getId())).iterator(),
+                (row, reason) -> rejected.put(row.line(), reason));
+
+        assertEquals(new WishlistImportReport(1, 0, 1), report);
+        assertEquals(Map.of(1L, Rejection.CONFLICT), rejected);
+    }
+
+    @Test
+    void importRows_failed_chunk() throws InterruptedException {
+        doThrow(new DownstreamUnavailableException()).when(productService).getProductsByIds(anyCollection());
+
+        WishlistImportReport report = importer.importRows(
+                List.of(new WishlistImportRow(1, CLIENT_ID.toHexString(), PRODUCT.getId())).iterator(),
+                (row, reason) -> rejected.put(row.line(), reason));
+
+        assertEquals(new WishlistImportReport(1, 0, 1), report);
+        assertEquals(Map.of(1L, Rejection.FAILED), rejected);
+        verify(repository, never()).appendProducts(any());
+    }
+
+    @Test
+    void importRows_in_chunks() throws InterruptedException {
+        importer = new WishlistImporter(repository, productService, 1, 1);
+        List<WishlistImportRow> rows = new ArrayList<>();
+        rows.add(new WishlistImportRow(1, CLIENT_ID.toHexString(), PRODUCT.getId()));
+        rows.add(new WishlistImportRow(2, OTHER_CLIENT_ID.toHexString(), PRODUCT.getId()));
+
+        assertEquals(new WishlistImportReport(2, 2, 0), importer.importRows(rows.iterator(), (row, reason) -> rejected.put(row.line(), reason)));
+        verify(repository).appendProducts(Map.of(CLIENT_ID, List.of(PRODUCT)));
+        verify(repository).appendProducts(Map.of(OTHER_CLIENT_ID, List.of(PRODUCT)));
+    }
+}
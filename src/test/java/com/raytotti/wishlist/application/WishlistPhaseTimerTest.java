@@ -0,0 +1,40 @@
+package com.raytotti.wishlist.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WishlistPhaseTimerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void finish_with_server_timing() {
+        WishlistPhaseTimer.Phases phases = new WishlistPhaseTimer(meterRegistry, true).start("addProduct");
+
+        phases.run("write", () -> {
+        });
+        HttpHeaders headers = phases.finish();
+
+        String serverTiming = headers.getFirst(WishlistPhaseTimer.SERVER_TIMING);
+        assertEquals(2, serverTiming.split(", ").length);
+        assertTrue(serverTiming.startsWith("write;dur="));
+    }
+
+    @Test
+    void finish_without_server_timing_only_records_metrics() {
+        WishlistPhaseTimer.Phases phases = new WishlistPhaseTimer(meterRegistry, false).start("addProduct");
+
+        phases.run("write", () -> {
+        });
+        HttpHeaders headers = phases.finish();
+
+        assertFalse(headers.containsKey(WishlistPhaseTimer.SERVER_TIMING));
+        assertEquals(1, meterRegistry.get(WishlistPhaseTimer.METRIC).tag("phase", "write").timer().count());
+        assertEquals(1, meterRegistry.get(WishlistPhaseTimer.METRIC).tag("phase", "total").timer().count());
+    }
+}
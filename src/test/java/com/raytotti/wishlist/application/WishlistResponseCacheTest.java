@@ -0,0 +1,133 @@
+package com.raytotti.wishlist.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.domain.Wishlist;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class WishlistResponseCacheTest {
+
+    private final ObjectId CLIENT_ID = ObjectId.get();
+    private final SimpleProduct PRODUCT = SimpleProduct.of(
+            ObjectId.get().toHexString(),
+            "PRODUCT-CODE",
+            "Product Description",
+            "Image URL",
+            BigDecimal.TEN
+    );
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpleMeterRegistry meterRegistry;
+    private WishlistResponseCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new WishlistResponseCache(objectMapper, meterRegistry, true, 100, Duration.ofMinutes(1));
+    }
+
+    private WishlistResponse response() {
+        return WishlistResponse.from(Wishlist.of(CLIENT_ID.toHexString(), PRODUCT));
+    }
+
+    @Test
+    void put_serializes_response() throws Exception {
+        WishlistResponse response = response();
+
+        WishlistResponseCache.CachedResponse cached = cache.put(response);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(response), cached.json());
+        assertEquals(response.getETag(), cached.etag());
+        assertSame(cached, cache.get(CLIENT_ID.toHexString()).orElseThrow());
+        assertSame(cached, cache.get(CLIENT_ID.toHexString().toUpperCase()).orElseThrow());
+    }
+
+    @Test
+    void put_keeps_newer_version() {
+        String wishlistId = ObjectId.get().toHexString();
+        WishlistResponseCache.CachedResponse newer = cache.put(WishlistResponse.from(versioned(wishlistId, 2L)));
+
+        WishlistResponseCache.CachedResponse stored = cache.put(WishlistResponse.from(versioned(wishlistId, 1L)));
+
+        assertSame(newer, stored);
+        assertEquals(2L, cache.get(CLIENT_ID.toHexString()).orElseThrow().version());
+    }
+
+    @Test
+    void put_replaces_recreated_wishlist() {
+        cache.put(WishlistResponse.from(versioned(ObjectId.get().toHexString(), 5L)));
+        String wishlistId = ObjectId.get().toHexString();
+
+        WishlistResponseCache.CachedResponse stored = cache.put(WishlistResponse.from(versioned(wishlistId, 0L)));
+
+        assertEquals(wishlistId, stored.wishlistId());
+    }
+
+    private Wishlist versioned(String wishlistId, Long version) {
+        Wishlist wishlist = mock(Wishlist.class);
+        doReturn(wishlistId).when(wishlist).getId();
+        doReturn(CLIENT_ID).when(wishlist).getClientId();
+        doReturn(version).when(wishlist).getVersion();
+        return wishlist;
+    }
+
+    @Test
+    void evict() {
+        cache.put(response());
+
+        cache.evict(CLIENT_ID.toHexString());
+
+        assertTrue(cache.get(CLIENT_ID.toHexString()).isEmpty());
+    }
+
+    @Test
+    void wishlistChanged_by_wishlist_id() {
+        String wishlistId = ObjectId.get().toHexString();
+        Wishlist wishlist = mock(Wishlist.class);
+        doReturn(wishlistId).when(wishlist).getId();
+        doReturn(CLIENT_ID).when(wishlist).getClientId();
+        cache.put(WishlistResponse.from(wishlist));
+
+        cache.wishlistChanged(wishlistId, null);
+
+        assertTrue(cache.get(CLIENT_ID.toHexString()).isEmpty());
+    }
+
+    @Test
+    void wishlistChanged_by_client_id() {
+        cache.put(response());
+
+        cache.wishlistChanged(ObjectId.get().toHexString(), CLIENT_ID.toHexString());
+
+        assertTrue(cache.get(CLIENT_ID.toHexString()).isEmpty());
+    }
+
+    @Test
+    void disabled() {
+        cache = new WishlistResponseCache(objectMapper, meterRegistry, false, 100, Duration.ofMinutes(1));
+
+        cache.put(response());
+
+        assertTrue(cache.get(CLIENT_ID.toHexString()).isEmpty());
+    }
+
+    @Test
+    void metrics() {
+        cache.get(CLIENT_ID.toHexString());
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", WishlistResponseCache.CACHE_NAME).tag("result", "miss").functionCounter().count());
+    }
+}
@@ -0,0 +1,55 @@
+package com.raytotti.wishlist.application;
+
+import com.raytotti.wishlist.domain.WishlistRepository;
+import com.raytotti.wishlist.domain.WishlistVersion;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class WishlistResponseSnapshotsTest {
+
+    private final String WISHLIST_ID = ObjectId.get().toHexString();
+    private final byte[] JSON = "{}".getBytes();
+
+    @Mock
+    private WishlistRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+    }
+
+    private WishlistResponseCache.CachedResponse cached(String wishlistId) {
+        return new WishlistResponseCache.CachedResponse(wishlistId, 3L, WishlistETag.of(wishlistId, 3L), JSON);
+    }
+
+    @Test
+    void store() {
+        new WishlistResponseSnapshots(repository, true).store(cached(WISHLIST_ID));
+
+        verify(repository).storeSnapshot(new WishlistVersion(WISHLIST_ID, 3L), JSON);
+    }
+
+    @Test
+    void store_disabled() {
+        new WishlistResponseSnapshots(repository, false).store(cached(WISHLIST_ID));
+
+        verify(repository, never()).storeSnapshot(any(), any());
+    }
+
+    @Test
+    void store_failure_is_ignored() {
+        doThrow(new DataAccessResourceFailureException("down")).when(repository).storeSnapshot(any(), any());
+
+        assertDoesNotThrow(() -> new WishlistResponseSnapshots(repository, true).store(cached(WISHLIST_ID)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.raytotti.wishlist.configuration;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.ObservationView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BoundedExecutorTest {
+
+    private final ObservationRegistry observationRegistry = ObservationRegistry.create();
+
+    @BeforeEach
+    public void setUp() {
+        observationRegistry.observationConfig().observationHandler(context -> true);
+    }
+
+    @Test
+    void execute_keeps_the_parent_observation() throws Exception {
+        BoundedExecutor executor = new BoundedExecutor("bounded-test-", 1, 1, new ContextPropagatingTaskDecorator());
+        Observation parent = Observation.start("parent", observationRegistry);
+        try {
+            CompletableFuture<ObservationView> childParent = new CompletableFuture<>();
+            parent.scoped(() -> executor.execute(() -> {
+                Observation child = Observation.start("child", observationRegistry);
+                childParent.complete(child.getContext().getParentObservation());
+                child.stop();
+            }));
+
+            assertSame(parent, childParent.get(5, TimeUnit.SECONDS));
+        } finally {
+            parent.stop();
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void execute_without_decorator_starts_a_new_trace() throws Exception {
+        BoundedExecutor executor = new BoundedExecutor("bounded-test-", 1, 1);
+        Observation parent = Observation.start("parent", observationRegistry);
+        try {
+            CompletableFuture<ObservationView> childParent = new CompletableFuture<>();
+            parent.scoped(() -> executor.execute(() -> {
+                Observation child = Observation.start("child", observationRegistry);
+                childParent.complete(child.getContext().getParentObservation());
+                child.stop();
+            }));
+
+            assertNull(childParent.get(5, TimeUnit.SECONDS));
+        } finally {
+            parent.stop();
+            executor.destroy();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.raytotti.wishlist.domain;
+
+import com.mongodb.client.result.UpdateResult;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class JobLeaseRepositoryCustomImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    private JobLeaseRepositoryCustomImpl repository;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        repository = new JobLeaseRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @Test
+    void acquire_renews_own_or_expired_lease() {
+        doReturn(UpdateResult.acknowledged(1, 1L, null)).when(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(JobLease.class));
+
+        assertTrue(repository.acquire("job", "owner", Duration.ofSeconds(30)));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(JobLease.class));
+        assertEquals("job", query.getValue().getQueryObject().get("_id"));
+        List<?> holders = query.getValue().getQueryObject().get("$or", List.class);
+        assertEquals(new Document("owner", "owner"), holders.get(0));
+        assertEquals("owner", update.getValue().getUpdateObject().get("$set", Document.class).get("owner"));
+        assertTrue(update.getValue().getUpdateObject().get("$set", Document.class).get("expiresAt", Instant.class).isAfter(Instant.now()));
+    }
+
+    @Test
+    void acquire_creates_missing_lease() {
+        doReturn(UpdateResult.acknowledged(0, 0L, new BsonString("job"))).when(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(JobLease.class));
+
+        assertTrue(repository.acquire("job", "owner", Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void acquire_fails_while_held_by_another_owner() {
+        doThrow(new DuplicateKeyException("held")).when(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(JobLease.class));
+
+        assertFalse(repository.acquire("job", "owner", Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void release_only_own_lease() {
+        doReturn(UpdateResult.acknowledged(1, 1L, null)).when(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(JobLease.class));
+
+        repository.release("job", "owner");
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(JobLease.class));
+        assertEquals(new Document("_id", "job").append("owner", "owner"), query.getValue().getQueryObject());
+        assertFalse(update.getValue().getUpdateObject().get("$set", Document.class).get("expiresAt", Instant.class).isAfter(Instant.now()));
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(JobLease.class));
+    }
+
+    @Test
+    void findCursor() {
+        doReturn(null).when(mongoTemplate).findOne(any(Query.class), eq(JobLease.class));
+
+        assertEquals(Optional.empty(), repository.findCursor("job"));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(query.capture(), eq(JobLease.class));
+        assertEquals(new Document("_id", "job"), query.getValue().getQueryObject());
+        assertEquals(new Document("cursor", 1), query.getValue().getFieldsObject());
+    }
+
+    @Test
+    void moveCursor_only_by_owner() {
+        doReturn(UpdateResult.acknowledged(0, 0L, null)).when(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(JobLease.class));
+
+        assertFalse(repository.moveCursor("job", "owner", "cursor"));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(JobLease.class));
+        assertEquals(new Document("_id", "job").append("owner", "owner"), query.getValue().getQueryObject());
+        assertEquals(new Document("cursor", "cursor"), update.getValue().getUpdateObject().get("$set"));
+    }
+
+    @Test
+    void moveCursor_resets() {
+        doReturn(UpdateResult.acknowledged(1, 1L, null)).when(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(JobLease.class));
+
+        assertTrue(repository.moveCursor("job", "owner", null));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(JobLease.class));
+        assertEquals(new Document("cursor", 1), update.getValue().getUpdateObject().get("$unset"));
+    }
+}
@@ -0,0 +1,202 @@
+package com.raytotti.wishlist.domain;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class ProductFavoriteRepositoryCustomImplTest {
+
+    private final ObjectId CLIENT_ID = ObjectId.get();
+    private final String PRODUCT_ID = ObjectId.get().toHexString();
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    private ProductFavoriteRepositoryCustomImpl repository;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        repository = new ProductFavoriteRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @Test
+    void addClient_counts_new_client() {
+        doReturn(UpdateResult.acknowledged(0, 0L, new BsonObjectId())).when(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(ProductFavorite.class));
+        doReturn(ProductFavoriteCount.of(PRODUCT_ID, 4)).when(mongoTemplate).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(ProductFavoriteCount.class));
+
+        Optional<ProductFavoriteCount> count = repository.addClient(PRODUCT_ID, CLIENT_ID);
+
+        assertEquals(4, count.orElseThrow().getCount());
+        ArgumentCaptor<Query> membership = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).upsert(membership.capture(), any(Update.class), eq(ProductFavorite.class));
+        assertEquals(new Document("productId", PRODUCT_ID).append("clientId", CLIENT_ID), membership.getValue().getQueryObject());
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), options.capture(), eq(ProductFavoriteCount.class));
+        assertEquals(new Document("count", 1), update.getValue().getUpdateObject().get("$inc"));
+        assertTrue(options.getValue().isUpsert());
+    }
+
+    @Test
+    void addClient_already_counted() {
+        doReturn(UpdateResult.acknowledged(1, 0L, null)).when(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(ProductFavorite.class));
+
+        assertTrue(repository.addClient(PRODUCT_ID, CLIENT_ID).isEmpty());
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(ProductFavoriteCount.class));
+    }
+
+    @Test
+    void addClients_counts_only_inserted_pairs() {
+        ObjectId otherClientId = ObjectId.get();
+        BulkOperations favorites = mock(BulkOperations.class);
+        BulkOperations counts = mock(BulkOperations.class);
+        doReturn(favorites).when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, ProductFavorite.class);
+        doReturn(counts).when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, ProductFavoriteCount.class);
+        doReturn(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(
+                new BulkWriteUpsert(0, new BsonObjectId()),
+                new BulkWriteUpsert(2, new BsonObjectId())), List.of())).when(favorites).execute();
+
+        Map<ObjectId, List<String>> productIds = new LinkedHashMap<>();
+        productIds.put(CLIENT_ID, List.of(PRODUCT_ID, "other"));
+        productIds.put(otherClientId, List.of(PRODUCT_ID));
+        Map<String, Long> inserted = repository.addClients(productIds);
+
+        assertEquals(Map.of(PRODUCT_ID, 2L), inserted);
+        verify(favorites, times(3)).upsert(any(Query.class), any(Update.class));
+        ArgumentCaptor<Query> product = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(counts).upsert(product.capture(), update.capture());
+        assertEquals(new Document("_id", PRODUCT_ID), product.getValue().getQueryObject());
+        assertEquals(new Document("count", 2L), update.getValue().getUpdateObject().get("$inc"));
+        verify(counts).execute();
+    }
+
+    @Test
+    void addClients_keeps_pairs_inserted_before_a_conflict() {
+        BulkOperations favorites = mock(BulkOperations.class);
+        BulkOperations counts = mock(BulkOperations.class);
+        doReturn(favorites).when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, ProductFavorite.class);
+        doReturn(counts).when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, ProductFavoriteCount.class);
+        BulkOperationException error = mock(BulkOperationException.class);
+        doReturn(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(new BulkWriteUpsert(1, new BsonObjectId())), List.of())).when(error).getResult();
+        doThrow(error).when(favorites).execute();
+
+        assertEquals(Map.of("other", 1L), repository.addClients(Map.of(CLIENT_ID, List.of(PRODUCT_ID, "other"))));
+        verify(counts).execute();
+    }
+
+    @Test
+    void addClients_without_new_pairs() {
+        BulkOperations favorites = mock(BulkOperations.class);
+        doReturn(favorites).when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, ProductFavorite.class);
+        doReturn(BulkWriteResult.acknowledged(0, 1, 0, 0, List.of(), List.of())).when(favorites).execute();
+
+        assertTrue(repository.addClients(Map.of(CLIENT_ID, List.of(PRODUCT_ID))).isEmpty());
+        verify(mongoTemplate, never()).bulkOps(BulkOperations.BulkMode.UNORDERED, ProductFavoriteCount.class);
+    }
+
+    @Test
+    void removeClient() {
+        doReturn(DeleteResult.acknowledged(1)).when(mongoTemplate).remove(any(Query.class), eq(ProductFavorite.class));
+        doReturn(ProductFavoriteCount.of(PRODUCT_ID, 0)).when(mongoTemplate).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(ProductFavoriteCount.class));
+
+        assertEquals(0, repository.removeClient(PRODUCT_ID, CLIENT_ID).orElseThrow().getCount());
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(ProductFavoriteCount.class));
+        assertEquals(new Document("count", -1), update.getValue().getUpdateObject().get("$inc"));
+    }
+
+    @Test
+    void removeClient_not_counted() {
+        doReturn(DeleteResult.acknowledged(0)).when(mongoTemplate).remove(any(Query.class), eq(ProductFavorite.class));
+
+        assertTrue(repository.removeClient(PRODUCT_ID, CLIENT_ID).isEmpty());
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(ProductFavoriteCount.class));
+    }
+
+    @Test
+    void findClientIds() {
+        ObjectId after = ObjectId.get();
+        doReturn("productFavorite").when(mongoTemplate).getCollectionName(ProductFavorite.class);
+        doReturn(List.of(new Document("clientId", CLIENT_ID))).when(mongoTemplate).find(any(Query.class), eq(Document.class), eq("productFavorite"));
+
+        assertEquals(List.of(CLIENT_ID), repository.findClientIds(PRODUCT_ID, after, 11));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Document.class), eq("productFavorite"));
+        assertEquals(PRODUCT_ID, query.getValue().getQueryObject().get("productId"));
+        assertEquals(new Document("$gt", after), query.getValue().getQueryObject().get("clientId"));
+        assertEquals(new Document("clientId", 1), query.getValue().getSortObject());
+        assertEquals(11, query.getValue().getLimit());
+    }
+
+    @Test
+    void reconcile_replaces_pairs_and_drops_stale_ones() {
+        Instant startedAt = Instant.now();
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn("productFavorite").when(mongoTemplate).getCollectionName(ProductFavorite.class);
+        doReturn("productFavoriteCount").when(mongoTemplate).getCollectionName(ProductFavoriteCount.class);
+        doReturn(new AggregationResults<>(List.of(), new Document())).when(mongoTemplate).aggregate(any(Aggregation.class), anyString(), eq(Document.class));
+        doReturn(DeleteResult.acknowledged(3)).when(mongoTemplate).remove(any(Query.class), eq(ProductFavorite.class));
+
+        repository.reconcile(startedAt);
+
+        ArgumentCaptor<Aggregation> pairs = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(pairs.capture(), eq("wishlist"), eq(Document.class));
+        List<Document> pipeline = pairs.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        assertEquals(new Document("$literal", Date.from(startedAt)), pipeline.get(1).get("$project", Document.class).get("seenAt"));
+        assertEquals("merge", pipeline.get(2).get("$merge", Document.class).get("whenMatched"));
+
+        ArgumentCaptor<Query> stale = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(stale.capture(), eq(ProductFavorite.class));
+        assertEquals(List.of(new Document("seenAt", new Document("$lt", startedAt)), new Document("seenAt", new Document("$exists", false))),
+                stale.getValue().getQueryObject().get("$or"));
+
+        ArgumentCaptor<Aggregation> counts = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(counts.capture(), eq("productFavorite"), eq(Document.class));
+        assertEquals("replace", counts.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT).get(1).get("$merge", Document.class).get("whenMatched"));
+
+        ArgumentCaptor<Aggregation> orphans = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(orphans.capture(), eq("productFavoriteCount"), eq(Document.class));
+        List<Document> zeroing = orphans.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        assertEquals(new Document("count", new Document("$literal", 0)), zeroing.get(3).get("$project"));
+        assertEquals("discard", zeroing.get(4).get("$merge", Document.class).get("whenNotMatched"));
+    }
+}
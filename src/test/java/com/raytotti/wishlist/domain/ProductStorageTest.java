@@ -0,0 +1,70 @@
+package com.raytotti.wishlist.domain;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductStorageTest {
+
+    private final SimpleProduct PRODUCT = SimpleProduct.of(ObjectId.get().toHexString(), "PRODUCT-CODE", "Product Description", "Image URL", BigDecimal.TEN);
+
+    @Test
+    void full_keeps_products() {
+        ProductStorage storage = new ProductStorage(false, List.of());
+
+        assertSame(PRODUCT, storage.compact(PRODUCT));
+        assertTrue(storage.stores("description"));
+        assertTrue(storage.isComplete(SimpleProduct.of(PRODUCT.getId(), "", "", "", BigDecimal.ONE).retaining(List.of())));
+    }
+
+    @Test
+    void compact_keeps_id_and_configured_fields() {
+        ProductStorage storage = new ProductStorage(true, List.of("price", " "));
+
+        SimpleProduct stored = storage.compact(PRODUCT);
+
+        assertEquals(PRODUCT.getId(), stored.getId());
+        assertEquals(BigDecimal.TEN, stored.getPrice());
+        assertNull(stored.getCode());
+        assertNull(stored.getDescription());
+        assertFalse(storage.isComplete(stored));
+        assertTrue(storage.isComplete(PRODUCT));
+        assertTrue(storage.stores("_id"));
+        assertTrue(storage.stores("price"));
+        assertFalse(storage.stores("code"));
+    }
+
+    @Test
+    void compact_document() {
+        ProductStorage storage = new ProductStorage(true, List.of("code"));
+        ObjectId id = ObjectId.get();
+
+        Document stored = storage.compact(new Document("_id", id).append("code", "PRODUCT-CODE").append("thumbnail", "Image URL"));
+
+        assertEquals(new Document("_id", id).append("code", "PRODUCT-CODE"), stored);
+    }
+
+    @Test
+    void compact_on_insert() {
+        ProductStorage storage = new ProductStorage(true, List.of());
+
+        Wishlist stored = storage.onBeforeConvert(Wishlist.of(ObjectId.get().toHexString(), PRODUCT), "wishlist");
+
+        assertNull(stored.getProducts().iterator().next().getCode());
+    }
+
+    @Test
+    void unknown_field() {
+        assertThrows(IllegalArgumentException.class, () -> new ProductStorage(true, List.of("name")));
+    }
+}
@@ -0,0 +1,96 @@
+package com.raytotti.wishlist.domain;
+
+import com.mongodb.client.result.DeleteResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class ReactiveWishlistRepositoryCustomImplTest {
+
+    private final ObjectId CLIENT_ID = ObjectId.get();
+    private final ObjectId PRODUCT_ID = ObjectId.get();
+    private final SimpleProduct PRODUCT = SimpleProduct.of(
+            PRODUCT_ID.toHexString(),
+            "PRODUCT-CODE",
+            "Product Description",
+            "Image URL",
+            BigDecimal.TEN
+    );
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+    private ReactiveWishlistRepositoryCustomImpl repository;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        repository = new ReactiveWishlistRepositoryCustomImpl(mongoTemplate, new ProductStorage(false, List.of()), new WishlistOutbox(false));
+    }
+
+    @Test
+    void upsertProduct() {
+        Wishlist wishlist = Wishlist.of(CLIENT_ID.toHexString(), PRODUCT);
+        doReturn(Mono.just(wishlist)).when(mongoTemplate).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Wishlist.class));
+
+        StepVerifier.create(repository.upsertProduct(CLIENT_ID, PRODUCT))
+                .expectNext(wishlist)
+                .verifyComplete();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), any(Update.class), options.capture(), eq(Wishlist.class));
+        assertEquals(new Document("$ne", PRODUCT_ID), query.getValue().getQueryObject().get("products._id"));
+        assertTrue(options.getValue().isUpsert());
+    }
+
+    @Test
+    void pullProduct() {
+        doReturn(Mono.empty()).when(mongoTemplate).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Wishlist.class));
+
+        StepVerifier.create(repository.pullProduct(CLIENT_ID, PRODUCT_ID.toHexString()))
+                .verifyComplete();
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(Wishlist.class));
+        assertEquals(new Document("_id", PRODUCT_ID), update.getValue().getUpdateObject().get("$pull", Document.class).get("products"));
+    }
+
+    @Test
+    void deleteIfEmpty() {
+        doReturn(Mono.just(DeleteResult.acknowledged(1))).when(mongoTemplate).remove(any(Query.class), eq(Wishlist.class));
+
+        StepVerifier.create(repository.deleteIfEmpty(ObjectId.get().toHexString()))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void holdsProduct() {
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn(Mono.empty()).when(mongoTemplate).findOne(any(Query.class), eq(Document.class), eq("wishlist"));
+
+        StepVerifier.create(repository.holdsProduct(CLIENT_ID, PRODUCT_ID.toHexString()))
+                .expectNext(false)
+                .verifyComplete();
+    }
+}
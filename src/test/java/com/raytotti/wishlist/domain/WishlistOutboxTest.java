@@ -0,0 +1,61 @@
+package com.raytotti.wishlist.domain;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class WishlistOutboxTest {
+
+    private final SimpleProduct PRODUCT = SimpleProduct.of(ObjectId.get().toHexString(), "PRODUCT-CODE", "Product Description", "Image URL", BigDecimal.TEN);
+
+    @Test
+    void append_pushes_change() {
+        WishlistChange change = WishlistChange.productAdded(PRODUCT.getId());
+
+        Update update = new WishlistOutbox(true).append(new Update().inc("version", 1), change);
+
+        Document pushed = update.getUpdateObject().get("$push", Document.class).get("outbox", Document.class);
+        assertEquals(change, WishlistChange.from(pushed));
+    }
+
+    @Test
+    void append_disabled() {
+        Update update = new WishlistOutbox(false).append(new Update().inc("version", 1), WishlistChange.productAdded(PRODUCT.getId()));
+
+        assertNull(update.getUpdateObject().get("$push"));
+    }
+
+    @Test
+    void onBeforeSave_records_created_wishlist() {
+        Document document = new Document();
+
+        new WishlistOutbox(true).onBeforeSave(Wishlist.of(ObjectId.get().toHexString(), PRODUCT), document, "wishlist");
+
+        List<Document> outbox = document.getList("outbox", Document.class);
+        assertEquals(1, outbox.size());
+        WishlistChange change = WishlistChange.from(outbox.get(0));
+        assertEquals(WishlistChange.Type.PRODUCTS_CHANGED, change.type());
+        assertEquals(List.of(PRODUCT.getId()), change.added());
+        assertEquals(List.of(), change.removed());
+    }
+
+    @Test
+    void onBeforeSave_ignores_existing_wishlist() {
+        Wishlist wishlist = Wishlist.of(ObjectId.get().toHexString(), PRODUCT);
+        ReflectionTestUtils.setField(wishlist, "id", ObjectId.get().toHexString());
+        Document document = new Document();
+
+        new WishlistOutbox(true).onBeforeSave(wishlist, document, "wishlist");
+
+        assertFalse(document.containsKey("outbox"));
+    }
+}
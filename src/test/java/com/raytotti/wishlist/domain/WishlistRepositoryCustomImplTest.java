@@ -0,0 +1,715 @@
+package com.raytotti.wishlist.domain;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.raytotti.wishlist.exception.InvalidCursorException;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class WishlistRepositoryCustomImplTest {
+
+    private final ObjectId CLIENT_ID = ObjectId.get();
+    private final ObjectId PRODUCT_ID = ObjectId.get();
+    private final SimpleProduct PRODUCT = SimpleProduct.of(
+            PRODUCT_ID.toHexString(),
+            "PRODUCT-CODE",
+            "Product Description",
+            "Image URL",
+            BigDecimal.TEN
+    );
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    private WishlistRepositoryCustomImpl repository;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        repository = new WishlistRepositoryCustomImpl(mongoTemplate, new ProductStorage(false, List.of()), new WishlistOutbox(false));
+    }
+
+    @Test
+    void pushProduct() {
+        Wishlist wishlist = Wishlist.of(CLIENT_ID.toHexString(), PRODUCT);
+        doReturn(wishlist).when(mongoTemplate).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Wishlist.class));
+
+        Optional<Wishlist> response = repository.pushProduct(CLIENT_ID, PRODUCT);
+
+        assertTrue(response.isPresent());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), options.capture(), eq(Wishlist.class));
+
+        Document filter = query.getValue().getQueryObject();
+        assertEquals(CLIENT_ID, filter.get("clientId"));
+        assertEquals(new Document("$exists", false), filter.get("products." + (Wishlist.MAX_PRODUCTS - 1)));
+        assertEquals(new Document("$ne", PRODUCT_ID), filter.get("products._id"));
+        assertEquals(PRODUCT, update.getValue().getUpdateObject().get("$push", Document.class).get("products"));
+        assertTrue(options.getValue().isReturnNew());
+        assertFalse(options.getValue().isUpsert());
+    }
+
+    @Test
+    void pushProduct_outbox() {
+        repository = new WishlistRepositoryCustomImpl(mongoTemplate, new ProductStorage(false, List.of()), new WishlistOutbox(true));
+
+        repository.pushProduct(CLIENT_ID, PRODUCT);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(Wishlist.class));
+        Document push = update.getValue().getUpdateObject().get("$push", Document.class);
+        assertEquals(PRODUCT, push.get("products"));
+        assertEquals("PRODUCT_ADDED", push.get("outbox", Document.class).get("type"));
+        assertEquals(List.of(PRODUCT_ID.toHexString()), push.get("outbox", Document.class).get("added"));
+    }
+
+    @Test
+    void pullProduct_outbox() {
+        repository = new WishlistRepositoryCustomImpl(mongoTemplate, new ProductStorage(false, List.of()), new WishlistOutbox(true));
+
+        repository.pullProduct(CLIENT_ID, PRODUCT_ID.toHexString());
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(Wishlist.class));
+        Document pushed = update.getValue().getUpdateObject().get("$push", Document.class).get("outbox", Document.class);
+        assertEquals("PRODUCT_REMOVED", pushed.get("type"));
+        assertEquals(List.of(PRODUCT_ID.toHexString()), pushed.get("removed"));
+    }
+
+    @Test
+    void pushProduct_compact() {
+        repository = new WishlistRepositoryCustomImpl(mongoTemplate, new ProductStorage(true, List.of("price")), new WishlistOutbox(false));
+
+        repository.pushProduct(CLIENT_ID, PRODUCT);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(Wishlist.class));
+        SimpleProduct stored = (SimpleProduct) update.getValue().getUpdateObject().get("$push", Document.class).get("products");
+        assertEquals(PRODUCT.getPrice(), stored.getPrice());
+        assertNull(stored.getDescription());
+    }
+
+    @Test
+    void pushProduct_rejected() {
+        Optional<Wishlist> response = repository.pushProduct(CLIENT_ID, PRODUCT);
+
+        assertTrue(response.isEmpty());
+    }
+
+    @Test
+    void upsertProduct() {
+        Wishlist wishlist = Wishlist.of(CLIENT_ID.toHexString(), PRODUCT);
+        doReturn(wishlist).when(mongoTemplate).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Wishlist.class));
+
+        Wishlist response = repository.upsertProduct(CLIENT_ID, PRODUCT);
+
+        assertEquals(wishlist, response);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), any(Update.class), options.capture(), eq(Wishlist.class));
+        assertTrue(options.getValue().isUpsert());
+        assertTrue(options.getValue().isReturnNew());
+    }
+
+    @Test
+    void pullProduct() {
+        Wishlist wishlist = Wishlist.of(CLIENT_ID.toHexString(), PRODUCT);
+        doReturn(wishlist).when(mongoTemplate).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Wishlist.class));
+
+        Optional<Wishlist> response = repository.pullProduct(CLIENT_ID, PRODUCT_ID.toHexString());
+
+        assertTrue(response.isPresent());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Wishlist.class));
+
+        Document filter = query.getValue().getQueryObject();
+        assertEquals(CLIENT_ID, filter.get("clientId"));
+        assertEquals(PRODUCT_ID, filter.get("products._id"));
+        assertEquals(new Document("_id", PRODUCT_ID), update.getValue().getUpdateObject().get("$pull", Document.class).get("products"));
+    }
+
+    @Test
+    void replaceProducts() {
+        String id = ObjectId.get().toHexString();
+        Wishlist wishlist = Wishlist.of(CLIENT_ID.toHexString(), PRODUCT);
+        doReturn(wishlist).when(mongoTemplate).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Wishlist.class));
+
+        Optional<Wishlist> response = repository.replaceProducts(new WishlistVersion(id, 3L), wishlist.getProducts(), null);
+
+        assertTrue(response.isPresent());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), options.capture(), eq(Wishlist.class));
+
+        Document filter = query.getValue().getQueryObject();
+        assertEquals(id, filter.get("_id"));
+        assertEquals(3L, filter.get("version"));
+        assertEquals(wishlist.getProducts(), update.getValue().getUpdateObject().get("$set", Document.class).get("products"));
+        assertEquals(1, update.getValue().getUpdateObject().get("$inc", Document.class).get("version"));
+        assertTrue(options.getValue().isReturnNew());
+    }
+
+    @Test
+    void replaceProducts_outbox() {
+        repository = new WishlistRepositoryCustomImpl(mongoTemplate, new ProductStorage(false, List.of()), new WishlistOutbox(true));
+        WishlistChange change = WishlistChange.productsChanged(List.of(PRODUCT_ID.toHexString()), List.of("removed"));
+
+        repository.replaceProducts(new WishlistVersion(ObjectId.get().toHexString(), 3L), List.of(PRODUCT), change);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(Wishlist.class));
+        Document pushed = update.getValue().getUpdateObject().get("$push", Document.class).get("outbox", Document.class);
+        assertEquals(change.id(), pushed.get("_id"));
+        assertEquals("PRODUCTS_CHANGED", pushed.get("type"));
+        assertEquals(List.of(PRODUCT_ID.toHexString()), pushed.get("added"));
+        assertEquals(List.of("removed"), pushed.get("removed"));
+    }
+
+    @Test
+    void replaceProducts_changed_concurrently() {
+        Optional<Wishlist> response = repository.replaceProducts(new WishlistVersion(ObjectId.get().toHexString(), 3L), List.of(PRODUCT), null);
+
+        assertTrue(response.isEmpty());
+    }
+
+    @Test
+    void replaceProducts_legacy_version() {
+        repository.replaceProducts(new WishlistVersion(ObjectId.get().toHexString(), null), List.of(PRODUCT), null);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndModify(query.capture(), any(Update.class), any(FindAndModifyOptions.class), eq(Wishlist.class));
+        assertEquals(new Document("$in", Arrays.asList(0L, null)), query.getValue().getQueryObject().get("version"));
+    }
+
+    @Test
+    void findVersionByClientId() {
+        ObjectId id = ObjectId.get();
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn(new Document("_id", id).append("version", 4)).when(mongoTemplate).findOne(any(Query.class), eq(Document.class), eq("wishlist"));
+
+        Optional<WishlistVersion> response = repository.findVersionByClientId(CLIENT_ID);
+
+        assertEquals(Optional.of(new WishlistVersion(id.toHexString(), 4L)), response);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(query.capture(), eq(Document.class), eq("wishlist"));
+        assertEquals(CLIENT_ID, query.getValue().getQueryObject().get("clientId"));
+        assertEquals(new Document("_id", 1).append("version", 1), query.getValue().getFieldsObject());
+    }
+
+    @Test
+    void findVersionByClientId_not_found() {
+        assertTrue(repository.findVersionByClientId(CLIENT_ID).isEmpty());
+    }
+
+    @Test
+    void deleteIfEmpty() {
+        String id = ObjectId.get().toHexString();
+        doReturn(DeleteResult.acknowledged(1)).when(mongoTemplate).remove(any(Query.class), eq(Wishlist.class));
+
+        assertTrue(repository.deleteIfEmpty(id));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(query.capture(), eq(Wishlist.class));
+        assertEquals(id, query.getValue().getQueryObject().get("_id"));
+        assertEquals(new Document("$size", 0), query.getValue().getQueryObject().get("products"));
+    }
+
+    @Test
+    void deleteIfEmpty_outbox() {
+        repository = new WishlistRepositoryCustomImpl(mongoTemplate, new ProductStorage(false, List.of()), new WishlistOutbox(true));
+        doReturn(DeleteResult.acknowledged(0)).when(mongoTemplate).remove(any(Query.class), eq(Wishlist.class));
+
+        assertFalse(repository.deleteIfEmpty(ObjectId.get().toHexString()));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(query.capture(), eq(Wishlist.class));
+        assertEquals(new Document("$exists", false), query.getValue().getQueryObject().get("outbox.0"));
+    }
+
+    @Test
+    void findPendingChanges() {
+        String id = ObjectId.get().toHexString();
+        WishlistChange change = WishlistChange.productRemoved(PRODUCT_ID.toHexString());
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn(List.of(new Document("_id", new ObjectId(id))
+                .append("clientId", CLIENT_ID)
+                .append("products", List.of())
+                .append("outbox", List.of(change.toDocument()))))
+                .when(mongoTemplate).find(any(Query.class), eq(Document.class), eq("wishlist"));
+
+        List<WishlistPendingChanges> pending = repository.findPendingChanges(10);
+
+        assertEquals(List.of(new WishlistPendingChanges(id, CLIENT_ID, true, List.of(change))), pending);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Document.class), eq("wishlist"));
+        assertEquals(new Document("$exists", true), query.getValue().getQueryObject().get("outbox._id"));
+        assertEquals(10, query.getValue().getLimit());
+    }
+
+    @Test
+    void drainChanges() {
+        String id = ObjectId.get().toHexString();
+        ObjectId changeId = ObjectId.get();
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn(UpdateResult.acknowledged(1, 1L, null)).when(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq("wishlist"));
+
+        assertTrue(repository.drainChanges(id, List.of(changeId)));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq("wishlist"));
+        assertEquals(id, query.getValue().getQueryObject().get("_id"));
+        assertEquals(new Document("outbox", new Document("_id", new Document("$in", List.of(changeId)))),
+                update.getValue().getUpdateObject().get("$pull"));
+        assertNull(update.getValue().getUpdateObject().get("$inc"));
+    }
+
+    @Test
+    void streamAfter() {
+        String after = ObjectId.get().toHexString();
+        doReturn(Stream.empty()).when(mongoTemplate).stream(any(Query.class), eq(Wishlist.class));
+
+        assertEquals(0, repository.streamAfter(after, 500).count());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(Wishlist.class));
+        assertEquals(new Document("$gt", new ObjectId(after)), query.getValue().getQueryObject().get("_id"));
+        assertEquals(new Document("_id", 1), query.getValue().getSortObject());
+        assertEquals(500, query.getValue().getMeta().getCursorBatchSize());
+        assertEquals(new Document("clientId", 1).append("products", 1).append("version", 1), query.getValue().getFieldsObject());
+    }
+
+    @Test
+    void deleteIfEmpty_not_empty() {
+        doReturn(DeleteResult.acknowledged(0)).when(mongoTemplate).remove(any(Query.class), eq(Wishlist.class));
+
+        assertFalse(repository.deleteIfEmpty(ObjectId.get().toHexString()));
+    }
+
+    @Test
+    void holdsProduct() {
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn(new Document("clientId", CLIENT_ID)).when(mongoTemplate).findOne(any(Query.class), eq(Document.class), eq("wishlist"));
+
+        assertTrue(repository.holdsProduct(CLIENT_ID, PRODUCT_ID.toHexString()));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(query.capture(), eq(Document.class), eq("wishlist"));
+        assertEquals(CLIENT_ID, query.getValue().getQueryObject().get("clientId"));
+        assertEquals(PRODUCT_ID, query.getValue().getQueryObject().get("products._id"));
+        assertEquals(new Document("clientId", 1).append("_id", 0), query.getValue().getFieldsObject());
+        assertEquals(1, query.getValue().getLimit());
+    }
+
+    @Test
+    void holdsProduct_not_found() {
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+
+        assertFalse(repository.holdsProduct(CLIENT_ID, PRODUCT_ID.toHexString()));
+    }
+
+    @Test
+    void heldProducts() {
+        ObjectId otherId = ObjectId.get();
+        Document projection = new Document("products", List.of(new Document("_id", PRODUCT_ID), new Document("_id", "legacy-id"), new Document("_id", ObjectId.get())));
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn(projection).when(mongoTemplate).findOne(any(Query.class), eq(Document.class), eq("wishlist"));
+
+        Set<String> response = repository.heldProducts(CLIENT_ID, List.of(otherId.toHexString(), "legacy-id", PRODUCT_ID.toHexString()));
+
+        assertEquals(List.of("legacy-id", PRODUCT_ID.toHexString()), List.copyOf(response));
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(query.capture(), eq(Document.class), eq("wishlist"));
+        assertEquals(new Document("$in", List.of(otherId, "legacy-id", PRODUCT_ID)), query.getValue().getQueryObject().get("products._id"));
+        assertEquals(new Document("products._id", 1).append("_id", 0), query.getValue().getFieldsObject());
+    }
+
+    @Test
+    void heldProducts_no_wishlist() {
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+
+        assertTrue(repository.heldProducts(CLIENT_ID, List.of(PRODUCT_ID.toHexString())).isEmpty());
+    }
+
+    @Test
+    void productKey() {
+        assertEquals(PRODUCT_ID, WishlistUpdates.productKey(PRODUCT_ID.toHexString()));
+        assertEquals("legacy-id", WishlistUpdates.productKey("legacy-id"));
+    }
+
+    @Test
+    void findSnapshotByClientId() {
+        ObjectId id = ObjectId.get();
+        byte[] json = "{}".getBytes();
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn(new Document("_id", id).append("version", 4L).append("snapshot", new Document("version", 4L).append("json", new Binary(json))))
+                .when(mongoTemplate).findOne(any(Query.class), eq(Document.class), eq("wishlist"));
+
+        WishlistSnapshot response = repository.findSnapshotByClientId(CLIENT_ID).orElseThrow();
+
+        assertEquals(id.toHexString(), response.id());
+        assertArrayEquals(json, response.json());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(query.capture(), eq(Document.class), eq("wishlist"));
+        assertEquals(new Document("_id", 1).append("version", 1).append("snapshot", 1), query.getValue().getFieldsObject());
+    }
+
+    @Test
+    void findSnapshotByClientId_stale() {
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn(new Document("_id", ObjectId.get()).append("version", 5L).append("snapshot", new Document("version", 4L).append("json", new Binary(new byte[1]))))
+                .when(mongoTemplate).findOne(any(Query.class), eq(Document.class), eq("wishlist"));
+
+        WishlistSnapshot response = repository.findSnapshotByClientId(CLIENT_ID).orElseThrow();
+
+        assertFalse(response.isCurrent());
+        assertEquals(5L, response.version());
+    }
+
+    @Test
+    void storeSnapshot() {
+        String id = ObjectId.get().toHexString();
+        byte[] json = "{}".getBytes();
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn(UpdateResult.acknowledged(1, 1L, null)).when(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq("wishlist"));
+
+        assertTrue(repository.storeSnapshot(new WishlistVersion(id, 2L), json));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq("wishlist"));
+        assertEquals(id, query.getValue().getQueryObject().get("_id"));
+        assertEquals(2L, query.getValue().getQueryObject().get("version"));
+        Document snapshot = update.getValue().getUpdateObject().get("$set", Document.class).get("snapshot", Document.class);
+        assertEquals(2L, snapshot.get("version"));
+        assertArrayEquals(json, snapshot.get("json", Binary.class).getData());
+        assertNull(update.getValue().getUpdateObject().get("$inc"));
+    }
+
+    @Test
+    void storeSnapshot_keeps_version() {
+        ObjectId id = ObjectId.get();
+        MongoCollection<Document> collection = driverCollection();
+        WishlistRepositoryCustomImpl driverRepository = new WishlistRepositoryCustomImpl(driverTemplate(collection), new ProductStorage(false, List.of()), new WishlistOutbox(false));
+
+        assertTrue(driverRepository.storeSnapshot(new WishlistVersion(id.toHexString(), 2L), "{}".getBytes()));
+
+        ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+        ArgumentCaptor<Bson> update = ArgumentCaptor.forClass(Bson.class);
+        verify(collection).updateOne(filter.capture(), update.capture(), any(UpdateOptions.class));
+        assertEquals(new Document("_id", id).append("version", 2L), filter.getValue());
+        Document sent = (Document) update.getValue();
+        assertEquals(Set.of("$set"), sent.keySet());
+        assertEquals(Set.of("snapshot"), sent.get("$set", Document.class).keySet());
+    }
+
+    @Test
+    void drainChanges_keeps_version() {
+        ObjectId id = ObjectId.get();
+        ObjectId changeId = ObjectId.get();
+        MongoCollection<Document> collection = driverCollection();
+        WishlistRepositoryCustomImpl driverRepository = new WishlistRepositoryCustomImpl(driverTemplate(collection), new ProductStorage(false, List.of()), new WishlistOutbox(true));
+
+        assertTrue(driverRepository.drainChanges(id.toHexString(), List.of(changeId)));
+
+        ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+        ArgumentCaptor<Bson> update = ArgumentCaptor.forClass(Bson.class);
+        verify(collection).updateOne(filter.capture(), update.capture(), any(UpdateOptions.class));
+        assertEquals(new Document("_id", id), filter.getValue());
+        assertEquals(Set.of("$pull"), ((Document) update.getValue()).keySet());
+    }
+
+    @SuppressWarnings("unchecked")
+    private MongoCollection<Document> driverCollection() {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        doReturn(UpdateResult.acknowledged(1, 1L, null)).when(collection).updateOne(any(Bson.class), any(Bson.class), any(UpdateOptions.class));
+        return collection;
+    }
+
+    private MongoTemplate driverTemplate(MongoCollection<Document> collection) {
+        MongoDatabaseFactory factory = mock(MongoDatabaseFactory.class);
+        MongoDatabase database = mock(MongoDatabase.class);
+        doReturn(database).when(factory).getMongoDatabase();
+        doReturn(new MongoExceptionTranslator()).when(factory).getExceptionTranslator();
+        doReturn(collection).when(database).getCollection("wishlist", Document.class);
+        return new MongoTemplate(factory, converter());
+    }
+
+    private MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    @Test
+    void findPageByClientId() {
+        ObjectId id = ObjectId.get();
+        ObjectId first = ObjectId.get();
+        ObjectId second = ObjectId.get();
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn(converter()).when(mongoTemplate).getConverter();
+        Document page = new Document("_id", id).append("clientId", CLIENT_ID).append("version", 3L).append("total", 5).append("start", 2)
+                .append("products", List.of(new Document("_id", first), new Document("_id", second)));
+        doReturn(new AggregationResults<>(List.of(page), new Document())).when(mongoTemplate).aggregate(any(Aggregation.class), eq("wishlist"), eq(Document.class));
+
+        WishlistPage response = repository.findPageByClientId(CLIENT_ID, WishlistView.IDS, PRODUCT_ID.toHexString(), 1).orElseThrow();
+
+        assertEquals(List.of(first.toHexString()), response.products().stream().map(SimpleProduct::getId).toList());
+        assertNull(response.products().get(0).getDescription());
+        assertEquals(first.toHexString(), response.nextCursor());
+        assertEquals(5, response.total());
+
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq("wishlist"), eq(Document.class));
+        List<Document> pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        assertEquals(new Document("clientId", CLIENT_ID), pipeline.get(0).get("$match"));
+        assertEquals(new Document("$add", List.of(new Document("$indexOfArray", List.of("$products._id", PRODUCT_ID)), 1)),
+                pipeline.get(1).get("$project", Document.class).get("start"));
+        Document map = pipeline.get(2).get("$project", Document.class).get("products", Document.class).get("$map", Document.class);
+        assertEquals(new Document("$slice", List.of("$products", "$start", 2)), map.get("input"));
+        assertEquals(new Document("_id", "$$product._id"), map.get("in"));
+    }
+
+    @Test
+    void findPageByClientId_last_page() {
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn(converter()).when(mongoTemplate).getConverter();
+        Document page = new Document("_id", ObjectId.get()).append("clientId", CLIENT_ID).append("total", 1).append("start", 0)
+                .append("products", List.of(new Document("_id", PRODUCT_ID).append("code", "PRODUCT-CODE")));
+        doReturn(new AggregationResults<>(List.of(page), new Document())).when(mongoTemplate).aggregate(any(Aggregation.class), eq("wishlist"), eq(Document.class));
+
+        WishlistPage response = repository.findPageByClientId(CLIENT_ID, WishlistView.FULL, null, 20).orElseThrow();
+
+        assertEquals(1, response.products().size());
+        assertEquals("PRODUCT-CODE", response.products().get(0).getCode());
+        assertNull(response.nextCursor());
+    }
+
+    @Test
+    void findPageByClientId_unknown_cursor() {
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        Document page = new Document("_id", ObjectId.get()).append("clientId", CLIENT_ID).append("total", 1).append("start", 0)
+                .append("products", List.of());
+        doReturn(new AggregationResults<>(List.of(page), new Document())).when(mongoTemplate).aggregate(any(Aggregation.class), eq("wishlist"), eq(Document.class));
+
+        assertThrows(InvalidCursorException.class, () -> repository.findPageByClientId(CLIENT_ID, WishlistView.FULL, "unknown", 20));
+    }
+
+    @Test
+    void findPageByClientId_not_found() {
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn(new AggregationResults<>(List.of(), new Document())).when(mongoTemplate).aggregate(any(Aggregation.class), eq("wishlist"), eq(Document.class));
+
+        assertTrue(repository.findPageByClientId(CLIENT_ID, WishlistView.SUMMARY, null, 20).isEmpty());
+    }
+
+    @Test
+    void refreshProducts() {
+        BulkOperations operations = mock(BulkOperations.class);
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        doReturn(operations).when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, Wishlist.class);
+        doReturn(result).when(operations).execute();
+        doReturn(2).when(result).getModifiedCount();
+        repository = new WishlistRepositoryCustomImpl(mongoTemplate, new ProductStorage(true, List.of("price")), new WishlistOutbox(false));
+
+        long modified = repository.refreshProducts(List.of(PRODUCT));
+
+        assertEquals(2, modified);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(operations).updateMulti(query.capture(), update.capture());
+        Document elemMatch = query.getValue().getQueryObject().get("products", Document.class).get("$elemMatch", Document.class);
+        assertEquals(PRODUCT_ID, elemMatch.get("_id"));
+        assertEquals(List.of(new Document("price", new Document("$ne", PRODUCT.getPrice()))), elemMatch.get("$or"));
+        assertEquals(new Document("products.$[product].price", PRODUCT.getPrice()), update.getValue().getUpdateObject().get("$set"));
+        assertEquals(1, update.getValue().getUpdateObject().get("$inc", Document.class).get("version"));
+        assertEquals(List.of(new Document("product._id", PRODUCT_ID)), update.getValue().getArrayFilters().stream().map(filter -> filter.asDocument()).toList());
+    }
+
+    @Test
+    void findStaleCopies() {
+        ObjectId wishlistId = ObjectId.get();
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn(List.of(new Document("_id", wishlistId).append("clientId", CLIENT_ID)))
+                .when(mongoTemplate).find(any(Query.class), eq(Document.class), eq("wishlist"));
+        repository = new WishlistRepositoryCustomImpl(mongoTemplate, new ProductStorage(true, List.of("price")), new WishlistOutbox(false));
+
+        Map<String, ObjectId> stale = repository.findStaleCopies(List.of(PRODUCT));
+
+        assertEquals(Map.of(wishlistId.toHexString(), CLIENT_ID), stale);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Document.class), eq("wishlist"));
+        Document staleCopy = (Document) query.getValue().getQueryObject().get("$or", List.class).get(0);
+        Document elemMatch = staleCopy.get("products", Document.class).get("$elemMatch", Document.class);
+        assertEquals(PRODUCT_ID, elemMatch.get("_id"));
+        assertEquals(new Document("_id", 1).append("clientId", 1), query.getValue().getFieldsObject());
+    }
+
+    @Test
+    void findStaleCopies_nothing_stored() {
+        repository = new WishlistRepositoryCustomImpl(mongoTemplate, new ProductStorage(true, List.of()), new WishlistOutbox(false));
+
+        assertEquals(Map.of(), repository.findStaleCopies(List.of(PRODUCT)));
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Document.class), anyString());
+    }
+
+    @Test
+    void refreshProducts_nothing_stored() {
+        repository = new WishlistRepositoryCustomImpl(mongoTemplate, new ProductStorage(true, List.of()), new WishlistOutbox(false));
+
+        assertEquals(0, repository.refreshProducts(List.of(PRODUCT)));
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Wishlist.class));
+    }
+
+    @Test
+    void findProductIdsByClientIds() {
+        ObjectId other = ObjectId.get();
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn(List.of(
+                new Document("clientId", CLIENT_ID).append("products", List.of(new Document("_id", PRODUCT_ID))),
+                new Document("clientId", other)))
+                .when(mongoTemplate).find(any(Query.class), eq(Document.class), eq("wishlist"));
+
+        Map<ObjectId, Set<String>> products = repository.findProductIdsByClientIds(List.of(CLIENT_ID, other));
+
+        assertEquals(Map.of(CLIENT_ID, Set.of(PRODUCT_ID.toHexString()), other, Set.of()), products);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Document.class), eq("wishlist"));
+        assertEquals(new Document("$in", List.of(CLIENT_ID, other)), query.getValue().getQueryObject().get("clientId"));
+        assertEquals(new Document("clientId", 1).append("products._id", 1).append("_id", 0), query.getValue().getFieldsObject());
+    }
+
+    @Test
+    void appendProducts() {
+        BulkOperations operations = mock(BulkOperations.class);
+        doReturn(operations).when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, Wishlist.class);
+
+        assertTrue(repository.appendProducts(Map.of(CLIENT_ID, List.of(PRODUCT))).isEmpty());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(operations).upsert(query.capture(), update.capture());
+        verify(operations).execute();
+        assertEquals(CLIENT_ID, query.getValue().getQueryObject().get("clientId"));
+        assertEquals(new Document("$exists", false), query.getValue().getQueryObject().get("products." + (Wishlist.MAX_PRODUCTS - 1)));
+        assertEquals(new Document("$nin", List.of(PRODUCT_ID)), query.getValue().getQueryObject().get("products._id"));
+        Update.Modifiers push = (Update.Modifiers) update.getValue().getUpdateObject().get("$push", Document.class).get("products");
+        assertArrayEquals(new Object[]{PRODUCT}, (Object[]) push.getModifiers().iterator().next().getValue());
+        assertEquals(1, update.getValue().getUpdateObject().get("$inc", Document.class).get("version"));
+    }
+
+    @Test
+    void appendProducts_outbox() {
+        BulkOperations operations = mock(BulkOperations.class);
+        doReturn(operations).when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, Wishlist.class);
+        repository = new WishlistRepositoryCustomImpl(mongoTemplate, new ProductStorage(false, List.of()), new WishlistOutbox(true));
+
+        repository.appendProducts(Map.of(CLIENT_ID, List.of(PRODUCT)));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(operations).upsert(any(Query.class), update.capture());
+        Document pushed = update.getValue().getUpdateObject().get("$push", Document.class).get("outbox", Document.class);
+        assertEquals("PRODUCTS_CHANGED", pushed.get("type"));
+        assertEquals(List.of(PRODUCT_ID.toHexString()), pushed.get("added"));
+    }
+
+    @Test
+    void appendProducts_conflict() {
+        ObjectId other = ObjectId.get();
+        BulkOperations operations = mock(BulkOperations.class);
+        BulkOperationException error = mock(BulkOperationException.class);
+        doReturn(operations).when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, Wishlist.class);
+        doThrow(error).when(operations).execute();
+        doReturn(List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1))).when(error).getErrors();
+        Map<ObjectId, List<SimpleProduct>> products = new LinkedHashMap<>();
+        products.put(CLIENT_ID, List.of(PRODUCT));
+        products.put(other, List.of(PRODUCT));
+
+        assertEquals(Set.of(other), repository.appendProducts(products));
+    }
+
+    @Test
+    void appendProducts_nothing_to_append() {
+        assertTrue(repository.appendProducts(Map.of()).isEmpty());
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Wishlist.class));
+    }
+
+    @Test
+    void scanProductIds() {
+        ObjectId first = ObjectId.get();
+        ObjectId last = ObjectId.get();
+        ObjectId other = ObjectId.get();
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn(List.of(
+                new Document("_id", first).append("products", List.of(new Document("_id", PRODUCT_ID))),
+                new Document("_id", last).append("products", List.of(new Document("_id", PRODUCT_ID), new Document("_id", other)))))
+                .when(mongoTemplate).find(any(Query.class), eq(Document.class), eq("wishlist"));
+        String after = ObjectId.get().toHexString();
+
+        WishlistProductScan scan = repository.scanProductIds(after, 2).orElseThrow();
+
+        assertEquals(last.toHexString(), scan.lastWishlistId());
+        assertEquals(Set.of(PRODUCT_ID.toHexString(), other.toHexString()), scan.productIds());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Document.class), eq("wishlist"));
+        assertEquals(new Document("_id", new Document("$gt", new ObjectId(after))), query.getValue().getQueryObject());
+        assertEquals(2, query.getValue().getLimit());
+    }
+}
@@ -10,6 +10,8 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -152,6 +154,17 @@ class WishlistTest {
         assertEquals(PRICE, simpleProduct.getPrice());
     }
 
+    @Test
+    void empty() {
+        Wishlist wishlist = Wishlist.empty(CLIENT_ID.toHexString());
+
+        assertNull(wishlist.getId());
+        assertEquals(CLIENT_ID, wishlist.getClientId());
+        assertTrue(wishlist.getProducts().isEmpty());
+        wishlist.addProduct(PRODUCT);
+        assertEquals(1, wishlist.getProducts().size());
+    }
+
     @Test
     void of_clientId_null() {
         assertThrows(IllegalArgumentException.class, () -> Wishlist.of(null, PRODUCT));
@@ -200,4 +213,13 @@ class WishlistTest {
         Wishlist wishlist = Wishlist.of(CLIENT_ID.toHexString(), PRODUCT);
         assertEquals(Objects.hash(CLIENT_ID), wishlist.hashCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void hydrateProducts() {
+        Wishlist wishlist = Wishlist.of(CLIENT_ID.toHexString(), PRODUCT.retaining(List.of()));
+
+        wishlist.hydrateProducts(Map.of(PRODUCT_ID, PRODUCT));
+
+        assertEquals(DESCRIPTION, wishlist.getProducts().iterator().next().getDescription());
+    }
+}
@@ -0,0 +1,105 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.exception.ClientNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class CachedClientServiceTest {
+
+    private final String CLIENT_ID = ObjectId.get().toHexString();
+
+    @Mock
+    private ClientServiceImpl delegate;
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+    }
+
+    private CachedClientService clientService(boolean bloomFilter) {
+        return new CachedClientService(delegate, new SimpleMeterRegistry(), Runnable::run, mongoTemplate,
+                100, Duration.ofHours(1), Duration.ofSeconds(30), bloomFilter, 1000, 0.001, bloomFilter);
+    }
+
+    @Test
+    void existsClientId_positive_cached() {
+        CachedClientService clientService = clientService(false);
+        doReturn(true).when(delegate).existsClientId(CLIENT_ID);
+
+        assertTrue(clientService.existsClientId(CLIENT_ID));
+        assertTrue(clientService.existsClientId(CLIENT_ID));
+
+        verify(delegate, times(1)).existsClientId(CLIENT_ID);
+    }
+
+    @Test
+    void existsClientId_negative_cached() {
+        CachedClientService clientService = clientService(false);
+        doReturn(false).when(delegate).existsClientId(CLIENT_ID);
+
+        assertFalse(clientService.existsClientId(CLIENT_ID));
+        assertFalse(clientService.existsClientId(CLIENT_ID));
+
+        verify(delegate, times(1)).existsClientId(CLIENT_ID);
+    }
+
+    @Test
+    void existsClientId_error_not_cached() {
+        CachedClientService clientService = clientService(false);
+        doThrow(new ClientNotFoundException()).when(delegate).existsClientId(CLIENT_ID);
+
+        assertThrows(ClientNotFoundException.class, () -> clientService.existsClientId(CLIENT_ID));
+        assertThrows(ClientNotFoundException.class, () -> clientService.existsClientId(CLIENT_ID));
+
+        verify(delegate, times(2)).existsClientId(CLIENT_ID);
+    }
+
+    @Test
+    void existsClientId_bloom_filter_warm_up() {
+        CachedClientService clientService = clientService(true);
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn(Stream.of(new Document("clientId", new ObjectId(CLIENT_ID))))
+                .when(mongoTemplate).stream(any(Query.class), eq(Document.class), anyString());
+
+        clientService.loadKnownClients().join();
+
+        assertTrue(clientService.existsClientId(CLIENT_ID));
+        verify(delegate, never()).existsClientId(CLIENT_ID);
+    }
+
+    @Test
+    void existsClientId_bloom_filter_learns_positive() {
+        CachedClientService clientService = clientService(true);
+        doReturn(true).when(delegate).existsClientId(CLIENT_ID);
+
+        assertTrue(clientService.existsClientId(CLIENT_ID));
+
+        assertTrue(clientService.existsClientId(CLIENT_ID));
+        verify(delegate, times(1)).existsClientId(CLIENT_ID);
+    }
+}
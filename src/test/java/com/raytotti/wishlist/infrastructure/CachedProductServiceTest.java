@@ -0,0 +1,110 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.exception.ProductNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class CachedProductServiceTest {
+
+    private final String PRODUCT_ID = ObjectId.get().toHexString();
+    private final SimpleProduct PRODUCT = SimpleProduct.of(
+            PRODUCT_ID,
+            "PRODUCT-CODE",
+            "Product Description",
+            "Image URL",
+            BigDecimal.TEN
+    );
+
+    @Mock
+    private ProductServiceImpl delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private CachedProductService productService;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        productService = new CachedProductService(delegate, meterRegistry, ForkJoinPool.commonPool(), 100, Duration.ofMinutes(10), Duration.ofMinutes(8));
+    }
+
+    @Test
+    void getProductById_cached() {
+        doReturn(PRODUCT).when(delegate).getProductById(PRODUCT_ID);
+
+        assertSame(PRODUCT, productService.getProductById(PRODUCT_ID));
+        assertSame(PRODUCT, productService.getProductById(PRODUCT_ID));
+
+        verify(delegate, times(1)).getProductById(PRODUCT_ID);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", CachedProductService.CACHE_NAME).tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", CachedProductService.CACHE_NAME).tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void getProductById_not_found_is_not_cached() {
+        doThrow(new ProductNotFoundException()).when(delegate).getProductById(PRODUCT_ID);
+
+        assertThrows(ProductNotFoundException.class, () -> productService.getProductById(PRODUCT_ID));
+        assertThrows(ProductNotFoundException.class, () -> productService.getProductById(PRODUCT_ID));
+
+        verify(delegate, times(2)).getProductById(PRODUCT_ID);
+    }
+
+    @Test
+    void getProductById_concurrent_misses_load_once() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return PRODUCT;
+        }).when(delegate).getProductById(PRODUCT_ID);
+
+        CompletableFuture<SimpleProduct> first = CompletableFuture.supplyAsync(() -> productService.getProductById(PRODUCT_ID));
+        loading.await(5, TimeUnit.SECONDS);
+        CompletableFuture<SimpleProduct> second = CompletableFuture.supplyAsync(() -> productService.getProductById(PRODUCT_ID));
+        release.countDown();
+
+        assertSame(PRODUCT, first.get(5, TimeUnit.SECONDS));
+        assertSame(PRODUCT, second.get(5, TimeUnit.SECONDS));
+        verify(delegate, times(1)).getProductById(PRODUCT_ID);
+    }
+
+    @Test
+    void getProductsByIds_loads_only_missing_products() {
+        String otherId = ObjectId.get().toHexString();
+        SimpleProduct other = SimpleProduct.of(otherId, "PRODUCT-CODE", "Product Description", "Image URL", BigDecimal.TEN);
+        doReturn(PRODUCT).when(delegate).getProductById(PRODUCT_ID);
+        doReturn(Map.of(otherId, other)).when(delegate).getProductsByIds(List.of(otherId));
+        productService.getProductById(PRODUCT_ID);
+
+        Map<String, SimpleProduct> response = productService.getProductsByIds(List.of(PRODUCT_ID, otherId));
+
+        assertSame(PRODUCT, response.get(PRODUCT_ID));
+        assertSame(other, response.get(otherId));
+        verify(delegate, times(1)).getProductsByIds(List.of(otherId));
+        assertSame(other, productService.getProductById(otherId));
+    }
+}
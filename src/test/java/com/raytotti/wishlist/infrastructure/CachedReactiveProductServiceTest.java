@@ -0,0 +1,119 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.exception.ProductNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class CachedReactiveProductServiceTest {
+
+    private final String PRODUCT_ID = ObjectId.get().toHexString();
+    private final SimpleProduct PRODUCT = SimpleProduct.of(
+            PRODUCT_ID,
+            "PRODUCT-CODE",
+            "Product Description",
+            "Image URL",
+            BigDecimal.TEN
+    );
+
+    @Mock
+    private ReactiveProductServiceImpl delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private CachedReactiveProductService productService;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        productService = new CachedReactiveProductService(delegate, meterRegistry, 100, Duration.ofMinutes(10), Duration.ofMinutes(8));
+    }
+
+    @Test
+    void getProductById_cached() {
+        doReturn(Mono.just(PRODUCT)).when(delegate).getProductById(PRODUCT_ID);
+
+        StepVerifier.create(productService.getProductById(PRODUCT_ID)).expectNext(PRODUCT).verifyComplete();
+        StepVerifier.create(productService.getProductById(PRODUCT_ID)).expectNext(PRODUCT).verifyComplete();
+
+        verify(delegate, times(1)).getProductById(PRODUCT_ID);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", CachedReactiveProductService.CACHE_NAME).tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void getProductById_not_found_is_not_cached() {
+        doReturn(Mono.error(new ProductNotFoundException())).when(delegate).getProductById(PRODUCT_ID);
+
+        StepVerifier.create(productService.getProductById(PRODUCT_ID)).verifyError(ProductNotFoundException.class);
+        StepVerifier.create(productService.getProductById(PRODUCT_ID)).verifyError(ProductNotFoundException.class);
+
+        verify(delegate, times(2)).getProductById(PRODUCT_ID);
+    }
+
+    @Test
+    void getProductById_concurrent_misses_load_once() {
+        Sinks.One<SimpleProduct> pending = Sinks.one();
+        doReturn(pending.asMono()).when(delegate).getProductById(PRODUCT_ID);
+
+        Mono<SimpleProduct> first = productService.getProductById(PRODUCT_ID);
+        Mono<SimpleProduct> second = productService.getProductById(PRODUCT_ID);
+
+        StepVerifier.create(first.zipWith(second))
+                .then(() -> pending.tryEmitValue(PRODUCT))
+                .assertNext(products -> {
+                    assertSame(PRODUCT, products.getT1());
+                    assertSame(PRODUCT, products.getT2());
+                })
+                .verifyComplete();
+        verify(delegate, times(1)).getProductById(PRODUCT_ID);
+    }
+
+    @Test
+    void getProductById_cancelled_subscriber_does_not_cancel_the_load() {
+        Sinks.One<SimpleProduct> pending = Sinks.one();
+        doReturn(pending.asMono()).when(delegate).getProductById(PRODUCT_ID);
+
+        StepVerifier.create(productService.getProductById(PRODUCT_ID)).thenCancel().verify();
+        pending.tryEmitValue(PRODUCT);
+
+        StepVerifier.create(productService.getProductById(PRODUCT_ID)).expectNext(PRODUCT).verifyComplete();
+        verify(delegate, times(1)).getProductById(PRODUCT_ID);
+    }
+
+    @Test
+    void getProductsByIds_loads_only_missing_products_in_one_batch() {
+        String otherId = ObjectId.get().toHexString();
+        String missingId = ObjectId.get().toHexString();
+        SimpleProduct other = SimpleProduct.of(otherId, "PRODUCT-CODE", "Product Description", "Image URL", BigDecimal.TEN);
+        doReturn(Mono.just(PRODUCT)).when(delegate).getProductById(PRODUCT_ID);
+        doReturn(Mono.just(Map.of(otherId, other))).when(delegate).getProductsByIds(Set.of(otherId, missingId));
+        StepVerifier.create(productService.getProductById(PRODUCT_ID)).expectNext(PRODUCT).verifyComplete();
+
+        StepVerifier.create(productService.getProductsByIds(List.of(PRODUCT_ID, otherId, missingId)))
+                .assertNext(products -> {
+                    assertEquals(Set.of(PRODUCT_ID, otherId), products.keySet());
+                    assertSame(other, products.get(otherId));
+                })
+                .verifyComplete();
+        verify(delegate, times(1)).getProductsByIds(Set.of(otherId, missingId));
+        StepVerifier.create(productService.getProductById(otherId)).expectNext(other).verifyComplete();
+    }
+}
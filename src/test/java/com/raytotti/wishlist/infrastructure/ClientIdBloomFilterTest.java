@@ -0,0 +1,56 @@
+package com.raytotti.wishlist.infrastructure;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClientIdBloomFilterTest {
+
+    @Test
+    void mightContain() {
+        ClientIdBloomFilter bloomFilter = new ClientIdBloomFilter(10_000, 0.01);
+        List<String> clientIds = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String clientId = ObjectId.get().toHexString();
+            clientIds.add(clientId);
+            bloomFilter.put(clientId);
+        }
+
+        clientIds.forEach(clientId -> assertTrue(bloomFilter.mightContain(clientId)));
+    }
+
+    @Test
+    void mightContain_false_positive_rate() {
+        ClientIdBloomFilter bloomFilter = new ClientIdBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.put(ObjectId.get().toHexString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (bloomFilter.mightContain(ObjectId.get().toHexString())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300);
+    }
+
+    @Test
+    void mightContain_empty() {
+        ClientIdBloomFilter bloomFilter = new ClientIdBloomFilter(100, 0.01);
+        assertFalse(bloomFilter.mightContain(ObjectId.get().toHexString()));
+    }
+
+    @Test
+    void invalid_arguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ClientIdBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new ClientIdBloomFilter(100, 1));
+    }
+}
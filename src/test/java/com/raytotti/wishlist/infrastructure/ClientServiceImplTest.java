@@ -1,17 +1,24 @@
 package com.raytotti.wishlist.infrastructure;
 
 import com.raytotti.wishlist.exception.ClientNotFoundException;
+import com.raytotti.wishlist.exception.DownstreamUnavailableException;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.MockitoAnnotations.openMocks;
 
 class ClientServiceImplTest {
@@ -26,10 +33,13 @@ class ClientServiceImplTest {
 
     private ClientServiceImpl clientService;
 
+    private DownstreamCall downstream;
+
     @BeforeEach
     public void setUp() {
         openMocks(this);
-        clientService = new ClientServiceImpl(restTemplate, URL, GET_URI);
+        downstream = DownstreamCalls.ofDefaults("client");
+        clientService = new ClientServiceImpl(restTemplate, downstream, URL, GET_URI);
     }
 
     @Test
@@ -51,6 +61,15 @@ class ClientServiceImplTest {
         assertThrows(ClientNotFoundException.class, () -> clientService.existsClientId(CLIENT_ID));
     }
 
+    @Test
+    void existsClientId_unknown_client() {
+        String url = URL + GET_URI;
+        doThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null))
+                .when(restTemplate).getForEntity(url, Boolean.class, CLIENT_ID);
+
+        assertFalse(clientService.existsClientId(CLIENT_ID));
+    }
+
     @Test
     void existsClientId_not_found_exception() {
         String url = URL + GET_URI;
@@ -58,4 +77,20 @@ class ClientServiceImplTest {
 
         assertThrows(ClientNotFoundException.class, () -> clientService.existsClientId(CLIENT_ID));
     }
-}
\ No newline at end of file
+
+    @Test
+    void existsClientId_downstream_timeout() {
+        String url = URL + GET_URI;
+        doThrow(new ResourceAccessException("Read timed out")).when(restTemplate).getForEntity(url, Boolean.class, CLIENT_ID);
+
+        assertThrows(DownstreamUnavailableException.class, () -> clientService.existsClientId(CLIENT_ID));
+    }
+
+    @Test
+    void existsClientId_circuit_open() {
+        downstream.getCircuitBreaker().transitionToOpenState();
+
+        assertThrows(DownstreamUnavailableException.class, () -> clientService.existsClientId(CLIENT_ID));
+        verifyNoInteractions(restTemplate);
+    }
+}
@@ -0,0 +1,84 @@
+package com.raytotti.wishlist.infrastructure;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DownstreamCallTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private long count(String operation, String outcome) {
+        return meterRegistry.get(DownstreamCall.METRIC)
+                .tag("downstream", "test")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+
+    @Test
+    void execute() {
+        DownstreamCall downstream = new DownstreamCall(CircuitBreaker.ofDefaults("test"), Bulkhead.ofDefaults("test"), meterRegistry);
+
+        assertEquals("ok", downstream.execute("get", () -> "ok"));
+        assertEquals(1, downstream.getCircuitBreaker().getMetrics().getNumberOfSuccessfulCalls());
+        assertEquals(1, count("get", "SUCCESS"));
+    }
+
+    @Test
+    void execute_client_error() {
+        DownstreamCall downstream = new DownstreamCall(CircuitBreaker.ofDefaults("test"), Bulkhead.ofDefaults("test"), meterRegistry);
+
+        assertThrows(HttpClientErrorException.class, () -> downstream.execute("get", () -> {
+            throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+        }));
+        assertEquals(1, count("get", "CLIENT_ERROR"));
+    }
+
+    @Test
+    void execute_circuit_open() {
+        DownstreamCall downstream = new DownstreamCall(CircuitBreaker.ofDefaults("test"), Bulkhead.ofDefaults("test"), meterRegistry);
+        downstream.getCircuitBreaker().transitionToOpenState();
+
+        assertThrows(CallNotPermittedException.class, () -> downstream.execute("get", () -> "ok"));
+        assertEquals(1, count("get", "UNAVAILABLE"));
+    }
+
+    @Test
+    void execute_bulkhead_full() {
+        Bulkhead bulkhead = Bulkhead.of("test", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        DownstreamCall downstream = new DownstreamCall(CircuitBreaker.ofDefaults("test"), bulkhead, meterRegistry);
+
+        assertThrows(BulkheadFullException.class, () -> downstream.execute("outer", () -> downstream.execute("inner", () -> "nested")));
+        assertEquals(1, count("inner", "UNAVAILABLE"));
+    }
+
+    @Test
+    void decorate() {
+        DownstreamCall downstream = new DownstreamCall(CircuitBreaker.ofDefaults("test"), Bulkhead.ofDefaults("test"), meterRegistry);
+
+        StepVerifier.create(downstream.decorate("get", Mono.just("ok"))).expectNext("ok").verifyComplete();
+        StepVerifier.create(downstream.decorate("get", Mono.error(new IllegalStateException()))).verifyError(IllegalStateException.class);
+
+        assertEquals(1, count("get", "SUCCESS"));
+        assertEquals(1, count("get", "ERROR"));
+    }
+}
@@ -0,0 +1,15 @@
+package com.raytotti.wishlist.infrastructure;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+final class DownstreamCalls {
+
+    private DownstreamCalls() {
+    }
+
+    static DownstreamCall ofDefaults(String name) {
+        return new DownstreamCall(CircuitBreaker.ofDefaults(name), Bulkhead.ofDefaults(name), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,71 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class FileSpanExporterTest {
+
+    private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path directory;
+
+    private static SpanData span(String spanId, SpanContext parent) {
+        SpanData span = mock(SpanData.class);
+        doReturn(TRACE_ID).when(span).getTraceId();
+        doReturn(spanId).when(span).getSpanId();
+        doReturn(parent).when(span).getParentSpanContext();
+        doReturn(parent.getSpanId()).when(span).getParentSpanId();
+        doReturn("find wishlist").when(span).getName();
+        doReturn(SpanKind.CLIENT).when(span).getKind();
+        doReturn(1_000_000L).when(span).getStartEpochNanos();
+        doReturn(3_500_000L).when(span).getEndEpochNanos();
+        doReturn(StatusData.ok()).when(span).getStatus();
+        doReturn(Attributes.of(AttributeKey.stringKey("db.system"), "mongodb")).when(span).getAttributes();
+        return span;
+    }
+
+    @Test
+    void export_appends_json_lines() throws IOException {
+        Path path = directory.resolve("spans.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(objectMapper, path);
+        SpanContext parent = SpanContext.create(TRACE_ID, "b7ad6b7169203331", TraceFlags.getSampled(), TraceState.getDefault());
+
+        assertTrue(exporter.export(List.of(span("00f067aa0ba902b7", parent))).isSuccess());
+        assertTrue(exporter.export(List.of(span("b7ad6b7169203331", SpanContext.getInvalid()))).isSuccess());
+
+        List<String> lines = Files.readAllLines(path);
+        assertEquals(2, lines.size());
+        JsonNode child = objectMapper.readTree(lines.get(0));
+        assertEquals(TRACE_ID, child.get("traceId").asText());
+        assertEquals("00f067aa0ba902b7", child.get("spanId").asText());
+        assertEquals("b7ad6b7169203331", child.get("parentSpanId").asText());
+        assertEquals("CLIENT", child.get("kind").asText());
+        assertEquals(2500, child.get("durationMicros").asLong());
+        assertEquals("OK", child.get("status").asText());
+        assertEquals("mongodb", child.get("attributes").get("db.system").asText());
+        assertTrue(objectMapper.readTree(lines.get(1)).get("parentSpanId").isNull());
+    }
+}
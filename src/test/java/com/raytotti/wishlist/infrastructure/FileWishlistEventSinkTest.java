@@ -0,0 +1,46 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raytotti.wishlist.domain.WishlistChange;
+import com.raytotti.wishlist.domain.WishlistEvent;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FileWishlistEventSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void publish_appends_json_lines() throws IOException {
+        Path path = directory.resolve("events.jsonl");
+        FileWishlistEventSink sink = new FileWishlistEventSink(objectMapper, path);
+        ObjectId clientId = ObjectId.get();
+        WishlistChange added = WishlistChange.productAdded("first");
+        WishlistChange removed = WishlistChange.productRemoved("first");
+
+        sink.publish(List.of(WishlistEvent.of(clientId, "wishlist", 1, added)));
+        sink.publish(List.of(WishlistEvent.of(clientId, "wishlist", 2, removed)));
+
+        List<String> lines = Files.readAllLines(path);
+        assertEquals(2, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(added.id().toHexString(), first.get("id").asText());
+        assertEquals(clientId.toHexString(), first.get("clientId").asText());
+        assertEquals(1, first.get("sequence").asLong());
+        assertEquals("PRODUCT_ADDED", first.get("type").asText());
+        assertEquals("first", first.get("added").get(0).asText());
+        assertEquals("PRODUCT_REMOVED", objectMapper.readTree(lines.get(1)).get("type").asText());
+    }
+}
@@ -0,0 +1,131 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.exception.DownstreamUnavailableException;
+import com.raytotti.wishlist.exception.ProductNotFoundException;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProductLookupCoalescerTest {
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static SimpleProduct product(String id) {
+        return SimpleProduct.of(id, "PRODUCT-CODE", "Product Description", "Image URL", BigDecimal.TEN);
+    }
+
+    private Function<Collection<String>, Map<String, SimpleProduct>> loader() {
+        return ids -> {
+            batches.add(new ArrayList<>(ids));
+            return ids.stream().collect(Collectors.toMap(Function.identity(), ProductLookupCoalescerTest::product));
+        };
+    }
+
+    @Test
+    void lookup_within_window_is_one_batch() {
+        ProductLookupCoalescer coalescer = new ProductLookupCoalescer(loader(), executor, Duration.ofMillis(50), 10, Duration.ofSeconds(5));
+        String firstId = ObjectId.get().toHexString();
+        String secondId = ObjectId.get().toHexString();
+
+        CompletableFuture<SimpleProduct> first = coalescer.lookup(firstId);
+        CompletableFuture<SimpleProduct> second = coalescer.lookup(secondId);
+        CompletableFuture<SimpleProduct> duplicate = coalescer.lookup(firstId);
+
+        assertSame(first, duplicate);
+        assertEquals(firstId, first.join().getId());
+        assertEquals(secondId, second.join().getId());
+        assertEquals(List.of(List.of(firstId, secondId)), batches);
+    }
+
+    @Test
+    void lookup_full_batch_is_loaded_immediately() {
+        ProductLookupCoalescer coalescer = new ProductLookupCoalescer(loader(), executor, Duration.ofMinutes(1), 2, Duration.ofSeconds(5));
+
+        CompletableFuture<SimpleProduct> first = coalescer.lookup(ObjectId.get().toHexString());
+        CompletableFuture<SimpleProduct> second = coalescer.lookup(ObjectId.get().toHexString());
+
+        CompletableFuture.allOf(first, second).join();
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+    }
+
+    @Test
+    void getProductById_missing_product() {
+        ProductLookupCoalescer coalescer = new ProductLookupCoalescer(ids -> Map.of(), executor, Duration.ofMillis(1), 10, Duration.ofSeconds(5));
+
+        assertThrows(ProductNotFoundException.class, () -> coalescer.getProductById(ObjectId.get().toHexString()));
+    }
+
+    @Test
+    void getProductById_loader_failure() {
+        ProductLookupCoalescer coalescer = new ProductLookupCoalescer(ids -> {
+            throw new DownstreamUnavailableException();
+        }, executor, Duration.ofMillis(1), 10, Duration.ofSeconds(5));
+
+        assertThrows(DownstreamUnavailableException.class, () -> coalescer.getProductById(ObjectId.get().toHexString()));
+    }
+
+    @Test
+    void getProductById_times_out() {
+        ProductLookupCoalescer coalescer = new ProductLookupCoalescer(ids -> {
+            sleep(Duration.ofSeconds(1));
+            return Map.of();
+        }, executor, Duration.ofMillis(1), 10, Duration.ofMillis(50));
+
+        assertThrows(DownstreamUnavailableException.class, () -> coalescer.getProductById(ObjectId.get().toHexString()));
+    }
+
+    @Test
+    void lookup_rejected_when_executor_is_full() {
+        ProductLookupCoalescer coalescer = new ProductLookupCoalescer(loader(), task -> {
+            throw new RejectedExecutionException();
+        }, Duration.ofMinutes(1), 1, Duration.ofSeconds(5));
+
+        CompletableFuture<SimpleProduct> future = coalescer.lookup(ObjectId.get().toHexString());
+
+        CompletionException e = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(DownstreamUnavailableException.class, e.getCause());
+        assertEquals(List.of(), batches);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
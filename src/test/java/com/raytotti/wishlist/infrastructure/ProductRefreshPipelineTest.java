@@ -0,0 +1,160 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.raytotti.wishlist.domain.JobLeaseRepository;
+import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.domain.WishlistProductScan;
+import com.raytotti.wishlist.domain.WishlistRepository;
+import com.raytotti.wishlist.service.ProductsChangedEvent;
+import com.raytotti.wishlist.service.WishlistChangeListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class ProductRefreshPipelineTest {
+
+    private final SimpleProduct PRODUCT = product();
+    private final SimpleProduct OTHER_PRODUCT = product();
+    private final SimpleProduct THIRD_PRODUCT = product();
+
+    @Mock
+    private WishlistRepository repository;
+    @Mock
+    private ProductServiceImpl productService;
+    @Mock
+    private JobLeaseRepository leases;
+    @Mock
+    private WishlistChangeListener listener;
+    private SimpleMeterRegistry meterRegistry;
+    private ProductRefreshPipeline pipeline;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        pipeline = new ProductRefreshPipeline(repository, productService, leases, List.of(listener), meterRegistry, 10, 2, Duration.ofSeconds(30));
+        doReturn(Map.of()).when(repository).findStaleCopies(anyCollection());
+        doReturn(true).when(leases).acquire(eq(ProductRefreshPipeline.LEASE), anyString(), any(Duration.class));
+        doReturn(true).when(leases).moveCursor(eq(ProductRefreshPipeline.LEASE), anyString(), any());
+        doReturn(Optional.empty()).when(leases).findCursor(ProductRefreshPipeline.LEASE);
+    }
+
+    private static SimpleProduct product() {
+        return SimpleProduct.of(ObjectId.get().toHexString(), "PRODUCT-CODE", "Product Description", "Image URL", BigDecimal.TEN);
+    }
+
+    @Test
+    void refresh_in_bounded_batches() {
+        doReturn(3L).when(repository).refreshProducts(List.of(PRODUCT, OTHER_PRODUCT));
+        doReturn(1L).when(repository).refreshProducts(List.of(THIRD_PRODUCT));
+
+        long updated = pipeline.refresh(List.of(PRODUCT, OTHER_PRODUCT, THIRD_PRODUCT));
+
+        assertEquals(4, updated);
+        assertEquals(3.0, meterRegistry.get("wishlist.refresh.products").counter().count());
+        assertEquals(4.0, meterRegistry.get("wishlist.refresh.wishlists").counter().count());
+        assertEquals(2, meterRegistry.get("wishlist.refresh.batch").timer().count());
+    }
+
+    @Test
+    void refresh_evicts_updated_wishlists() {
+        String wishlistId = ObjectId.get().toHexString();
+        ObjectId clientId = ObjectId.get();
+        doReturn(Map.of(wishlistId, clientId)).when(repository).findStaleCopies(List.of(PRODUCT));
+        doReturn(1L).when(repository).refreshProducts(List.of(PRODUCT));
+
+        pipeline.refresh(List.of(PRODUCT));
+
+        verify(listener).wishlistChanged(wishlistId, clientId.toHexString());
+    }
+
+    @Test
+    void refresh_without_changes_keeps_cached_wishlists() {
+        doReturn(Map.of(ObjectId.get().toHexString(), ObjectId.get())).when(repository).findStaleCopies(List.of(PRODUCT));
+        doReturn(0L).when(repository).refreshProducts(List.of(PRODUCT));
+
+        pipeline.refresh(List.of(PRODUCT));
+
+        verifyNoInteractions(listener);
+    }
+
+    @Test
+    void onProductsChanged() {
+        pipeline.onProductsChanged(new ProductsChangedEvent(List.of(PRODUCT)));
+
+        verify(repository).refreshProducts(List.of(PRODUCT));
+    }
+
+    @Test
+    void sweep_resumes_from_stored_cursor() {
+        String lastWishlistId = ObjectId.get().toHexString();
+        String wishlistId = ObjectId.get().toHexString();
+        doReturn(Optional.of(lastWishlistId)).when(leases).findCursor(ProductRefreshPipeline.LEASE);
+        doReturn(Optional.of(new WishlistProductScan(wishlistId, Set.of(PRODUCT.getId())))).when(repository).scanProductIds(lastWishlistId, 10);
+        doReturn(Map.of(PRODUCT.getId(), PRODUCT)).when(productService).getProductsByIds(Set.of(PRODUCT.getId()));
+
+        pipeline.sweep();
+
+        verify(repository).refreshProducts(List.of(PRODUCT));
+        verify(leases).moveCursor(eq(ProductRefreshPipeline.LEASE), anyString(), eq(wishlistId));
+    }
+
+    @Test
+    void sweep_restarts_after_last_wishlist() {
+        String lastWishlistId = ObjectId.get().toHexString();
+        doReturn(Optional.of(lastWishlistId)).when(leases).findCursor(ProductRefreshPipeline.LEASE);
+        doReturn(Optional.empty()).when(repository).scanProductIds(lastWishlistId, 10);
+
+        pipeline.sweep();
+
+        verify(leases).moveCursor(eq(ProductRefreshPipeline.LEASE), anyString(), eq(null));
+        verify(productService, never()).getProductsByIds(anyCollection());
+    }
+
+    @Test
+    void sweep_empty_collection() {
+        doReturn(Optional.empty()).when(repository).scanProductIds(eq(null), anyInt());
+
+        pipeline.sweep();
+
+        verify(productService, never()).getProductsByIds(anyCollection());
+        verify(leases, never()).moveCursor(anyString(), anyString(), any());
+    }
+
+    @Test
+    void sweep_skipped_without_lease() {
+        doReturn(false).when(leases).acquire(eq(ProductRefreshPipeline.LEASE), anyString(), any(Duration.class));
+
+        pipeline.sweep();
+
+        verifyNoInteractions(repository, productService);
+        verify(leases, never()).findCursor(anyString());
+    }
+
+    @Test
+    void stop_releases_lease() {
+        pipeline.stop();
+
+        verify(leases).release(eq(ProductRefreshPipeline.LEASE), anyString());
+    }
+}
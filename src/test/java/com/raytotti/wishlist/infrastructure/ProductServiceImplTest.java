@@ -1,20 +1,39 @@
 package com.raytotti.wishlist.infrastructure;
 
+import com.raytotti.wishlist.configuration.BoundedExecutor;
 import com.raytotti.wishlist.domain.SimpleProduct;
+import com.raytotti.wishlist.exception.DownstreamUnavailableException;
 import com.raytotti.wishlist.exception.ProductNotFoundException;
 import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.MockitoAnnotations.openMocks;
 
 class ProductServiceImplTest {
@@ -26,10 +45,25 @@ class ProductServiceImplTest {
     private RestTemplate restTemplate;
     private ProductServiceImpl productService;
 
+    private DownstreamCall downstream;
+
+    private BoundedExecutor executor;
+
+    private BoundedExecutor coalesceExecutor;
+
     @BeforeEach
     public void setUp() {
         openMocks(this);
-        productService = new ProductServiceImpl(restTemplate, URL, GET_URI);
+        downstream = DownstreamCalls.ofDefaults("product");
+        executor = new BoundedExecutor("product-lookup-test-", 4, 10);
+        coalesceExecutor = new BoundedExecutor("product-coalesce-test-", 1, 10);
+        productService = new ProductServiceImpl(restTemplate, downstream, executor, coalesceExecutor, URL, GET_URI, "", 50, 8, Duration.ZERO, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.destroy();
+        coalesceExecutor.destroy();
     }
 
     @Test
@@ -65,4 +99,143 @@ class ProductServiceImplTest {
 
         assertThrows(ProductNotFoundException.class, () -> productService.getProductById(PRODUCT_ID));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getProductById_downstream_timeout() {
+        String url = URL + GET_URI + "/" + PRODUCT_ID;
+        doThrow(new ResourceAccessException("Read timed out")).when(restTemplate).getForEntity(url, SimpleProduct.class);
+
+        assertThrows(DownstreamUnavailableException.class, () -> productService.getProductById(PRODUCT_ID));
+    }
+
+    @Test
+    void getProductById_circuit_open() {
+        downstream.getCircuitBreaker().transitionToOpenState();
+
+        assertThrows(DownstreamUnavailableException.class, () -> productService.getProductById(PRODUCT_ID));
+        verifyNoInteractions(restTemplate);
+    }
+
+    private SimpleProduct product(String id) {
+        return SimpleProduct.of(id, "PRODUCT-CODE", "Product Description", "Image URL", BigDecimal.TEN);
+    }
+
+    @Test
+    void getProductsByIds_fan_out_without_bulk_endpoint() {
+        String otherId = ObjectId.get().toHexString();
+        doReturn(ResponseEntity.ok(product(PRODUCT_ID))).when(restTemplate).getForEntity(URL + GET_URI + "/" + PRODUCT_ID, SimpleProduct.class);
+        doReturn(ResponseEntity.notFound().build()).when(restTemplate).getForEntity(URL + GET_URI + "/" + otherId, SimpleProduct.class);
+
+        Map<String, SimpleProduct> response = productService.getProductsByIds(List.of(otherId, PRODUCT_ID, PRODUCT_ID));
+
+        assertEquals(List.of(PRODUCT_ID), List.copyOf(response.keySet()));
+        verify(restTemplate, times(1)).getForEntity(URL + GET_URI + "/" + PRODUCT_ID, SimpleProduct.class);
+    }
+
+    @Test
+    void getProductsByIds_fan_out_downstream_unavailable() {
+        doThrow(new ResourceAccessException("Read timed out")).when(restTemplate).getForEntity(URL + GET_URI + "/" + PRODUCT_ID, SimpleProduct.class);
+
+        assertThrows(DownstreamUnavailableException.class, () -> productService.getProductsByIds(List.of(PRODUCT_ID)));
+    }
+
+    @Test
+    void getProductsByIds_bulk_endpoint_in_chunks() {
+        productService = new ProductServiceImpl(restTemplate, downstream, executor, coalesceExecutor, URL, GET_URI, "/api/v1/products/batch", 2, 8, Duration.ZERO, Duration.ofSeconds(5));
+        String secondId = ObjectId.get().toHexString();
+        String thirdId = ObjectId.get().toHexString();
+        doReturn(ResponseEntity.ok(new SimpleProduct[]{product(secondId), product(PRODUCT_ID)}))
+                .when(restTemplate).getForEntity(URL + "/api/v1/products/batch?ids=" + PRODUCT_ID + "," + secondId, SimpleProduct[].class);
+        doReturn(ResponseEntity.ok(new SimpleProduct[]{}))
+                .when(restTemplate).getForEntity(URL + "/api/v1/products/batch?ids=" + thirdId, SimpleProduct[].class);
+
+        Map<String, SimpleProduct> response = productService.getProductsByIds(List.of(PRODUCT_ID, secondId, thirdId));
+
+        assertEquals(List.of(PRODUCT_ID, secondId), List.copyOf(response.keySet()));
+        verify(restTemplate, never()).getForEntity(anyString(), eq(SimpleProduct.class));
+    }
+
+    @Test
+    void getProductsByIds_bulk_endpoint_error_falls_back_to_fan_out() {
+        productService = new ProductServiceImpl(restTemplate, downstream, executor, coalesceExecutor, URL, GET_URI, "/api/v1/products/batch", 50, 8, Duration.ZERO, Duration.ofSeconds(5));
+        doThrow(new IllegalStateException("Bad Request")).when(restTemplate).getForEntity(URL + "/api/v1/products/batch?ids=" + PRODUCT_ID, SimpleProduct[].class);
+        doReturn(ResponseEntity.ok(product(PRODUCT_ID))).when(restTemplate).getForEntity(URL + GET_URI + "/" + PRODUCT_ID, SimpleProduct.class);
+
+        Map<String, SimpleProduct> response = productService.getProductsByIds(List.of(PRODUCT_ID));
+
+        assertEquals(PRODUCT_ID, response.get(PRODUCT_ID).getId());
+    }
+
+    @Test
+    void getProductById_coalesced_into_bulk_call() {
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            productService = new ProductServiceImpl(restTemplate, downstream, executor, coalesceExecutor, URL, GET_URI, "/api/v1/products/batch", 2, 8, Duration.ofSeconds(5), Duration.ofSeconds(5));
+            String otherId = ObjectId.get().toHexString();
+            doReturn(ResponseEntity.ok(new SimpleProduct[]{product(PRODUCT_ID), product(otherId)}))
+                    .when(restTemplate).getForEntity(anyString(), eq(SimpleProduct[].class));
+
+            CompletableFuture<SimpleProduct> first = CompletableFuture.supplyAsync(() -> productService.getProductById(PRODUCT_ID), callers);
+            CompletableFuture<SimpleProduct> second = CompletableFuture.supplyAsync(() -> productService.getProductById(otherId), callers);
+
+            assertEquals(PRODUCT_ID, first.join().getId());
+            assertEquals(otherId, second.join().getId());
+            verify(restTemplate, times(1)).getForEntity(anyString(), eq(SimpleProduct[].class));
+            verify(restTemplate, never()).getForEntity(anyString(), eq(SimpleProduct.class));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void getProductById_coalesced_bulk_error_falls_back_to_fan_out() {
+        BoundedExecutor single = new BoundedExecutor("product-lookup-single-", 1, 10);
+        try {
+            productService = new ProductServiceImpl(restTemplate, downstream, single, coalesceExecutor, URL, GET_URI, "/api/v1/products/batch", 1, 8, Duration.ofMillis(10), Duration.ofSeconds(5));
+            doThrow(new IllegalStateException("Bad Request")).when(restTemplate).getForEntity(anyString(), eq(SimpleProduct[].class));
+            doReturn(ResponseEntity.ok(product(PRODUCT_ID))).when(restTemplate).getForEntity(URL + GET_URI + "/" + PRODUCT_ID, SimpleProduct.class);
+
+            SimpleProduct response = productService.getProductById(PRODUCT_ID);
+
+            assertEquals(PRODUCT_ID, response.getId());
+        } finally {
+            single.destroy();
+        }
+    }
+
+    @Test
+    void getProductsByIds_fan_out_times_out() {
+        productService = new ProductServiceImpl(restTemplate, downstream, executor, coalesceExecutor, URL, GET_URI, "", 50, 8, Duration.ZERO, Duration.ofMillis(50));
+        doAnswer(invocation -> {
+            TimeUnit.SECONDS.sleep(1);
+            return ResponseEntity.ok(product(PRODUCT_ID));
+        }).when(restTemplate).getForEntity(URL + GET_URI + "/" + PRODUCT_ID, SimpleProduct.class);
+
+        assertThrows(DownstreamUnavailableException.class, () -> productService.getProductsByIds(List.of(PRODUCT_ID)));
+    }
+
+    @Test
+    void getProductsByIds_fan_out_rejected_when_executor_is_full() {
+        BoundedExecutor full = new BoundedExecutor("product-lookup-full-", 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            full.execute(() -> await(release));
+            full.execute(() -> await(release));
+            productService = new ProductServiceImpl(restTemplate, downstream, full, coalesceExecutor, URL, GET_URI, "", 50, 8, Duration.ZERO, Duration.ofSeconds(5));
+
+            assertThrows(DownstreamUnavailableException.class, () -> productService.getProductsByIds(List.of(PRODUCT_ID)));
+            verifyNoInteractions(restTemplate);
+        } finally {
+            release.countDown();
+            full.destroy();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.raytotti.wishlist.exception.ClientNotFoundException;
+import com.raytotti.wishlist.exception.DownstreamUnavailableException;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReactiveClientServiceImplTest {
+
+    private final String URL = "http://support";
+    private final String GET_URI = "/api/v1/clients/{id}/exists";
+    private final String CLIENT_ID = ObjectId.get().toHexString();
+
+    private ReactiveClientServiceImpl clientService(ExchangeFunction exchangeFunction) {
+        return new ReactiveClientServiceImpl(WebClient.builder().exchangeFunction(exchangeFunction).build(),
+                DownstreamCalls.ofDefaults("client"), URL, GET_URI);
+    }
+
+    @Test
+    void existsClientId() {
+        ReactiveClientServiceImpl clientService = clientService(request -> {
+            assertEquals(URI.create(URL + "/api/v1/clients/" + CLIENT_ID + "/exists"), request.url());
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body("true")
+                    .build());
+        });
+
+        StepVerifier.create(clientService.existsClientId(CLIENT_ID))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void existsClientId_unknown_client() {
+        ReactiveClientServiceImpl clientService = clientService(request -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()));
+
+        StepVerifier.create(clientService.existsClientId(CLIENT_ID))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void existsClientId_error() {
+        ReactiveClientServiceImpl clientService = clientService(request -> Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+
+        StepVerifier.create(clientService.existsClientId(CLIENT_ID))
+                .verifyError(ClientNotFoundException.class);
+    }
+
+    @Test
+    void existsClientId_downstream_error() {
+        ReactiveClientServiceImpl clientService = clientService(
+                request -> Mono.error(new WebClientRequestException(new RuntimeException("timeout"), HttpMethod.GET, request.url(), HttpHeaders.EMPTY)));
+
+        StepVerifier.create(clientService.existsClientId(CLIENT_ID))
+                .verifyError(DownstreamUnavailableException.class);
+    }
+}
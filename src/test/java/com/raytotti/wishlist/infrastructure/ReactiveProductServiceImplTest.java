@@ -0,0 +1,183 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.raytotti.wishlist.exception.DownstreamUnavailableException;
+import com.raytotti.wishlist.exception.ProductNotFoundException;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReactiveProductServiceImplTest {
+
+    private final String URL = "http://support";
+    private final String GET_URI = "/api/v1/products";
+    private final String PRODUCT_ID = ObjectId.get().toHexString();
+
+    private ReactiveProductServiceImpl productService(ExchangeFunction exchangeFunction, DownstreamCall downstream) {
+        return productService(exchangeFunction, downstream, "");
+    }
+
+    private ReactiveProductServiceImpl productService(ExchangeFunction exchangeFunction, DownstreamCall downstream, String getBulkUri) {
+        return new ReactiveProductServiceImpl(WebClient.builder().exchangeFunction(exchangeFunction).build(), downstream, URL, GET_URI, getBulkUri, 2, 8);
+    }
+
+    private String body(String id) {
+        return "{\"id\":\"" + id + "\",\"code\":\"PRODUCT-CODE\",\"description\":\"Product Description\",\"thumbnail\":\"Image URL\",\"price\":10}";
+    }
+
+    private Mono<ClientResponse> json(String body) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+
+    @Test
+    void getProductById() {
+        String body = "{\"id\":\"" + PRODUCT_ID + "\",\"code\":\"PRODUCT-CODE\",\"description\":\"Product Description\",\"thumbnail\":\"Image URL\",\"price\":10}";
+        ReactiveProductServiceImpl productService = productService(request -> {
+            assertEquals(URI.create(URL + GET_URI + "/" + PRODUCT_ID), request.url());
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+        }, DownstreamCalls.ofDefaults("product"));
+
+        StepVerifier.create(productService.getProductById(PRODUCT_ID))
+                .assertNext(product -> {
+                    assertEquals(PRODUCT_ID, product.getId());
+                    assertEquals(0, BigDecimal.TEN.compareTo(product.getPrice()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getProductById_not_found() {
+        ReactiveProductServiceImpl productService = productService(
+                request -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()),
+                DownstreamCalls.ofDefaults("product"));
+
+        StepVerifier.create(productService.getProductById(PRODUCT_ID))
+                .verifyError(ProductNotFoundException.class);
+    }
+
+    @Test
+    void getProductById_downstream_error() {
+        ReactiveProductServiceImpl productService = productService(
+                request -> Mono.error(new WebClientRequestException(new RuntimeException("timeout"), HttpMethod.GET, request.url(), HttpHeaders.EMPTY)),
+                DownstreamCalls.ofDefaults("product"));
+
+        StepVerifier.create(productService.getProductById(PRODUCT_ID))
+                .verifyError(DownstreamUnavailableException.class);
+    }
+
+    @Test
+    void getProductById_circuit_open() {
+        DownstreamCall downstream = DownstreamCalls.ofDefaults("product");
+        downstream.getCircuitBreaker().transitionToOpenState();
+        ReactiveProductServiceImpl productService = productService(
+                request -> Mono.error(new IllegalStateException("should not be called")),
+                downstream);
+
+        StepVerifier.create(productService.getProductById(PRODUCT_ID))
+                .verifyError(DownstreamUnavailableException.class);
+    }
+
+    @Test
+    void getProductById_empty_body() {
+        ReactiveProductServiceImpl productService = productService(
+                request -> Mono.just(ClientResponse.create(HttpStatus.OK).build()),
+                DownstreamCalls.ofDefaults("product"));
+
+        StepVerifier.create(productService.getProductById(PRODUCT_ID))
+                .verifyError(ProductNotFoundException.class);
+    }
+
+    @Test
+    void getProductById_maps_any_downstream_error() {
+        ReactiveProductServiceImpl productService = productService(
+                request -> Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build()),
+                DownstreamCalls.ofDefaults("product"));
+
+        StepVerifier.create(productService.getProductById(PRODUCT_ID))
+                .verifyError(ProductNotFoundException.class);
+    }
+
+    @Test
+    void getProductsByIds_fan_out_without_bulk_endpoint() {
+        String otherId = ObjectId.get().toHexString();
+        List<URI> requested = new CopyOnWriteArrayList<>();
+        ReactiveProductServiceImpl productService = productService(request -> {
+            requested.add(request.url());
+            if (request.url().getPath().endsWith(otherId)) {
+                return Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+            }
+            return json(body(PRODUCT_ID));
+        }, DownstreamCalls.ofDefaults("product"));
+
+        StepVerifier.create(productService.getProductsByIds(List.of(otherId, PRODUCT_ID, PRODUCT_ID)))
+                .assertNext(products -> assertEquals(List.of(PRODUCT_ID), List.copyOf(products.keySet())))
+                .verifyComplete();
+        assertEquals(2, requested.size());
+    }
+
+    @Test
+    void getProductsByIds_bulk_endpoint_in_chunks() {
+        String secondId = ObjectId.get().toHexString();
+        String thirdId = ObjectId.get().toHexString();
+        List<URI> requested = new CopyOnWriteArrayList<>();
+        ReactiveProductServiceImpl productService = productService(request -> {
+            requested.add(request.url());
+            if (request.url().getQuery().equals("ids=" + thirdId)) {
+                return json("[]");
+            }
+            return json("[" + body(secondId) + "," + body(PRODUCT_ID) + "]");
+        }, DownstreamCalls.ofDefaults("product"), "/api/v1/products/batch");
+
+        StepVerifier.create(productService.getProductsByIds(List.of(PRODUCT_ID, secondId, thirdId)))
+                .assertNext(products -> assertEquals(List.of(PRODUCT_ID, secondId), List.copyOf(products.keySet())))
+                .verifyComplete();
+        assertEquals(List.of(
+                URI.create(URL + "/api/v1/products/batch?ids=" + PRODUCT_ID + "," + secondId),
+                URI.create(URL + "/api/v1/products/batch?ids=" + thirdId)), requested);
+    }
+
+    @Test
+    void getProductsByIds_bulk_endpoint_error_falls_back_to_fan_out() {
+        ReactiveProductServiceImpl productService = productService(request -> {
+            if (request.url().getPath().endsWith("/batch")) {
+                return Mono.just(ClientResponse.create(HttpStatus.BAD_REQUEST).build());
+            }
+            return json(body(PRODUCT_ID));
+        }, DownstreamCalls.ofDefaults("product"), "/api/v1/products/batch");
+
+        StepVerifier.create(productService.getProductsByIds(List.of(PRODUCT_ID)))
+                .assertNext(products -> assertEquals(PRODUCT_ID, products.get(PRODUCT_ID).getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void getProductsByIds_bulk_endpoint_downstream_error() {
+        ReactiveProductServiceImpl productService = productService(
+                request -> Mono.error(new WebClientRequestException(new RuntimeException("timeout"), HttpMethod.GET, request.url(), HttpHeaders.EMPTY)),
+                DownstreamCalls.ofDefaults("product"), "/api/v1/products/batch");
+
+        StepVerifier.create(productService.getProductsByIds(List.of(PRODUCT_ID)))
+                .verifyError(DownstreamUnavailableException.class);
+    }
+}
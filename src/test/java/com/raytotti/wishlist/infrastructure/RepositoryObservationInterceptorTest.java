@@ -0,0 +1,81 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.raytotti.wishlist.domain.WishlistRepository;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class RepositoryObservationInterceptorTest {
+
+    private final ObservationRegistry observationRegistry = ObservationRegistry.create();
+
+    private final List<Observation.Context> stopped = new ArrayList<>();
+
+    private final RepositoryObservationInterceptor interceptor = new RepositoryObservationInterceptor(observationRegistry, "WishlistRepository");
+
+    @BeforeEach
+    public void setUp() {
+        observationRegistry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+    }
+
+    private static MethodInvocation findByClientId() throws NoSuchMethodException {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        doReturn(WishlistRepository.class.getMethod("findByClientId", ObjectId.class)).when(invocation).getMethod();
+        return invocation;
+    }
+
+    @Test
+    void invoke() throws Throwable {
+        MethodInvocation invocation = findByClientId();
+        doReturn(Optional.empty()).when(invocation).proceed();
+
+        assertSame(Optional.empty(), interceptor.invoke(invocation));
+
+        assertEquals(1, stopped.size());
+        Observation.Context context = stopped.get(0);
+        assertEquals(RepositoryObservationInterceptor.NAME, context.getName());
+        assertEquals("WishlistRepository.findByClientId", context.getContextualName());
+        assertEquals(KeyValue.of("method", "findByClientId"), context.getLowCardinalityKeyValue("method"));
+        assertNull(context.getError());
+    }
+
+    @Test
+    void invoke_error() throws Throwable {
+        MethodInvocation invocation = findByClientId();
+        doThrow(new DataAccessResourceFailureException("down")).when(invocation).proceed();
+
+        assertThrows(DataAccessResourceFailureException.class, () -> interceptor.invoke(invocation));
+
+        assertEquals(1, stopped.size());
+        assertInstanceOf(DataAccessResourceFailureException.class, stopped.get(0).getError());
+    }
+}
@@ -0,0 +1,24 @@
+package com.raytotti.wishlist.infrastructure;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.core5.http.HttpHost;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RestTemplateConfigTest {
+
+    @Test
+    void route_ignores_the_path() {
+        assertEquals(new HttpRoute(new HttpHost("http", "support", 8080), null, false),
+                RestTemplateConfig.route("http://support:8080/api/v1"));
+    }
+
+    @Test
+    void route_uses_the_default_port_of_the_scheme() {
+        assertEquals(new HttpRoute(new HttpHost("http", "support", 80), null, false),
+                RestTemplateConfig.route("http://support"));
+        assertEquals(new HttpRoute(new HttpHost("https", "support", 443), null, true),
+                RestTemplateConfig.route("https://support/api"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.raytotti.wishlist.domain.Wishlist;
+import com.raytotti.wishlist.service.WishlistChangeListener;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.Message;
+
+import java.util.List;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class WishlistChangeStreamListenerTest {
+
+    private final ObjectId WISHLIST_ID = ObjectId.get();
+    private final ObjectId CLIENT_ID = ObjectId.get();
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private WishlistChangeListener changeListener;
+    @Mock
+    private ChangeStreamDocument<Document> change;
+    private WishlistChangeStreamListener listener;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        listener = new WishlistChangeStreamListener(mongoTemplate, List.of(changeListener));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Message<ChangeStreamDocument<Document>, Document> message() {
+        Message<ChangeStreamDocument<Document>, Document> message = mock(Message.class);
+        doReturn(change).when(message).getRaw();
+        return message;
+    }
+
+    @Test
+    void onMessage_update() {
+        doReturn(new BsonDocument("_id", new BsonObjectId(WISHLIST_ID))).when(change).getDocumentKey();
+        doReturn(new Document("_id", WISHLIST_ID).append("clientId", CLIENT_ID)).when(change).getFullDocument();
+
+        listener.onMessage(message());
+
+        verify(changeListener).wishlistChanged(WISHLIST_ID.toHexString(), CLIENT_ID.toHexString());
+    }
+
+    @Test
+    void onMessage_delete() {
+        doReturn(new BsonDocument("_id", new BsonObjectId(WISHLIST_ID))).when(change).getDocumentKey();
+
+        listener.onMessage(message());
+
+        verify(changeListener).wishlistChanged(WISHLIST_ID.toHexString(), null);
+    }
+
+    @Test
+    void onMessage_without_document_key() {
+        listener.onMessage(message());
+
+        verifyNoInteractions(changeListener);
+    }
+}
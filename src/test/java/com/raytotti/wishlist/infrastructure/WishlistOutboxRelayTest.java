@@ -0,0 +1,177 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.raytotti.wishlist.domain.JobLeaseRepository;
+import com.raytotti.wishlist.domain.WishlistChange;
+import com.raytotti.wishlist.domain.WishlistEvent;
+import com.raytotti.wishlist.domain.WishlistEventRepository;
+import com.raytotti.wishlist.domain.WishlistPendingChanges;
+import com.raytotti.wishlist.domain.WishlistRepository;
+import com.raytotti.wishlist.service.WishlistEventSink;
+import com.raytotti.wishlist.service.WishlistOutboxListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class WishlistOutboxRelayTest {
+
+    private final ObjectId CLIENT_ID = ObjectId.get();
+    private final String WISHLIST_ID = ObjectId.get().toHexString();
+
+    @Mock
+    private WishlistRepository repository;
+    @Mock
+    private WishlistEventRepository eventRepository;
+    @Mock
+    private JobLeaseRepository leases;
+    @Mock
+    private WishlistEventSink sink;
+    @Mock
+    private WishlistOutboxListener listener;
+    private SimpleMeterRegistry meterRegistry;
+    private WishlistOutboxRelay relay;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new WishlistOutboxRelay(repository, eventRepository, leases, sink, List.of(listener), meterRegistry, 2, Duration.ofSeconds(30));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drain_appends_events_in_sequence() {
+        WishlistChange added = WishlistChange.productAdded("first");
+        WishlistChange removed = WishlistChange.productRemoved("first");
+        doReturn(List.of(new WishlistPendingChanges(WISHLIST_ID, CLIENT_ID, true, List.of(added, removed))))
+                .when(repository).findPendingChanges(2);
+        doReturn(Optional.of(WishlistEvent.of(CLIENT_ID, WISHLIST_ID, 4, WishlistChange.productAdded("other"))))
+                .when(eventRepository).findFirstByClientIdOrderBySequenceDesc(CLIENT_ID);
+
+        assertEquals(2, relay.drain());
+
+        ArgumentCaptor<List<WishlistEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventRepository).insert(events.capture());
+        assertEquals(List.of(5L, 6L), events.getValue().stream().map(WishlistEvent::getSequence).toList());
+        assertEquals(List.of(added.id(), removed.id()), events.getValue().stream().map(WishlistEvent::getChangeId).toList());
+        verify(repository).drainChanges(WISHLIST_ID, List.of(added.id(), removed.id()));
+        verify(repository).deleteIfEmpty(WISHLIST_ID);
+        assertEquals(2, meterRegistry.counter("wishlist.outbox.drained").count());
+    }
+
+    @Test
+    void drain_hands_the_changes_to_the_listeners_before_removing_them() {
+        List<WishlistPendingChanges> pending = List.of(new WishlistPendingChanges(WISHLIST_ID, CLIENT_ID, false, List.of(WishlistChange.productAdded("first"))));
+        doReturn(pending).when(repository).findPendingChanges(2);
+        doReturn(Optional.empty()).when(eventRepository).findFirstByClientIdOrderBySequenceDesc(CLIENT_ID);
+
+        relay.drain();
+
+        InOrder order = inOrder(listener, eventRepository, repository);
+        order.verify(listener).wishlistsChanged(pending);
+        order.verify(eventRepository).insert(anyList());
+        order.verify(repository).drainChanges(eq(WISHLIST_ID), anyList());
+    }
+
+    @Test
+    void drain_without_changes_skips_the_listeners() {
+        doReturn(List.of()).when(repository).findPendingChanges(2);
+
+        assertEquals(0, relay.drain());
+        verify(listener, never()).wishlistsChanged(anyList());
+    }
+
+    @Test
+    void drain_skips_changes_already_moved() {
+        WishlistChange change = WishlistChange.productAdded("first");
+        doReturn(List.of(new WishlistPendingChanges(WISHLIST_ID, CLIENT_ID, false, List.of(change))))
+                .when(repository).findPendingChanges(2);
+        doReturn(Optional.empty()).when(eventRepository).findFirstByClientIdOrderBySequenceDesc(CLIENT_ID);
+        doReturn(true).when(eventRepository).existsByChangeId(change.id());
+
+        assertEquals(0, relay.drain());
+
+        verify(eventRepository, never()).insert(anyList());
+        verify(repository).drainChanges(WISHLIST_ID, List.of(change.id()));
+        verify(repository, never()).deleteIfEmpty(any());
+    }
+
+    @Test
+    void publish_in_batches() {
+        List<WishlistEvent> first = List.of(event(1), event(2));
+        List<WishlistEvent> second = List.of(event(3));
+        doReturn(first, second).when(eventRepository).findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, 2));
+
+        assertEquals(3, relay.publish());
+
+        verify(sink).publish(first);
+        verify(sink).publish(second);
+        verify(eventRepository, times(2)).markPublished(anyCollection(), any(Instant.class));
+        assertEquals(3, meterRegistry.counter("wishlist.outbox.published").count());
+    }
+
+    @Test
+    void publish_keeps_events_pending_when_sink_fails() {
+        List<WishlistEvent> events = List.of(event(1));
+        doReturn(events).when(eventRepository).findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, 2));
+        doThrow(new IllegalStateException("sink down")).when(sink).publish(events);
+
+        assertThrows(IllegalStateException.class, () -> relay.publish());
+
+        verify(eventRepository, never()).markPublished(anyCollection(), any(Instant.class));
+    }
+
+    private WishlistEvent event(long sequence) {
+        return WishlistEvent.of(CLIENT_ID, WISHLIST_ID, sequence, WishlistChange.productAdded("product-" + sequence));
+    }
+
+    @Test
+    void relay_skips_without_lease() {
+        doReturn(false).when(leases).acquire(eq(WishlistOutboxRelay.LEASE), anyString(), eq(Duration.ofSeconds(30)));
+
+        relay.relay();
+
+        verify(repository, never()).findPendingChanges(anyInt());
+        verify(eventRepository, never()).findByPublishedAtIsNullOrderByIdAsc(any());
+    }
+
+    @Test
+    void relay_runs_while_holding_lease() {
+        doReturn(true).when(leases).acquire(eq(WishlistOutboxRelay.LEASE), anyString(), eq(Duration.ofSeconds(30)));
+        doReturn(List.of()).when(repository).findPendingChanges(2);
+        doReturn(List.of()).when(eventRepository).findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, 2));
+
+        relay.relay();
+        relay.stop();
+
+        verify(repository).findPendingChanges(2);
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        verify(leases).acquire(eq(WishlistOutboxRelay.LEASE), owner.capture(), any(Duration.class));
+        verify(leases).release(WishlistOutboxRelay.LEASE, owner.getValue());
+    }
+}
@@ -0,0 +1,82 @@
+package com.raytotti.wishlist.infrastructure;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.raytotti.wishlist.domain.ProductStorage;
+import com.raytotti.wishlist.domain.Wishlist;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class WishlistStorageMigrationTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private BulkOperations operations;
+    @Mock
+    private BulkWriteResult result;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        doReturn("wishlist").when(mongoTemplate).getCollectionName(Wishlist.class);
+        doReturn(operations).when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, "wishlist");
+        doReturn(result).when(operations).execute();
+    }
+
+    private WishlistStorageMigration migration(boolean compact) {
+        return new WishlistStorageMigration(mongoTemplate, new ProductStorage(compact, List.of("code")), 2, false);
+    }
+
+    @Test
+    void migrate_in_batches() {
+        ObjectId first = ObjectId.get();
+        ObjectId second = ObjectId.get();
+        ObjectId product = ObjectId.get();
+        Document full = new Document("_id", first).append("version", 3L)
+                .append("products", List.of(new Document("_id", product).append("code", "PRODUCT-CODE").append("description", "Product Description")));
+        Document compact = new Document("_id", second)
+                .append("products", List.of(new Document("_id", product).append("code", "PRODUCT-CODE")));
+        doReturn(List.of(full, compact), List.of()).when(mongoTemplate).find(any(Query.class), eq(Document.class), eq("wishlist"));
+        doReturn(1).when(result).getModifiedCount();
+
+        long migrated = migration(true).migrate();
+
+        assertEquals(1, migrated);
+        ArgumentCaptor<Query> filter = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(operations, times(1)).updateOne(filter.capture(), update.capture());
+        assertEquals(new Document("_id", first).append("version", 3L), filter.getValue().getQueryObject());
+        assertEquals(List.of(new Document("_id", product).append("code", "PRODUCT-CODE")), update.getValue().getUpdateObject().get("$set", Document.class).get("products"));
+
+        ArgumentCaptor<Query> batches = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(batches.capture(), eq(Document.class), eq("wishlist"));
+        assertEquals(2, batches.getAllValues().get(0).getLimit());
+        assertEquals(new Document("_id", new Document("$gt", second)), batches.getAllValues().get(1).getQueryObject());
+    }
+
+    @Test
+    void run_without_compact_storage() {
+        migration(false).run(null);
+
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Document.class), eq("wishlist"));
+    }
+}